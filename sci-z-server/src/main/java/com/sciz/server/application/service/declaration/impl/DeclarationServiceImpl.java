@@ -10,8 +10,10 @@ import com.sciz.server.domain.pojo.dto.request.declaration.DeclarationListQueryR
 import com.sciz.server.domain.pojo.dto.response.declaration.DeclarationDetailResp;
 import com.sciz.server.domain.pojo.dto.response.declaration.DeclarationListResp;
 import com.sciz.server.domain.pojo.entity.declaration.Declaration;
+import com.sciz.server.domain.pojo.entity.file.SysAttachmentRelation;
 import com.sciz.server.domain.pojo.repository.declaration.DeclarationRepo;
 import com.sciz.server.domain.pojo.repository.file.SysAttachmentRelationRepo;
+import com.sciz.server.infrastructure.shared.cache.BatchLoader;
 import com.sciz.server.infrastructure.shared.result.PageResult;
 import com.sciz.server.infrastructure.shared.enums.AttachmentRelationStatus;
 import com.sciz.server.infrastructure.shared.enums.DeclarationStatus;
@@ -33,6 +35,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -156,19 +159,12 @@ public class DeclarationServiceImpl implements DeclarationService {
 
         IPage<Declaration> declarationPage = declarationRepo.page(page, req.keyword(), req.status(), sortBy, asc);
 
-        // 批量查询附件信息（用于判断是否有附件）
-        var declarationIds = declarationPage.getRecords().stream()
-                .map(Declaration::getId)
-                .toList();
-
-        var attachmentMap = new HashMap<Long, Boolean>();
-        if (!declarationIds.isEmpty()) {
-            declarationIds.forEach(declarationId -> {
-                var attachmentIds = sysAttachmentRelationRepo.findAttachmentIds(
-                        AttachmentRelationStatus.DECLARATION.getCode(), declarationId);
-                attachmentMap.put(declarationId, !attachmentIds.isEmpty());
-            });
-        }
+        // 批量查询附件关联（用于判断是否有附件，一次 IN 查询覆盖整页）
+        var attachmentLoader = BatchLoader.groupingBy(
+                (Collection<Long> ids) -> sysAttachmentRelationRepo.findByRelationIds(
+                        AttachmentRelationStatus.DECLARATION.getCode(), ids),
+                SysAttachmentRelation::getRelationId)
+                .prime(declarationPage.getRecords(), Declaration::getId);
 
         var records = declarationPage.getRecords().stream()
                 .map(declaration -> {
@@ -200,7 +196,7 @@ public class DeclarationServiceImpl implements DeclarationService {
                     }
 
                     // 设置是否有附件
-                    resp.setHasAttachment(attachmentMap.getOrDefault(declaration.getId(), false));
+                    resp.setHasAttachment(!attachmentLoader.getOrDefault(declaration.getId(), List.of()).isEmpty());
 
                     // 设置研究领域
                     if (declaration.getResearchFields() != null && !declaration.getResearchFields().isEmpty()) {
@@ -3,12 +3,21 @@ package com.sciz.server.application.service.file;
 import com.sciz.server.domain.pojo.dto.request.file.FileBatchUploadReq;
 import com.sciz.server.domain.pojo.dto.request.file.FileCheckDuplicateReq;
 import com.sciz.server.domain.pojo.dto.request.file.FileListQueryReq;
+import com.sciz.server.domain.pojo.dto.request.file.FilePresignedUploadReq;
+import com.sciz.server.domain.pojo.dto.request.file.FileUploadCompleteReq;
+import com.sciz.server.domain.pojo.dto.request.file.FileStreamUploadReq;
 import com.sciz.server.domain.pojo.dto.request.file.FileUploadReq;
+import com.sciz.server.domain.pojo.dto.request.file.FileZipDownloadReq;
 import com.sciz.server.domain.pojo.dto.response.file.FileDownloadContext;
 import com.sciz.server.domain.pojo.dto.response.file.FileDuplicateCheckResp;
 import com.sciz.server.domain.pojo.dto.response.file.FileInfoResp;
+import com.sciz.server.domain.pojo.dto.response.file.FilePresignedUploadResp;
+import com.sciz.server.domain.pojo.dto.response.file.FileZipDownloadPlan;
 import com.sciz.server.infrastructure.shared.result.PageResult;
 import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
  * 文件应用服务
@@ -27,6 +36,16 @@ public interface FileService {
      */
     FileInfoResp upload(FileUploadReq req);
 
+    /**
+     * 服务端流式上传（边读边写入 MinIO 并计算 MD5，不在内存中缓存整个文件）
+     *
+     * @param inputStream InputStream 文件流（由调用方负责关闭）
+     * @param size        long 文件大小（未知时传 -1）
+     * @param req         FileStreamUploadReq 上传请求
+     * @return FileInfoResp 文件信息
+     */
+    FileInfoResp uploadStream(InputStream inputStream, long size, FileStreamUploadReq req);
+
     /**
      * 批量上传
      *
@@ -35,6 +54,22 @@ public interface FileService {
      */
     List<FileInfoResp> uploadBatch(FileBatchUploadReq req);
 
+    /**
+     * 申请直传 MinIO 的预签名 POST 策略
+     *
+     * @param req FilePresignedUploadReq 申请请求
+     * @return FilePresignedUploadResp 预签名表单
+     */
+    FilePresignedUploadResp presignUpload(FilePresignedUploadReq req);
+
+    /**
+     * 直传完成回调：校验对象并登记附件
+     *
+     * @param req FileUploadCompleteReq 完成请求
+     * @return FileInfoResp 文件信息
+     */
+    FileInfoResp completeUpload(FileUploadCompleteReq req);
+
     /**
      * 文件分页列表
      *
@@ -51,6 +86,22 @@ public interface FileService {
      */
     FileDownloadContext download(Long attachmentId);
 
+    /**
+     * 生成打包下载计划（解析附件并校验数量与总大小）
+     *
+     * @param req FileZipDownloadReq 打包下载请求
+     * @return FileZipDownloadPlan 打包下载计划
+     */
+    FileZipDownloadPlan prepareZipDownload(FileZipDownloadReq req);
+
+    /**
+     * 按计划将附件流式写出为 ZIP（不在内存中缓存文件或压缩包）
+     *
+     * @param plan         FileZipDownloadPlan 打包下载计划
+     * @param outputStream OutputStream 输出流（由调用方负责关闭）
+     */
+    void writeZip(FileZipDownloadPlan plan, OutputStream outputStream) throws IOException;
+
     /**
      * 预览地址
      *
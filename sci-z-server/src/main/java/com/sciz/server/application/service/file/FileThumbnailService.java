@@ -0,0 +1,45 @@
+package com.sciz.server.application.service.file;
+
+/**
+ * 文件缩略图服务
+ *
+ * <p>
+ * 为图片生成固定尺寸缩略图、为 PDF 生成首页预览图，作为派生对象存入 MinIO。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className FileThumbnailService
+ * @date 2025-11-20 17:10
+ */
+public interface FileThumbnailService {
+
+    /**
+     * 提交缩略图生成任务（异步执行，队列已满时放弃）
+     *
+     * @param attachmentId Long 附件ID
+     */
+    void submit(Long attachmentId);
+
+    /**
+     * 生成缩略图并回写附件记录（同步执行）
+     *
+     * @param attachmentId Long 附件ID
+     * @return boolean 是否生成成功
+     */
+    boolean generate(Long attachmentId);
+
+    /**
+     * 删除附件对应的缩略图对象
+     *
+     * @param filePath String 原文件存储路径
+     */
+    void deleteThumbnail(String filePath);
+
+    /**
+     * 根据原文件存储路径计算缩略图对象名
+     *
+     * @param filePath String 原文件存储路径
+     * @return String 缩略图对象名
+     */
+    String resolveThumbnailPath(String filePath);
+}
@@ -0,0 +1,26 @@
+package com.sciz.server.application.service.file;
+
+import com.sciz.server.domain.pojo.dto.response.file.StorageOrphanCleanupResp;
+
+/**
+ * 孤儿存储清理服务
+ *
+ * <p>
+ * 对照 sys_attachment 清理 MinIO 中未被引用的对象（上传失败、直传未登记、缩略图残留等），
+ * 以及 Dify 上传目录中的本地中转文件；只处理超过宽限期的数据，避免误删进行中的上传。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className StorageOrphanCleanupService
+ * @date 2025-11-21 14:00
+ */
+public interface StorageOrphanCleanupService {
+
+    /**
+     * 执行一次清理
+     *
+     * @param dryRun boolean 是否仅演练（只统计不删除）
+     * @return StorageOrphanCleanupResp 清理结果
+     */
+    StorageOrphanCleanupResp cleanup(boolean dryRun);
+}
@@ -0,0 +1,60 @@
+package com.sciz.server.application.service.file;
+
+import com.sciz.server.domain.pojo.dto.response.file.StorageStatsResp;
+
+/**
+ * 存储用量统计服务
+ *
+ * <p>
+ * 统计表由上传/删除事件增量维护，读取与配额校验只访问单行，不扫描附件表；
+ * 事件丢失等原因造成的偏差由定时对账校正。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className StorageStatsService
+ * @date 2025-11-21 09:30
+ */
+public interface StorageStatsService {
+
+    /**
+     * 记录文件上传带来的用量增加
+     *
+     * @param uploaderId Long 上传人ID
+     * @param fileType   String 附件分类编码
+     * @param fileSize   long 文件大小（字节）
+     */
+    void recordUpload(Long uploaderId, String fileType, long fileSize);
+
+    /**
+     * 记录文件删除带来的用量减少
+     *
+     * @param uploaderId Long 上传人ID
+     * @param fileType   String 附件分类编码
+     * @param fileSize   long 文件大小（字节）
+     */
+    void recordDeletion(Long uploaderId, String fileType, long fileSize);
+
+    /**
+     * 查询指定维度的存储用量
+     *
+     * @param scopeType String 统计维度（为空时默认用户维度）
+     * @param scopeKey  String 维度取值（用户维度为空时取当前用户）
+     * @return StorageStatsResp 统计结果
+     */
+    StorageStatsResp getStats(String scopeType, String scopeKey);
+
+    /**
+     * 校验用户上传配额，超出时抛出业务异常
+     *
+     * @param userId        Long 用户ID
+     * @param incomingBytes long 本次待上传字节数
+     */
+    void checkUserQuota(Long userId, long incomingBytes);
+
+    /**
+     * 按附件表全量对账所有统计维度
+     *
+     * @return int 重算的统计行数
+     */
+    int reconcile();
+}
@@ -3,47 +3,88 @@ package com.sciz.server.application.service.file.impl;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.sciz.server.application.service.file.FileService;
+import com.sciz.server.application.service.file.StorageStatsService;
+import com.sciz.server.application.task.AttachmentDownloadCountTask;
 import com.sciz.server.domain.pojo.dto.request.file.FileBatchUploadReq;
 import com.sciz.server.domain.pojo.dto.request.file.FileCheckDuplicateReq;
 import com.sciz.server.domain.pojo.dto.request.file.FileListQueryReq;
+import com.sciz.server.domain.pojo.dto.request.file.FilePresignedUploadReq;
+import com.sciz.server.domain.pojo.dto.request.file.FileUploadCompleteReq;
+import com.sciz.server.domain.pojo.dto.request.file.FileStreamUploadReq;
 import com.sciz.server.domain.pojo.dto.request.file.FileUploadReq;
+import com.sciz.server.domain.pojo.dto.request.file.FileZipDownloadReq;
 import com.sciz.server.domain.pojo.dto.response.file.FileDownloadContext;
 import com.sciz.server.domain.pojo.dto.response.file.FileDuplicateCheckResp;
 import com.sciz.server.domain.pojo.dto.response.file.FileInfoResp;
+import com.sciz.server.domain.pojo.dto.response.file.FilePresignedUploadResp;
+import com.sciz.server.domain.pojo.dto.response.file.FileZipDownloadPlan;
 import com.sciz.server.domain.pojo.entity.file.SysAttachment;
 import com.sciz.server.domain.pojo.entity.file.SysAttachmentRelation;
 import com.sciz.server.domain.pojo.repository.file.SysAttachmentRelationRepo;
 import com.sciz.server.domain.pojo.repository.file.SysAttachmentRepo;
+import com.sciz.server.infrastructure.config.storage.ParallelMinioClient;
 import com.sciz.server.infrastructure.shared.enums.AttachmentCategoryStatus;
 import com.sciz.server.infrastructure.shared.enums.AttachmentRelationStatus;
+import com.sciz.server.infrastructure.shared.concurrent.ByteBudget;
+import com.sciz.server.infrastructure.shared.constant.CacheConstant;
 import com.sciz.server.infrastructure.shared.constant.SystemConstant;
 import com.sciz.server.infrastructure.shared.enums.DeleteStatus;
 import com.sciz.server.infrastructure.shared.event.EventPublisher;
 import com.sciz.server.infrastructure.shared.event.file.FileDeletedEvent;
 import com.sciz.server.infrastructure.shared.event.file.FileUploadedEvent;
+import com.sciz.server.infrastructure.shared.io.GzipCompressingInputStream;
 import com.sciz.server.infrastructure.shared.exception.BusinessException;
 import com.sciz.server.infrastructure.shared.result.PageResult;
 import com.sciz.server.infrastructure.shared.result.ResultCode;
 import com.sciz.server.infrastructure.shared.utils.FileUtil;
+import com.sciz.server.infrastructure.shared.utils.JsonUtil;
 import com.sciz.server.infrastructure.shared.utils.LoginUserUtil;
 import com.sciz.server.infrastructure.shared.utils.MinioUtil;
+import com.sciz.server.infrastructure.shared.utils.RedisUtil;
 import com.sciz.server.interfaces.converter.FileConverter;
 import io.minio.GetObjectResponse;
 import io.minio.MinioClient;
+import io.minio.StatObjectResponse;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.DigestUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
@@ -63,12 +104,41 @@ public class FileServiceImpl implements FileService {
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter
             .ofPattern(SystemConstant.DATE_TIME_FORMAT);
     private final MinioClient minioClient;
+    private final ParallelMinioClient parallelMinioClient;
     private final SysAttachmentRepo sysAttachmentRepo;
     private final SysAttachmentRelationRepo sysAttachmentRelationRepo;
     private final FileConverter fileConverter;
     private final EventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final AttachmentDownloadCountTask attachmentDownloadCountTask;
+    @Qualifier("fileTransferExecutor")
+    private final Executor fileTransferExecutor;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final StorageStatsService storageStatsService;
+    private final ByteBudget byteBudget;
     @Value("${minio.bucket:sciz-files}")
     private String bucketName;
+    @Value("${minio.public-endpoint:${minio.endpoint:http://127.0.0.1:9000}}")
+    private String minioPublicEndpoint;
+    @Value("${file.presigned-upload.expire-seconds:900}")
+    private int presignedUploadExpireSeconds;
+    @Value("${file.upload.part-size:5242880}")
+    private int partSize;
+    @Value("${file.upload.part-parallelism:4}")
+    private int partParallelism;
+    @Value("${file.compression.enabled:true}")
+    private boolean compressionEnabled;
+    @Value("${file.compression.min-size-bytes:1024}")
+    private long compressionMinSize;
+    @Value("${file.compression.content-types:text/*,application/json,application/xml,application/x-ndjson,"
+            + "application/javascript,application/yaml,application/x-yaml}")
+    private List<String> compressibleContentTypes;
+    @Value("${file.zip-download.max-entries:500}")
+    private int zipMaxEntries;
+    @Value("${file.zip-download.max-total-bytes:1073741824}")
+    private long zipMaxTotalBytes;
+    @Value("${file.zip-download.parallelism:4}")
+    private int zipParallelism;
     private final AtomicBoolean bucketInitialized = new AtomicBoolean(false);
     /**
      * 单文件上传
@@ -89,6 +159,7 @@ public class FileServiceImpl implements FileService {
         var currentUser = LoginUserUtil.requireCurrentUser();
         log.info(String.format("文件上传开始: originalName=%s, uploaderId=%s",
                 req.getFile().getOriginalFilename(), currentUser.userId()));
+        storageStatsService.checkUserQuota(currentUser.userId(), req.getFile().getSize());
         // 4. 确保存储桶可用
         ensureBucket();
         // 5. 构建附件实体
@@ -110,28 +181,248 @@ public class FileServiceImpl implements FileService {
         return resp;
     }
 
+    /**
+     * 服务端流式上传
+     *
+     * <p>
+     * 输入流经 MD5 摘要与字节计数后直接写入 MinIO，内存占用仅为一个分片缓冲；
+     * 元数据在传输完成后以短事务写入，失败时补偿删除已写入的对象。
+     * </p>
+     *
+     * @param inputStream InputStream 文件流（由调用方负责关闭）
+     * @param size        long 文件大小（未知时传 -1）
+     * @param req         FileStreamUploadReq 上传请求
+     * @return FileInfoResp 文件信息
+     */
+    @Override
+    public FileInfoResp uploadStream(InputStream inputStream, long size, FileStreamUploadReq req) {
+        // 1. 参数校验
+        if (inputStream == null || !StringUtils.hasText(req.originalName()) || req.uploaderId() == null) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "上传文件、文件名与上传人不能为空");
+        }
+        if (size > 0 && FileUtil.isFileSizeExceeded(size)) {
+            throw new BusinessException(ResultCode.FILE_SIZE_EXCEEDED);
+        }
+        var category = normalizeAttachmentCategory(req.attachmentType());
+        validateRelationParams(req.relationType(), req.relationId(), req.relationName());
+        storageStatsService.checkUserQuota(req.uploaderId(), Math.max(size, 0L));
+        ensureBucket();
+
+        // 2. 边读边传，同时计算 MD5 与实际字节数
+        var objectName = buildObjectName(req.originalName());
+        var mimeType = StringUtils.hasText(req.contentType()) ? req.contentType() : resolveMimeType(req.originalName());
+        var meteredStream = new MeteredInputStream(inputStream, SystemConstant.MAX_FILE_SIZE);
+        var contentEncoding = resolveStorageEncoding(mimeType, size);
+        Long storedSize;
+        try (var permit = byteBudget.acquire(multipartBufferBytes(size))) {
+            storedSize = writeObject(meteredStream, objectName, mimeType, contentEncoding);
+        } catch (BusinessException exception) {
+            throw exception;
+        } catch (Exception exception) {
+            removeObjectQuietly(objectName);
+            if (meteredStream.isLimitExceeded()) {
+                throw new BusinessException(ResultCode.FILE_SIZE_EXCEEDED);
+            }
+            log.error(String.format("流式上传到 MinIO 失败: objectName=%s", objectName), exception);
+            throw new BusinessException(ResultCode.FILE_UPLOAD_FAILED, "上传文件到存储失败");
+        }
+
+        // 3. 短事务登记附件与关联，失败时补偿删除对象
+        var attachment = newAttachment(req.originalName(), objectName, category.getCode(), meteredStream.getCount(),
+                mimeType, meteredStream.getMd5Hex(), req.isPublic(), req.uploaderId(), req.uploaderName());
+        attachment.setContentEncoding(contentEncoding);
+        attachment.setStoredSize(storedSize != null ? storedSize : meteredStream.getCount());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                persistAttachment(attachment);
+                var relation = buildRelation(req.relationType(), req.relationId(), req.relationName(),
+                        category.getCode(), attachment.getId());
+                if (relation != null) {
+                    relation.setCreatedBy(req.uploaderId());
+                    relation.setUpdatedBy(req.uploaderId());
+                    sysAttachmentRelationRepo.save(relation);
+                }
+            });
+        } catch (RuntimeException exception) {
+            removeObjectQuietly(objectName);
+            throw exception;
+        }
+
+        // 4. 发布上传事件并返回
+        publishUploadEvent(req.relationId(), req.relationName(), req.uploaderId(), req.uploaderName(), attachment);
+        log.info(String.format("流式上传完成: attachmentId=%s, size=%s, uploaderId=%s",
+                attachment.getId(), attachment.getFileSize(), req.uploaderId()));
+        return buildFileInfoResp(attachment, SystemConstant.DEFAULT_PREVIEW_EXPIRE_SECONDS);
+    }
+
     /**
      * 批量文件上传
      *
+     * <p>
+     * 对象存储传输在事务外并发执行，元数据在传输完成后以单个短事务批量写入；
+     * 任一文件传输失败或元数据写入失败时，补偿删除本批次已写入的对象。
+     * </p>
+     *
      * @param req FileBatchUploadReq 上传请求
      * @return List<FileInfoResp> 上传结果
      */
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public List<FileInfoResp> uploadBatch(FileBatchUploadReq req) {
         // 1. 校验批量上传请求
         validateBatchUploadRequest(req);
+        var category = normalizeAttachmentCategory(req.attachmentType());
+        var singleReqList = Arrays.stream(req.files())
+                .map(multipartFile -> buildSingleUploadReq(req, multipartFile))
+                .toList();
+        singleReqList.forEach(singleReq -> {
+            validateUploadRequest(singleReq);
+            singleReq.setAttachmentType(category.getCode());
+            validateRelationParams(singleReq);
+        });
+
+        // 2. 在请求线程解析当前用户并确保存储桶可用（工作线程无登录上下文）
+        var currentUser = LoginUserUtil.requireCurrentUser();
+        log.info(String.format("批量上传文件: fileCount=%s, relationType=%s, uploaderId=%s",
+                singleReqList.size(), req.relationType(), currentUser.userId()));
+        storageStatsService.checkUserQuota(currentUser.userId(),
+                singleReqList.stream().mapToLong(singleReq -> singleReq.getFile().getSize()).sum());
+        ensureBucket();
+
+        // 3. 并发上传至对象存储（不持有数据库连接）
+        var attachments = transferConcurrently(singleReqList, currentUser.userId(), currentUser.realName(),
+                category);
+
+        // 4. 短事务批量写入元数据，失败时补偿删除对象
+        persistBatchWithCompensation(singleReqList, attachments);
 
-        // 2. 遍历上传每一个文件
-        log.info(String.format("批量上传文件: fileCount=%s, relationType=%s", req.files().length, req.relationType()));
-        var responses = new ArrayList<FileInfoResp>(req.files().length);
-        for (var multipartFile : req.files()) {
-            var singleReq = buildSingleUploadReq(req, multipartFile);
-            responses.add(upload(singleReq));
+        // 5. 发布上传事件并构建响应
+        var responses = new ArrayList<FileInfoResp>(attachments.size());
+        for (int index = 0; index < attachments.size(); index++) {
+            var attachment = attachments.get(index);
+            publishUploadEvent(singleReqList.get(index), currentUser.userId(), currentUser.realName(), attachment);
+            responses.add(buildFileInfoResp(attachment, SystemConstant.DEFAULT_PREVIEW_EXPIRE_SECONDS));
         }
+        log.info(String.format("批量上传完成: fileCount=%s, uploaderId=%s", responses.size(), currentUser.userId()));
         return responses;
     }
 
+    /**
+     * 申请直传 MinIO 的预签名 POST 策略
+     *
+     * <p>
+     * 策略限定对象名、内容类型与精确大小，上传凭证写入 Redis，完成回调时据此校验并登记附件。
+     * </p>
+     *
+     * @param req FilePresignedUploadReq 申请请求
+     * @return FilePresignedUploadResp 预签名表单
+     */
+    @Override
+    public FilePresignedUploadResp presignUpload(FilePresignedUploadReq req) {
+        // 1. 参数校验
+        if (FileUtil.isFileSizeExceeded(req.fileSize())) {
+            throw new BusinessException(ResultCode.FILE_SIZE_EXCEEDED);
+        }
+        var mimeType = StringUtils.hasText(req.contentType())
+                ? req.contentType()
+                : resolveMimeType(req.originalName());
+        if (!FileUtil.isSupportedFileType(req.originalName()) && !FileUtil.isSupportedMimeType(mimeType)) {
+            throw new BusinessException(ResultCode.FILE_TYPE_NOT_SUPPORTED);
+        }
+        var category = normalizeAttachmentCategory(req.attachmentType());
+        validateRelationParams(req.relationType(), req.relationId(), req.relationName());
+
+        // 2. 生成对象名与上传凭证
+        var currentUser = LoginUserUtil.requireCurrentUser();
+        storageStatsService.checkUserQuota(currentUser.userId(), req.fileSize());
+        ensureBucket();
+        var objectName = buildObjectName(req.originalName());
+        var uploadId = UUID.randomUUID().toString().replace("-", "");
+        var ticket = new PresignedUploadTicket(uploadId, objectName, req.originalName(), req.fileSize(), mimeType,
+                req.md5(), req.relationType(), req.relationId(), req.relationName(), category.getCode(),
+                req.isPublic(), currentUser.userId(), currentUser.realName());
+
+        // 3. 生成预签名 POST 表单并保存凭证
+        try {
+            var formData = MinioUtil.presignedPostFormData(minioClient, bucketName, objectName, mimeType,
+                    req.fileSize(), presignedUploadExpireSeconds);
+            RedisUtil.set(stringRedisTemplate, String.format(CacheConstant.FILE_UPLOAD_TICKET_KEY, uploadId),
+                    JsonUtil.toJson(ticket), Duration.ofSeconds(presignedUploadExpireSeconds * 2L));
+            log.info(String.format("直传预签名生成: uploadId=%s, objectName=%s, uploaderId=%s",
+                    uploadId, objectName, currentUser.userId()));
+            return new FilePresignedUploadResp(uploadId,
+                    String.format("%s/%s", StringUtils.trimTrailingCharacter(minioPublicEndpoint, '/'), bucketName),
+                    formData, objectName, presignedUploadExpireSeconds);
+        } catch (Exception exception) {
+            log.error(String.format("生成直传预签名失败: objectName=%s", objectName), exception);
+            throw new BusinessException(ResultCode.FILE_UPLOAD_FAILED, "生成上传凭证失败");
+        }
+    }
+
+    /**
+     * 直传完成回调：校验对象大小与哈希后登记附件
+     *
+     * @param req FileUploadCompleteReq 完成请求
+     * @return FileInfoResp 文件信息
+     */
+    @Override
+    public FileInfoResp completeUpload(FileUploadCompleteReq req) {
+        // 1. 读取上传凭证并校验归属
+        var ticketKey = String.format(CacheConstant.FILE_UPLOAD_TICKET_KEY, req.uploadId());
+        var currentUser = LoginUserUtil.requireCurrentUser();
+        readUploadTicket(ticketKey, currentUser.userId());
+
+        // 2. 抢占处理锁，避免重复登记
+        var lockKey = String.format(CacheConstant.FILE_UPLOAD_COMPLETE_LOCK_KEY, req.uploadId());
+        if (!Boolean.TRUE.equals(RedisUtil.setIfAbsent(stringRedisTemplate, lockKey, currentUser.userId().toString(),
+                CacheConstant.FILE_UPLOAD_COMPLETE_LOCK_EXPIRE))) {
+            throw new BusinessException(ResultCode.FILE_UPLOAD_TICKET_INVALID, "上传凭证正在处理中");
+        }
+        try {
+            // 持锁后重新读取凭证：并发的重复回调可能在前一次登记完成并删除凭证后才拿到锁
+            var ticket = readUploadTicket(ticketKey, currentUser.userId());
+
+            // 3. 校验对象大小与哈希
+            var md5 = verifyUploadedObject(ticket);
+
+            // 4. 短事务登记附件与关联
+            var attachment = buildAttachment(ticket, md5);
+            transactionTemplate.executeWithoutResult(status -> {
+                persistAttachment(attachment);
+                var relation = buildRelation(ticket.relationType(), ticket.relationId(), ticket.relationName(),
+                        ticket.attachmentType(), attachment.getId());
+                if (relation != null) {
+                    sysAttachmentRelationRepo.save(relation);
+                }
+            });
+            RedisUtil.delete(stringRedisTemplate, ticketKey);
+
+            // 5. 发布上传事件并返回
+            publishUploadEvent(ticket.relationId(), ticket.relationName(), ticket.uploaderId(),
+                    ticket.uploaderName(), attachment);
+            log.info(String.format("直传登记完成: uploadId=%s, attachmentId=%s", req.uploadId(), attachment.getId()));
+            return buildFileInfoResp(attachment, SystemConstant.DEFAULT_PREVIEW_EXPIRE_SECONDS);
+        } finally {
+            RedisUtil.delete(stringRedisTemplate, lockKey);
+        }
+    }
+
+    /**
+     * 读取直传凭证并校验归属（凭证不存在、已被消费或不属于当前用户时抛出异常）
+     *
+     * @param ticketKey String 凭证缓存键
+     * @param userId    Long 当前用户ID
+     * @return PresignedUploadTicket 上传凭证
+     */
+    private PresignedUploadTicket readUploadTicket(String ticketKey, Long userId) {
+        var ticket = Optional.ofNullable(RedisUtil.get(stringRedisTemplate, ticketKey))
+                .map(json -> JsonUtil.fromJson(json, PresignedUploadTicket.class))
+                .orElseThrow(() -> new BusinessException(ResultCode.FILE_UPLOAD_TICKET_INVALID));
+        if (!Objects.equals(ticket.uploaderId(), userId)) {
+            throw new BusinessException(ResultCode.FILE_UPLOAD_TICKET_INVALID);
+        }
+        return ticket;
+    }
+
     /**
      * 文件分页列表
      *
@@ -141,16 +432,14 @@ public class FileServiceImpl implements FileService {
     @Override
     public PageResult<FileInfoResp> page(FileListQueryReq req) {
         var baseQuery = req.toBaseQuery();
-        var page = new Page<SysAttachment>(baseQuery.pageNo(), baseQuery.pageSize());
-
-        var relationAttachmentIds = sysAttachmentRelationRepo.findAttachmentIds(req.relationType(), req.relationId());
-
         var asc = "ASC".equalsIgnoreCase(baseQuery.sortOrder());
-        var sortColumn = normalizeSortColumn(baseQuery.sortBy());
+        if (req.isRelationScoped()) {
+            return pageByRelation(req, baseQuery.pageNo(), baseQuery.pageSize(), asc);
+        }
 
+        var page = new Page<SysAttachment>(baseQuery.pageNo(), baseQuery.pageSize());
+        var sortColumn = normalizeSortColumn(baseQuery.sortBy());
         IPage<SysAttachment> attachmentPage = sysAttachmentRepo.page(page,
-                req.relationType(),
-                relationAttachmentIds,
                 req.attachmentType(),
                 req.isPublic(),
                 req.uploaderId(),
@@ -168,6 +457,44 @@ public class FileServiceImpl implements FileService {
         return PageResult.of(resultPage);
     }
 
+    /**
+     * 业务对象范围内的附件分页
+     *
+     * <p>
+     * 关联表与附件表单条 JOIN 查询，按 (关联时间, 关联记录ID) 游标翻页，任意深度的翻页成本与首页一致；
+     * 未携带游标时按页码偏移（兼容旧调用方），总数仅在此时统计一次，携带游标时 total 返回 -1。
+     * </p>
+     */
+    private PageResult<FileInfoResp> pageByRelation(FileListQueryReq req, int pageNo, int pageSize, boolean asc) {
+        var cursor = decodeListCursor(req.cursor());
+        var offset = cursor == null ? (long) (pageNo - 1) * pageSize : 0L;
+        var attachments = sysAttachmentRepo.listByRelation(req.relationType(),
+                req.relationId(),
+                req.attachmentType(),
+                req.isPublic(),
+                req.uploaderId(),
+                req.keyword(),
+                cursor != null ? cursor.relationTime() : null,
+                cursor != null ? cursor.relationRecordId() : null,
+                asc,
+                offset,
+                pageSize + 1);
+
+        // 多取一条判断是否还有下一页
+        var hasMore = attachments.size() > pageSize;
+        var pageRecords = hasMore ? attachments.subList(0, pageSize) : attachments;
+        var nextCursor = hasMore ? encodeListCursor(pageRecords.get(pageRecords.size() - 1)) : null;
+        var total = cursor == null
+                ? sysAttachmentRepo.countByRelation(req.relationType(), req.relationId(), req.attachmentType(),
+                        req.isPublic(), req.uploaderId(), req.keyword())
+                : -1L;
+
+        var records = pageRecords.stream()
+                .map(item -> buildFileInfoResp(item, SystemConstant.DEFAULT_PREVIEW_EXPIRE_SECONDS))
+                .toList();
+        return PageResult.ofCursor(records, total, pageNo, pageSize, nextCursor);
+    }
+
     /**
      * 文件下载
      *
@@ -186,6 +513,97 @@ public class FileServiceImpl implements FileService {
         return downloadFromObjectStorage(attachmentId, attachment);
     }
 
+    /**
+     * 生成打包下载计划
+     *
+     * @param req FileZipDownloadReq 打包下载请求
+     * @return FileZipDownloadPlan 打包下载计划
+     */
+    @Override
+    public FileZipDownloadPlan prepareZipDownload(FileZipDownloadReq req) {
+        // 1. 解析附件（按ID列表时保持请求顺序）
+        List<SysAttachment> attachments;
+        if (!req.attachmentIds().isEmpty()) {
+            var ids = req.attachmentIds().stream().filter(Objects::nonNull).distinct().toList();
+            if (ids.size() > zipMaxEntries) {
+                throw zipLimitExceeded();
+            }
+            var attachmentMap = sysAttachmentRepo.findByIds(ids).stream()
+                    .collect(Collectors.toMap(SysAttachment::getId, Function.identity()));
+            attachments = ids.stream().map(attachmentMap::get).filter(Objects::nonNull).toList();
+        } else if (req.isRelationScoped()) {
+            validateRelationParams(req.relationType(), req.relationId(), null);
+            attachments = sysAttachmentRepo.listByRelation(req.relationType(), req.relationId(), null, null, null,
+                    null, null, null, true, 0L, zipMaxEntries + 1);
+        } else {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "请指定附件ID列表或关联对象");
+        }
+        if (attachments.isEmpty()) {
+            throw new BusinessException(ResultCode.FILE_NOT_FOUND);
+        }
+        if (attachments.size() > zipMaxEntries) {
+            throw zipLimitExceeded();
+        }
+
+        // 2. 校验总大小
+        var totalBytes = attachments.stream()
+                .mapToLong(attachment -> Optional.ofNullable(attachment.getFileSize()).orElse(0L))
+                .sum();
+        if (totalBytes > zipMaxTotalBytes) {
+            throw zipLimitExceeded();
+        }
+
+        // 3. 生成条目（同名文件追加序号）
+        var usedNames = new HashSet<String>();
+        var entries = attachments.stream()
+                .map(attachment -> new FileZipDownloadPlan.Entry(attachment.getId(),
+                        uniqueEntryName(attachment, usedNames), attachment.getFilePath(),
+                        Optional.ofNullable(attachment.getFileSize()).orElse(0L), attachment.getContentEncoding()))
+                .toList();
+        ensureBucket();
+        var zipName = Optional.ofNullable(req.zipName())
+                .orElseGet(() -> "attachments-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE));
+        log.info(String.format("打包下载开始: entryCount=%s, totalBytes=%s", entries.size(), totalBytes));
+        return new FileZipDownloadPlan(sanitizeEntryName(zipName) + ".zip", entries, totalBytes);
+    }
+
+    /**
+     * 按计划流式写出 ZIP
+     *
+     * <p>
+     * 最多提前发起 parallelism 个对象读取以掩盖 MinIO 往返延迟，写出严格按条目顺序逐个拷贝，
+     * 内存中只有拷贝缓冲与压缩窗口，不缓存文件内容。
+     * </p>
+     *
+     * @param plan         FileZipDownloadPlan 打包下载计划
+     * @param outputStream OutputStream 输出流（由调用方负责关闭）
+     */
+    @Override
+    public void writeZip(FileZipDownloadPlan plan, OutputStream outputStream) throws IOException {
+        var entries = plan.entries();
+        var pending = new ArrayDeque<CompletableFuture<GetObjectResponse>>();
+        var nextIndex = 0;
+        var zipOutputStream = new ZipOutputStream(outputStream, StandardCharsets.UTF_8);
+        // 附件多为已压缩格式（图片/PDF/Office），使用最快压缩级别以节省 CPU
+        zipOutputStream.setLevel(Deflater.BEST_SPEED);
+        try {
+            for (var entry : entries) {
+                while (nextIndex < entries.size() && pending.size() < Math.max(zipParallelism, 1)) {
+                    pending.add(openObjectAsync(entries.get(nextIndex++).objectName()));
+                }
+                try (var inputStream = decodeIfNecessary(awaitObject(pending.poll(), entry), entry.contentEncoding())) {
+                    zipOutputStream.putNextEntry(new ZipEntry(entry.entryName()));
+                    inputStream.transferTo(zipOutputStream);
+                    zipOutputStream.closeEntry();
+                }
+                attachmentDownloadCountTask.record(entry.attachmentId());
+            }
+            zipOutputStream.finish();
+        } finally {
+            pending.forEach(future -> future.whenComplete((response, error) -> closeQuietly(response)));
+        }
+    }
+
     /**
      * 生成预览链接
      *
@@ -361,22 +779,32 @@ public class FileServiceImpl implements FileService {
      * @param req FileUploadReq 上传请求
      */
     private void validateRelationParams(FileUploadReq req) {
-        var hasRelationType = StringUtils.hasText(req.getRelationType());
-        if (!hasRelationType) {
-            if (req.getRelationId() != null || StringUtils.hasText(req.getRelationName())) {
+        validateRelationParams(req.getRelationType(), req.getRelationId(), req.getRelationName());
+    }
+
+    /**
+     * 校验附件关联参数
+     *
+     * @param relationType String 关联类型
+     * @param relationId   Long 关联对象ID
+     * @param relationName String 关联对象名称
+     */
+    private void validateRelationParams(String relationType, Long relationId, String relationName) {
+        if (!StringUtils.hasText(relationType)) {
+            if (relationId != null || StringUtils.hasText(relationName)) {
                 throw new BusinessException(ResultCode.BAD_REQUEST, "未指定关联类型时不能提供关联对象信息");
             }
             return;
         }
 
         try {
-            AttachmentRelationStatus.fromCode(req.getRelationType());
+            AttachmentRelationStatus.fromCode(relationType);
         } catch (IllegalArgumentException exception) {
-            log.warn(String.format("不支持的附件关联类型: relationType=%s", req.getRelationType()));
+            log.warn(String.format("不支持的附件关联类型: relationType=%s", relationType));
             throw new BusinessException(ResultCode.BAD_REQUEST, "不支持的附件关联类型");
         }
 
-        if (req.getRelationId() == null) {
+        if (relationId == null) {
             throw new BusinessException(ResultCode.BAD_REQUEST, "附件关联对象ID不能为空");
         }
     }
@@ -399,18 +827,34 @@ public class FileServiceImpl implements FileService {
             AttachmentCategoryStatus category) {
         var multipartFile = req.getFile();
         var originalName = resolveOriginalName(multipartFile);
-        var extension = FileUtil.getFileExtension(originalName);
         var objectName = buildObjectName(originalName);
         var mimeType = resolveMimeType(multipartFile, originalName);
         var md5 = computeMd5(multipartFile);
-        var now = LocalDateTime.now();
+        return newAttachment(originalName, objectName, category.getCode(), multipartFile.getSize(), mimeType, md5,
+                req.getIsPublic(), userId, realName);
+    }
 
+    /**
+     * 根据直传凭证构建附件实体
+     */
+    private SysAttachment buildAttachment(PresignedUploadTicket ticket, String md5) {
+        return newAttachment(ticket.originalName(), ticket.objectName(), ticket.attachmentType(), ticket.fileSize(),
+                ticket.mimeType(), md5, ticket.isPublic(), ticket.uploaderId(), ticket.uploaderName());
+    }
+
+    /**
+     * 组装附件实体公共字段
+     */
+    private SysAttachment newAttachment(String originalName, String objectName, String fileType, long fileSize,
+            String mimeType, String md5, Integer isPublic, Long userId, String realName) {
+        var now = LocalDateTime.now();
         var attachment = new SysAttachment();
         attachment.setFileName(objectName);
         attachment.setOriginalName(originalName);
-        attachment.setFileType(category.getCode());
-        attachment.setFileExtension(extension);
-        attachment.setFileSize(multipartFile.getSize());
+        attachment.setFileType(fileType);
+        attachment.setFileExtension(FileUtil.getFileExtension(originalName));
+        attachment.setFileSize(fileSize);
+        attachment.setStoredSize(fileSize);
         attachment.setFileUrl(String.format("%s/%s", bucketName, objectName));
         attachment.setFilePath(objectName);
         attachment.setMimeType(mimeType);
@@ -419,7 +863,7 @@ public class FileServiceImpl implements FileService {
         attachment.setUploaderName(realName);
         attachment.setUploadTime(now);
         attachment.setDownloadCount(0);
-        attachment.setIsPublic(Objects.requireNonNullElse(req.getIsPublic(), 0));
+        attachment.setIsPublic(Objects.requireNonNullElse(isPublic, 0));
         attachment.setIsDeleted(DeleteStatus.NOT_DELETED.getCode());
         attachment.setCreatedBy(userId);
         attachment.setUpdatedBy(userId);
@@ -429,11 +873,67 @@ public class FileServiceImpl implements FileService {
     }
 
     /**
-     * 上传至 MinIO
+     * 校验直传对象：大小必须一致，哈希以凭证中的 MD5 或对象 ETag 为准
+     *
+     * @param ticket PresignedUploadTicket 上传凭证
+     * @return String 对象 MD5
      */
-    private void uploadToMinio(InputStreamProvider fileProvider, String objectName, String mimeType, long size) {
-        try (InputStream inputStream = fileProvider.provide()) {
-            MinioUtil.upload(minioClient, bucketName, objectName, inputStream, size, mimeType);
+    private String verifyUploadedObject(PresignedUploadTicket ticket) {
+        StatObjectResponse stat;
+        try {
+            stat = MinioUtil.statObject(minioClient, bucketName, ticket.objectName());
+        } catch (Exception exception) {
+            log.warn(String.format("直传对象不存在: objectName=%s", ticket.objectName()), exception);
+            throw new BusinessException(ResultCode.FILE_NOT_FOUND, "文件尚未上传完成");
+        }
+        if (stat.size() != ticket.fileSize()) {
+            rejectUploadedObject(ticket, String.format("文件大小不一致: expected=%s, actual=%s",
+                    ticket.fileSize(), stat.size()));
+        }
+        // 单段上传（POST 策略）时 ETag 即对象 MD5；否则流式回读计算
+        var etag = Optional.ofNullable(stat.etag()).map(value -> value.replace("\"", "")).orElse("");
+        var md5 = etag.matches("[0-9a-fA-F]{32}") ? etag.toLowerCase() : computeObjectMd5(ticket.objectName());
+        if (StringUtils.hasText(ticket.md5()) && !ticket.md5().equalsIgnoreCase(md5)) {
+            rejectUploadedObject(ticket, String.format("文件MD5不一致: expected=%s, actual=%s", ticket.md5(), md5));
+        }
+        return md5;
+    }
+
+    /**
+     * 拒绝校验失败的直传对象并删除之
+     */
+    private void rejectUploadedObject(PresignedUploadTicket ticket, String reason) {
+        log.warn(String.format("直传对象校验失败: uploadId=%s, objectName=%s, reason=%s",
+                ticket.uploadId(), ticket.objectName(), reason));
+        removeObjectQuietly(ticket.objectName());
+        throw new BusinessException(ResultCode.FILE_INTEGRITY_CHECK_FAILED, reason);
+    }
+
+    /**
+     * 流式回读对象计算 MD5
+     */
+    private String computeObjectMd5(String objectName) {
+        try (InputStream inputStream = MinioUtil.download(minioClient, bucketName, objectName)) {
+            return DigestUtils.md5DigestAsHex(inputStream);
+        } catch (Exception exception) {
+            log.error(String.format("计算对象MD5失败: objectName=%s", objectName), exception);
+            throw new BusinessException(ResultCode.FILE_UPLOAD_FAILED, "计算文件MD5失败");
+        }
+    }
+
+    /**
+     * 上传至 MinIO，并回填附件的存储编码与存储大小
+     */
+    private void uploadToMinio(InputStreamProvider fileProvider, SysAttachment attachment) {
+        var objectName = attachment.getFilePath();
+        var contentEncoding = resolveStorageEncoding(attachment.getMimeType(), attachment.getFileSize());
+        try (var permit = byteBudget.acquire(multipartBufferBytes(attachment.getFileSize()));
+                InputStream inputStream = fileProvider.provide()) {
+            var storedSize = writeObject(inputStream, objectName, attachment.getMimeType(), contentEncoding);
+            attachment.setContentEncoding(contentEncoding);
+            attachment.setStoredSize(storedSize != null ? storedSize : attachment.getFileSize());
+        } catch (BusinessException exception) {
+            throw exception;
         } catch (Exception exception) {
             log.error(String.format("上传文件到 MinIO 失败: objectName=%s", objectName), exception);
             throw new BusinessException(ResultCode.FILE_UPLOAD_FAILED, "上传文件到存储失败");
@@ -441,32 +941,176 @@ public class FileServiceImpl implements FileService {
     }
 
     /**
-     * 上传至 MinIO
+     * 写入对象存储：需压缩的内容边读边 GZIP 编码，对象元数据带 Content-Encoding 以便预签名链接直接被浏览器解码
+     *
+     * @return Long 压缩后的存储大小（未压缩时返回 null，以原始大小为准）
      */
-    private void uploadToMinio(MultipartFile multipartFile,
-            String objectName,
-            String mimeType,
-            long size) {
-        uploadToMinio(multipartFile::getInputStream, objectName, mimeType, size);
+    private Long writeObject(InputStream inputStream, String objectName, String mimeType, String contentEncoding)
+            throws Exception {
+        if (contentEncoding == null) {
+            MinioUtil.uploadMultipart(parallelMinioClient, bucketName, objectName, inputStream, partSize,
+                    partParallelism, mimeType, null);
+            return null;
+        }
+        try (var gzipStream = new GzipCompressingInputStream(inputStream, Deflater.DEFAULT_COMPRESSION)) {
+            MinioUtil.uploadMultipart(parallelMinioClient, bucketName, objectName, gzipStream, partSize,
+                    partParallelism, mimeType, contentEncoding);
+            return gzipStream.getCount();
+        }
+    }
+
+    /**
+     * 判定存储编码：仅文本类内容且大小未知或超过阈值时压缩存储
+     *
+     * @param mimeType String 内容类型
+     * @param size     long 原始大小（未知时为 -1）
+     * @return String 存储编码（无需压缩时返回 null）
+     */
+    private String resolveStorageEncoding(String mimeType, long size) {
+        if (!compressionEnabled || !StringUtils.hasText(mimeType) || (size >= 0 && size < compressionMinSize)) {
+            return null;
+        }
+        var baseType = mimeType.split(";", 2)[0].trim().toLowerCase();
+        var compressible = compressibleContentTypes.stream()
+                .map(String::trim)
+                .anyMatch(pattern -> pattern.endsWith("/*")
+                        ? baseType.startsWith(pattern.substring(0, pattern.length() - 1))
+                        : baseType.equals(pattern));
+        return compressible ? GzipCompressingInputStream.CONTENT_ENCODING : null;
     }
 
     /**
      * 保存附件关联
      */
     private void saveRelationIfNecessary(FileUploadReq req, Long attachmentId) {
-        if (!StringUtils.hasText(req.getRelationType()) || req.getRelationId() == null) {
-            return;
+        var relation = buildRelation(req, attachmentId);
+        if (relation != null) {
+            sysAttachmentRelationRepo.save(relation);
+        }
+    }
+
+    /**
+     * 构建附件关联（未指定关联信息时返回 null）
+     */
+    private SysAttachmentRelation buildRelation(FileUploadReq req, Long attachmentId) {
+        return buildRelation(req.getRelationType(), req.getRelationId(), req.getRelationName(),
+                req.getAttachmentType(), attachmentId);
+    }
+
+    /**
+     * 构建附件关联（未指定关联信息时返回 null）
+     */
+    private SysAttachmentRelation buildRelation(String relationType, Long relationId, String relationName,
+            String attachmentType, Long attachmentId) {
+        if (!StringUtils.hasText(relationType) || relationId == null) {
+            return null;
         }
         var relation = new SysAttachmentRelation();
         relation.setAttachmentId(attachmentId);
-        relation.setRelationType(req.getRelationType());
-        relation.setRelationId(req.getRelationId());
-        relation.setRelationName(req.getRelationName());
-        relation.setAttachmentType(req.getAttachmentType());
+        relation.setRelationType(relationType);
+        relation.setRelationId(relationId);
+        relation.setRelationName(relationName);
+        relation.setAttachmentType(attachmentType);
         relation.setIsDeleted(DeleteStatus.NOT_DELETED.getCode());
         relation.setCreatedTime(LocalDateTime.now());
         relation.setUpdatedTime(LocalDateTime.now());
-        sysAttachmentRelationRepo.save(relation);
+        return relation;
+    }
+
+    /**
+     * 并发上传批量文件至对象存储
+     *
+     * @param singleReqList List<FileUploadReq> 单文件请求列表
+     * @param userId        Long 上传人ID
+     * @param realName      String 上传人姓名
+     * @param category      AttachmentCategoryStatus 附件分类
+     * @return List<SysAttachment> 已上传的附件实体（顺序与请求一致）
+     */
+    private List<SysAttachment> transferConcurrently(List<FileUploadReq> singleReqList, Long userId,
+            String realName, AttachmentCategoryStatus category) {
+        var futures = singleReqList.stream()
+                .map(singleReq -> CompletableFuture.supplyAsync(() -> {
+                    var attachment = buildAttachment(singleReq, userId, realName, category);
+                    uploadToObjectStorage(singleReq, attachment);
+                    return attachment;
+                }, fileTransferExecutor))
+                .toList();
+
+        var attachments = new ArrayList<SysAttachment>(futures.size());
+        Throwable firstFailure = null;
+        for (var future : futures) {
+            try {
+                attachments.add(future.join());
+            } catch (CompletionException exception) {
+                firstFailure = firstFailure == null ? exception.getCause() : firstFailure;
+            }
+        }
+        if (firstFailure != null) {
+            log.error(String.format("批量上传传输失败，开始补偿删除: succeeded=%s, total=%s",
+                    attachments.size(), futures.size()), firstFailure);
+            removeObjectsQuietly(attachments);
+            if (firstFailure instanceof BusinessException businessException) {
+                throw businessException;
+            }
+            throw new BusinessException(ResultCode.FILE_UPLOAD_FAILED, "上传文件到存储失败");
+        }
+        return attachments;
+    }
+
+    /**
+     * 在单个短事务内批量写入附件及关联，失败时补偿删除已上传对象
+     *
+     * @param singleReqList List<FileUploadReq> 单文件请求列表
+     * @param attachments   List<SysAttachment> 已上传的附件实体
+     */
+    private void persistBatchWithCompensation(List<FileUploadReq> singleReqList, List<SysAttachment> attachments) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!sysAttachmentRepo.saveBatch(attachments)) {
+                    throw new BusinessException(ResultCode.FILE_UPLOAD_FAILED, "附件保存失败");
+                }
+                var relations = new ArrayList<SysAttachmentRelation>(attachments.size());
+                for (int index = 0; index < attachments.size(); index++) {
+                    var relation = buildRelation(singleReqList.get(index), attachments.get(index).getId());
+                    if (relation != null) {
+                        relations.add(relation);
+                    }
+                }
+                if (!sysAttachmentRelationRepo.saveBatch(relations)) {
+                    throw new BusinessException(ResultCode.FILE_UPLOAD_FAILED, "附件关联保存失败");
+                }
+            });
+        } catch (RuntimeException exception) {
+            log.error(String.format("批量写入附件元数据失败，开始补偿删除: fileCount=%s", attachments.size()),
+                    exception);
+            removeObjectsQuietly(attachments);
+            if (exception instanceof BusinessException) {
+                throw exception;
+            }
+            throw new BusinessException(ResultCode.FILE_UPLOAD_FAILED, "附件保存失败");
+        }
+    }
+
+    /**
+     * 补偿删除对象存储中的文件（失败仅记录日志）
+     *
+     * @param attachments List<SysAttachment> 需删除的附件实体
+     */
+    private void removeObjectsQuietly(List<SysAttachment> attachments) {
+        attachments.forEach(attachment -> removeObjectQuietly(attachment.getFilePath()));
+    }
+
+    /**
+     * 补偿删除对象存储中的单个对象（失败仅记录日志）
+     *
+     * @param objectName String 对象名
+     */
+    private void removeObjectQuietly(String objectName) {
+        try {
+            MinioUtil.deleteObject(minioClient, bucketName, objectName);
+        } catch (Exception exception) {
+            log.warn(String.format("补偿删除 MinIO 对象失败: objectName=%s", objectName), exception);
+        }
     }
 
     /*
@@ -485,6 +1129,14 @@ public class FileServiceImpl implements FileService {
      * 发布上传事件
      */
     private void publishUploadEvent(FileUploadReq req, Long userId, String realName, SysAttachment attachment) {
+        publishUploadEvent(req.getRelationId(), req.getRelationName(), userId, realName, attachment);
+    }
+
+    /**
+     * 发布上传事件
+     */
+    private void publishUploadEvent(Long relationId, String relationName, Long userId, String realName,
+            SysAttachment attachment) {
         try {
             var event = new FileUploadedEvent(String.valueOf(attachment.getId()),
                     attachment.getOriginalName(),
@@ -494,8 +1146,8 @@ public class FileServiceImpl implements FileService {
                     bucketName,
                     String.valueOf(userId),
                     realName,
-                    req.getRelationId() != null ? String.valueOf(req.getRelationId()) : null,
-                    req.getRelationName(),
+                    relationId != null ? String.valueOf(relationId) : null,
+                    relationName,
                     attachment.getUploadTime().format(DATE_TIME_FORMATTER),
                     attachment.getMd5Hash());
             eventPublisher.publishAsync(event);
@@ -520,6 +1172,8 @@ public class FileServiceImpl implements FileService {
                     null,
                     LocalDateTime.now().format(DATE_TIME_FORMATTER),
                     "USER_DELETE");
+            event.setFileSize(attachment.getFileSize());
+            event.setUploaderId(attachment.getUploaderId() != null ? String.valueOf(attachment.getUploaderId()) : null);
             eventPublisher.publishAsync(event);
         } catch (Exception exception) {
             log.warn(String.format("发布文件删除事件失败: attachmentId=%s", attachment.getId()), exception);
@@ -535,7 +1189,10 @@ public class FileServiceImpl implements FileService {
             return null;
         }
         var previewUrl = generatePreviewUrlSafely(attachment.getFilePath(), expireSeconds);
-        return resp.withBucketName(bucketName).withPreviewUrl(previewUrl);
+        var thumbnailUrl = StringUtils.hasText(attachment.getThumbnailPath())
+                ? generatePreviewUrlSafely(attachment.getThumbnailPath(), expireSeconds)
+                : null;
+        return resp.withBucketName(bucketName).withPreviewUrl(previewUrl).withThumbnailUrl(thumbnailUrl);
     }
 
     /**
@@ -563,16 +1220,103 @@ public class FileServiceImpl implements FileService {
     }
 
     /**
-     * 确保桶存在
+     * 发起对象异步读取
+     */
+    private CompletableFuture<GetObjectResponse> openObjectAsync(String objectName) {
+        try {
+            return MinioUtil.downloadAsync(parallelMinioClient, bucketName, objectName);
+        } catch (Exception exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
+    /**
+     * 等待对象读取就绪
+     */
+    private GetObjectResponse awaitObject(CompletableFuture<GetObjectResponse> future,
+            FileZipDownloadPlan.Entry entry) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            throw new IOException(String.format("读取打包对象失败: attachmentId=%s, objectName=%s",
+                    entry.attachmentId(), entry.objectName()), exception.getCause());
+        }
+    }
+
+    /**
+     * 压缩存储的对象在打包时还原为原始内容
+     */
+    private InputStream decodeIfNecessary(GetObjectResponse response, String contentEncoding) throws IOException {
+        if (contentEncoding == null) {
+            return response;
+        }
+        try {
+            return new GZIPInputStream(response);
+        } catch (IOException exception) {
+            closeQuietly(response);
+            throw exception;
+        }
+    }
+
+    private void closeQuietly(GetObjectResponse response) {
+        if (response == null) {
+            return;
+        }
+        try {
+            response.close();
+        } catch (IOException exception) {
+            log.warn(String.format("关闭对象流失败: objectName=%s", response.object()));
+        }
+    }
+
+    /**
+     * 生成不重复的压缩包条目名
+     */
+    private String uniqueEntryName(SysAttachment attachment, Set<String> usedNames) {
+        var name = StringUtils.hasText(attachment.getOriginalName())
+                ? sanitizeEntryName(attachment.getOriginalName())
+                : String.valueOf(attachment.getId());
+        var dotIndex = name.lastIndexOf('.');
+        var baseName = dotIndex > 0 ? name.substring(0, dotIndex) : name;
+        var extension = dotIndex > 0 ? name.substring(dotIndex) : "";
+        var candidate = name;
+        for (var index = 1; !usedNames.add(candidate); index++) {
+            candidate = String.format("%s (%s)%s", baseName, index, extension);
+        }
+        return candidate;
+    }
+
+    /**
+     * 去除路径分隔符，防止条目解压到目标目录之外
+     */
+    private String sanitizeEntryName(String name) {
+        return name.replace('/', '_').replace('\\', '_');
+    }
+
+    private BusinessException zipLimitExceeded() {
+        return new BusinessException(ResultCode.FILE_ZIP_LIMIT_EXCEEDED,
+                String.format("打包下载最多 %s 个文件、总大小不超过 %sMB", zipMaxEntries, zipMaxTotalBytes / 1024 / 1024));
+    }
+
+    /**
+     * 分片上传的内存缓冲预算：在途分片加一个读取中的分片，已知大小时不超过文件大小
+     */
+    private long multipartBufferBytes(long size) {
+        var maxBuffer = (long) partSize * (Math.max(partParallelism, 1) + 1);
+        return size > 0 ? Math.min(size, maxBuffer) : maxBuffer;
+    }
+
+    /**
+     * 确保桶存在（进程内仅在首次成功后缓存，失败时下次重试）
      */
     private void ensureBucket() {
-        if (!bucketInitialized.compareAndSet(false, true)) {
+        if (bucketInitialized.get()) {
             return;
         }
         try {
             MinioUtil.makeBucketIfAbsent(minioClient, bucketName);
+            bucketInitialized.set(true);
         } catch (Exception exception) {
-            bucketInitialized.set(false);
             log.error(String.format("初始化 MinIO 桶失败: bucket=%s", bucketName), exception);
             throw new BusinessException(ResultCode.FILE_UPLOAD_FAILED,
                     String.format("初始化存储桶失败: %s", exception.getMessage()));
@@ -593,9 +1337,14 @@ public class FileServiceImpl implements FileService {
      */
     private String resolveMimeType(MultipartFile file, String originalName) {
         var mimeType = file.getContentType();
-        if (!StringUtils.hasText(mimeType)) {
-            mimeType = FileUtil.getMimeType(originalName);
-        }
+        return StringUtils.hasText(mimeType) ? mimeType : resolveMimeType(originalName);
+    }
+
+    /**
+     * 根据文件名解析 MIME 类型
+     */
+    private String resolveMimeType(String originalName) {
+        var mimeType = FileUtil.getMimeType(originalName);
         return StringUtils.hasText(mimeType) ? mimeType : "application/octet-stream";
     }
 
@@ -611,6 +1360,34 @@ public class FileServiceImpl implements FileService {
         }
     }
 
+    /**
+     * 编码列表游标（关联时间|关联记录ID，Base64URL）
+     */
+    private String encodeListCursor(SysAttachment attachment) {
+        if (attachment.getRelationTime() == null || attachment.getRelationRecordId() == null) {
+            return null;
+        }
+        var raw = attachment.getRelationTime() + "|" + attachment.getRelationRecordId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码列表游标
+     */
+    private AttachmentListCursor decodeListCursor(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separatorIndex = raw.lastIndexOf('|');
+            return new AttachmentListCursor(LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    Long.valueOf(raw.substring(separatorIndex + 1)));
+        } catch (RuntimeException exception) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "分页游标无效");
+        }
+    }
+
     /**
      * 标准化排序字段
      */
@@ -652,7 +1429,7 @@ public class FileServiceImpl implements FileService {
      * @param attachment SysAttachment 附件实体
      */
     private void uploadToObjectStorage(FileUploadReq req, SysAttachment attachment) {
-        uploadToMinio(req.getFile(), attachment.getFilePath(), attachment.getMimeType(), attachment.getFileSize());
+        uploadToMinio(req.getFile()::getInputStream, attachment);
     }
 
     /**
@@ -695,12 +1472,13 @@ public class FileServiceImpl implements FileService {
     private FileDownloadContext downloadFromObjectStorage(Long attachmentId, SysAttachment attachment) {
         try {
             GetObjectResponse response = MinioUtil.download(minioClient, bucketName, attachment.getFilePath());
-            sysAttachmentRepo.increaseDownloadCount(attachmentId,
-                    LoginUserUtil.getCurrentUserId().orElse(null));
+            attachmentDownloadCountTask.record(attachmentId);
             return new FileDownloadContext(attachment.getFileName(),
                     attachment.getOriginalName(),
                     attachment.getMimeType(),
                     attachment.getFileSize(),
+                    attachment.getContentEncoding(),
+                    attachment.getStoredSize(),
                     response);
         } catch (Exception exception) {
             log.error(String.format("文件下载失败: attachmentId=%s", attachmentId), exception);
@@ -731,4 +1509,100 @@ public class FileServiceImpl implements FileService {
     private interface InputStreamProvider {
         InputStream provide() throws IOException;
     }
+
+    /**
+     * 直传上传凭证（缓存于 Redis，完成回调时据此校验与登记）
+     */
+    record PresignedUploadTicket(
+            String uploadId,
+            String objectName,
+            String originalName,
+            Long fileSize,
+            String mimeType,
+            String md5,
+            String relationType,
+            Long relationId,
+            String relationName,
+            String attachmentType,
+            Integer isPublic,
+            Long uploaderId,
+            String uploaderName) {
+    }
+
+    /**
+     * 业务范围附件列表游标
+     */
+    private record AttachmentListCursor(LocalDateTime relationTime, Long relationRecordId) {
+    }
+
+    /**
+     * 计量输入流：透传读取的同时累计字节数与 MD5，超过上限时中止读取
+     */
+    private static final class MeteredInputStream extends FilterInputStream {
+
+        private final MessageDigest digest;
+        private final long limit;
+        private long count;
+        private boolean limitExceeded;
+
+        private MeteredInputStream(InputStream inputStream, long limit) {
+            super(inputStream);
+            this.limit = limit;
+            try {
+                this.digest = MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException exception) {
+                throw new IllegalStateException(exception);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            var value = super.read();
+            if (value >= 0) {
+                digest.update((byte) value);
+                advance(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            var readCount = super.read(buffer, offset, length);
+            if (readCount > 0) {
+                digest.update(buffer, offset, readCount);
+                advance(readCount);
+            }
+            return readCount;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            throw new IOException("计量输入流不支持 skip");
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void advance(long readCount) throws IOException {
+            count += readCount;
+            if (count > limit) {
+                limitExceeded = true;
+                throw new IOException(String.format("文件大小超出限制: limit=%s", limit));
+            }
+        }
+
+        private long getCount() {
+            return count;
+        }
+
+        private boolean isLimitExceeded() {
+            return limitExceeded;
+        }
+
+        private String getMd5Hex() {
+            return HexFormat.of().formatHex(digest.digest());
+        }
+    }
 }
@@ -0,0 +1,281 @@
+package com.sciz.server.application.service.file.impl;
+
+import com.sciz.server.application.service.file.FileThumbnailService;
+import com.sciz.server.domain.pojo.entity.file.SysAttachment;
+import com.sciz.server.domain.pojo.repository.file.SysAttachmentRepo;
+import com.sciz.server.infrastructure.shared.concurrent.ByteBudget;
+import com.sciz.server.infrastructure.shared.enums.DeleteStatus;
+import com.sciz.server.infrastructure.shared.utils.MinioUtil;
+import io.minio.MinioClient;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * 文件缩略图服务实现
+ *
+ * <p>
+ * 由文件上传事件驱动，在独立的有界线程池中生成缩略图；缩略图对象名由原文件路径派生，
+ * 统一为 JPEG，以便删除原文件时无需查询即可清理。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className FileThumbnailServiceImpl
+ * @date 2025-11-20 17:10
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FileThumbnailServiceImpl implements FileThumbnailService {
+
+    private static final String THUMBNAIL_FOLDER = "thumbnails";
+    private static final String THUMBNAIL_CONTENT_TYPE = "image/jpeg";
+    private static final String PDF_MIME_TYPE = "application/pdf";
+    private static final float PDF_RENDER_DPI = 72F;
+    private static final long DECODED_BYTES_PER_PIXEL = 4L;
+
+    private final MinioClient minioClient;
+    private final SysAttachmentRepo sysAttachmentRepo;
+    private final ByteBudget byteBudget;
+    @Qualifier("thumbnailExecutor")
+    private final Executor thumbnailExecutor;
+    @Value("${minio.bucket:sciz-files}")
+    private String bucketName;
+    @Value("${file.thumbnail.max-edge:320}")
+    private int maxEdge;
+    @Value("${file.thumbnail.max-source-bytes:52428800}")
+    private long maxSourceBytes;
+    @Value("${file.thumbnail.max-source-pixels:100000000}")
+    private long maxSourcePixels;
+
+    /**
+     * 提交缩略图生成任务
+     *
+     * @param attachmentId Long 附件ID
+     */
+    @Override
+    public void submit(Long attachmentId) {
+        if (attachmentId == null) {
+            return;
+        }
+        try {
+            thumbnailExecutor.execute(() -> generate(attachmentId));
+        } catch (RejectedExecutionException exception) {
+            log.warn(String.format("缩略图任务队列已满，放弃生成: attachmentId=%s", attachmentId));
+        }
+    }
+
+    /**
+     * 生成缩略图并回写附件记录
+     *
+     * @param attachmentId Long 附件ID
+     * @return boolean 是否生成成功
+     */
+    @Override
+    public boolean generate(Long attachmentId) {
+        // 1. 查询附件并判断是否支持
+        var attachment = sysAttachmentRepo.findById(attachmentId);
+        if (!isThumbnailSupported(attachment)) {
+            return false;
+        }
+
+        // 2. 读取原文件并渲染缩略图（解码前按解码后的内存占用申请缓冲预算）
+        try (InputStream inputStream = MinioUtil.download(minioClient, bucketName, attachment.getFilePath())) {
+            var thumbnail = PDF_MIME_TYPE.equalsIgnoreCase(attachment.getMimeType())
+                    ? renderPdfThumbnail(inputStream, attachment)
+                    : renderImageThumbnail(inputStream, attachmentId);
+            if (thumbnail == null) {
+                log.warn(String.format("无法解码文件，跳过缩略图: attachmentId=%s, mimeType=%s",
+                        attachmentId, attachment.getMimeType()));
+                return false;
+            }
+            var thumbnailBytes = encodeJpeg(thumbnail);
+
+            // 3. 写入派生对象并回写附件记录
+            var thumbnailPath = resolveThumbnailPath(attachment.getFilePath());
+            MinioUtil.upload(minioClient, bucketName, thumbnailPath, new ByteArrayInputStream(thumbnailBytes),
+                    thumbnailBytes.length, THUMBNAIL_CONTENT_TYPE);
+            sysAttachmentRepo.updateThumbnailPath(attachmentId, thumbnailPath);
+            log.info(String.format("缩略图生成完成: attachmentId=%s, thumbnailPath=%s, size=%s",
+                    attachmentId, thumbnailPath, thumbnailBytes.length));
+            return true;
+        } catch (Exception exception) {
+            log.warn(String.format("缩略图生成失败: attachmentId=%s", attachmentId), exception);
+            return false;
+        }
+    }
+
+    /**
+     * 删除缩略图对象
+     *
+     * @param filePath String 原文件存储路径
+     */
+    @Override
+    public void deleteThumbnail(String filePath) {
+        if (!StringUtils.hasText(filePath)) {
+            return;
+        }
+        var thumbnailPath = resolveThumbnailPath(filePath);
+        try {
+            MinioUtil.deleteObject(minioClient, bucketName, thumbnailPath);
+        } catch (Exception exception) {
+            log.warn(String.format("删除缩略图失败: thumbnailPath=%s", thumbnailPath), exception);
+        }
+    }
+
+    /**
+     * 根据原文件存储路径计算缩略图对象名
+     *
+     * @param filePath String 原文件存储路径
+     * @return String 缩略图对象名
+     */
+    @Override
+    public String resolveThumbnailPath(String filePath) {
+        return String.format("%s/%s.jpg", THUMBNAIL_FOLDER, filePath);
+    }
+
+    /**
+     * 判断附件是否支持生成缩略图（图片或 PDF，且未超过源文件大小上限）
+     */
+    private boolean isThumbnailSupported(SysAttachment attachment) {
+        if (attachment == null || DeleteStatus.DELETED.getCode().equals(attachment.getIsDeleted())) {
+            return false;
+        }
+        var mimeType = attachment.getMimeType();
+        if (!StringUtils.hasText(mimeType)) {
+            return false;
+        }
+        var isImage = mimeType.startsWith("image/") && !mimeType.startsWith("image/svg");
+        if (!isImage && !PDF_MIME_TYPE.equalsIgnoreCase(mimeType)) {
+            return false;
+        }
+        if (attachment.getFileSize() != null && attachment.getFileSize() > maxSourceBytes) {
+            log.info(String.format("源文件过大，跳过缩略图: attachmentId=%s, fileSize=%s",
+                    attachment.getId(), attachment.getFileSize()));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 解码图片并缩放：先读文件头取宽高，超过像素上限直接放弃；按缩略图尺寸设置降采样，
+     * 以降采样后的解码内存（宽×高×4 字节）申请预算，解码时只分配降采样后的像素
+     */
+    private BufferedImage renderImageThumbnail(InputStream inputStream, Long attachmentId) throws IOException {
+        try (ImageInputStream imageInput = ImageIO.createImageInputStream(inputStream)) {
+            if (imageInput == null) {
+                return null;
+            }
+            var readers = ImageIO.getImageReaders(imageInput);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            var reader = readers.next();
+            try {
+                reader.setInput(imageInput, true, true);
+                var width = reader.getWidth(0);
+                var height = reader.getHeight(0);
+                if ((long) width * height > maxSourcePixels) {
+                    log.info(String.format("图片像素过大，跳过缩略图: attachmentId=%s, width=%s, height=%s",
+                            attachmentId, width, height));
+                    return null;
+                }
+                var param = reader.getDefaultReadParam();
+                var subsampling = resolveSubsampling(width, height);
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                var decodedBytes = ceilDiv(width, subsampling) * ceilDiv(height, subsampling)
+                        * DECODED_BYTES_PER_PIXEL;
+                try (var permit = byteBudget.acquire(decodedBytes)) {
+                    return scaleToFit(reader.read(0, param));
+                }
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 降采样步长：解码结果最长边保留缩略图最长边的两倍，留给缩放插值
+     */
+    private int resolveSubsampling(int width, int height) {
+        return Math.max(1, Math.max(width, height) / (maxEdge * 2));
+    }
+
+    /**
+     * 向上取整除法
+     */
+    private static long ceilDiv(int value, int divisor) {
+        return ((long) value + divisor - 1) / divisor;
+    }
+
+    /**
+     * 渲染 PDF 首页并缩放（PDF 需整文件读入内存，按文件大小申请预算；页面像素超过上限时放弃）
+     */
+    private BufferedImage renderPdfThumbnail(InputStream inputStream, SysAttachment attachment) throws IOException {
+        var budgetBytes = attachment.getFileSize() != null ? attachment.getFileSize() : maxSourceBytes;
+        try (var permit = byteBudget.acquire(budgetBytes);
+                var document = Loader.loadPDF(new RandomAccessReadBuffer(inputStream))) {
+            if (document.getNumberOfPages() == 0) {
+                return null;
+            }
+            // 72 DPI 下页面尺寸（磅）即渲染像素
+            var mediaBox = document.getPage(0).getMediaBox();
+            if ((long) mediaBox.getWidth() * (long) mediaBox.getHeight() > maxSourcePixels) {
+                log.info(String.format("PDF 页面尺寸过大，跳过缩略图: attachmentId=%s", attachment.getId()));
+                return null;
+            }
+            return scaleToFit(new PDFRenderer(document).renderImageWithDPI(0, PDF_RENDER_DPI, ImageType.RGB));
+        }
+    }
+
+    /**
+     * 等比缩放至最长边不超过 maxEdge（透明背景填充为白色）
+     */
+    private BufferedImage scaleToFit(BufferedImage source) {
+        var scale = Math.min(1D, (double) maxEdge / Math.max(source.getWidth(), source.getHeight()));
+        var width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        var height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        var target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * 编码为 JPEG
+     */
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        var outputStream = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, "jpg", outputStream)) {
+            throw new IOException("JPEG 编码器不可用");
+        }
+        return outputStream.toByteArray();
+    }
+}
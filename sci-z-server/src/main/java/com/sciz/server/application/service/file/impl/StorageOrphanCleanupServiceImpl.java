@@ -0,0 +1,244 @@
+package com.sciz.server.application.service.file.impl;
+
+import com.sciz.server.application.service.file.StorageOrphanCleanupService;
+import com.sciz.server.domain.pojo.dto.response.file.StorageOrphanCleanupResp;
+import com.sciz.server.domain.pojo.repository.file.SysAttachmentRepo;
+import com.sciz.server.infrastructure.external.dify.config.DifyConfig;
+import com.sciz.server.infrastructure.shared.utils.MinioUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.minio.MinioClient;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * 孤儿存储清理服务实现
+ *
+ * <p>
+ * MinIO 对象按列举顺序分批，每批一次查询 sys_attachment 判断是否仍被引用；
+ * 删除按批次间隔限速，且单次运行有删除上限，避免对 MinIO 与数据库造成突发压力。
+ * 本地中转文件仅在调用 Dify 时使用、不入库，超过宽限期即视为孤儿。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className StorageOrphanCleanupServiceImpl
+ * @date 2025-11-21 14:00
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StorageOrphanCleanupServiceImpl implements StorageOrphanCleanupService {
+
+    private static final String METRIC_PREFIX = "sciz.storage.orphan.";
+    private static final String TARGET_MINIO = "minio";
+    private static final String TARGET_LOCAL = "local";
+    private static final String DEFAULT_DIFY_UPLOAD_DIR = "upload";
+
+    private final MinioClient minioClient;
+    private final SysAttachmentRepo sysAttachmentRepo;
+    private final DifyConfig difyConfig;
+    private final MeterRegistry meterRegistry;
+    @Value("${minio.bucket:sciz-files}")
+    private String bucketName;
+    @Value("${file.orphan-cleanup.grace-hours:24}")
+    private long graceHours;
+    @Value("${file.orphan-cleanup.batch-size:500}")
+    private int batchSize;
+    @Value("${file.orphan-cleanup.batch-interval-ms:200}")
+    private long batchIntervalMs;
+    @Value("${file.orphan-cleanup.max-deletes-per-run:10000}")
+    private long maxDeletesPerRun;
+
+    /**
+     * 执行一次清理
+     *
+     * @param dryRun boolean 是否仅演练（只统计不删除）
+     * @return StorageOrphanCleanupResp 清理结果
+     */
+    @Override
+    public StorageOrphanCleanupResp cleanup(boolean dryRun) {
+        var startTime = System.currentTimeMillis();
+        var cutoff = Instant.now().minus(Duration.ofHours(graceHours));
+
+        var objectCounter = new CleanupCounter();
+        try {
+            cleanupObjects(cutoff, dryRun, objectCounter);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            log.warn("孤儿对象清理被中断");
+        } catch (Exception exception) {
+            log.error(String.format("孤儿对象清理失败: bucket=%s", bucketName), exception);
+        }
+
+        var localCounter = new CleanupCounter();
+        try {
+            cleanupLocalFiles(cutoff, dryRun, localCounter);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            log.warn("本地中转文件清理被中断");
+        } catch (Exception exception) {
+            log.error("本地中转文件清理失败", exception);
+        }
+
+        recordMetrics(TARGET_MINIO, dryRun, objectCounter);
+        recordMetrics(TARGET_LOCAL, dryRun, localCounter);
+        var costMs = System.currentTimeMillis() - startTime;
+        meterRegistry.timer(METRIC_PREFIX + "cleanup", "dryRun", String.valueOf(dryRun))
+                .record(Duration.ofMillis(costMs));
+        return new StorageOrphanCleanupResp(dryRun,
+                objectCounter.scanned, objectCounter.orphaned, objectCounter.orphanBytes, objectCounter.deleted,
+                localCounter.scanned, localCounter.orphaned, localCounter.orphanBytes, localCounter.deleted,
+                costMs);
+    }
+
+    /**
+     * 分批对照附件表清理 MinIO 孤儿对象
+     */
+    private void cleanupObjects(Instant cutoff, boolean dryRun, CleanupCounter counter) throws Exception {
+        var candidates = new LinkedHashMap<String, Long>();
+        for (var result : MinioUtil.listObjects(minioClient, bucketName, null)) {
+            var item = result.get();
+            if (item.isDir()) {
+                continue;
+            }
+            counter.scanned++;
+            if (item.lastModified() == null || item.lastModified().toInstant().isAfter(cutoff)) {
+                continue;
+            }
+            candidates.put(item.objectName(), item.size());
+            if (candidates.size() >= batchSize) {
+                processObjectBatch(candidates, dryRun, counter);
+                candidates.clear();
+                if (!dryRun && counter.deleted >= maxDeletesPerRun) {
+                    log.info(String.format("孤儿对象清理达到单次删除上限，剩余对象留待下次: maxDeletesPerRun=%s",
+                            maxDeletesPerRun));
+                    return;
+                }
+            }
+        }
+        if (!candidates.isEmpty()) {
+            processObjectBatch(candidates, dryRun, counter);
+        }
+    }
+
+    /**
+     * 处理一批候选对象：过滤仍被引用的对象后删除其余对象
+     */
+    private void processObjectBatch(Map<String, Long> candidates, boolean dryRun, CleanupCounter counter)
+            throws Exception {
+        var referenced = sysAttachmentRepo.findReferencedObjectNames(candidates.keySet());
+        var orphanNames = candidates.keySet().stream()
+                .filter(objectName -> !referenced.contains(objectName))
+                .limit(dryRun ? Long.MAX_VALUE : Math.max(maxDeletesPerRun - counter.deleted, 0L))
+                .toList();
+        if (orphanNames.isEmpty()) {
+            return;
+        }
+        counter.orphaned += orphanNames.size();
+        counter.orphanBytes += orphanNames.stream().mapToLong(candidates::get).sum();
+        if (dryRun) {
+            log.info(String.format("[dry-run] 发现孤儿对象: count=%s, sample=%s", orphanNames.size(),
+                    orphanNames.get(0)));
+            return;
+        }
+        var failedNames = MinioUtil.deleteObjects(minioClient, bucketName, orphanNames);
+        counter.deleted += orphanNames.size() - failedNames.size();
+        if (!failedNames.isEmpty()) {
+            log.warn(String.format("部分孤儿对象删除失败: failedCount=%s, sample=%s", failedNames.size(),
+                    failedNames.get(0)));
+        }
+        Thread.sleep(batchIntervalMs);
+    }
+
+    /**
+     * 清理 Dify 上传目录中超过宽限期的本地中转文件
+     */
+    private void cleanupLocalFiles(Instant cutoff, boolean dryRun, CleanupCounter counter)
+            throws IOException, InterruptedException {
+        var uploadDir = resolveDifyUploadDir();
+        if (!Files.isDirectory(uploadDir)) {
+            return;
+        }
+        try (var paths = Files.list(uploadDir)) {
+            var iterator = paths.iterator();
+            var processedInBatch = 0;
+            while (iterator.hasNext()) {
+                var path = iterator.next();
+                if (!Files.isRegularFile(path)) {
+                    continue;
+                }
+                counter.scanned++;
+                var lastModified = Files.getLastModifiedTime(path).toInstant();
+                if (lastModified.isAfter(cutoff)) {
+                    continue;
+                }
+                counter.orphaned++;
+                counter.orphanBytes += Files.size(path);
+                if (dryRun) {
+                    continue;
+                }
+                if (counter.deleted >= maxDeletesPerRun) {
+                    return;
+                }
+                if (Files.deleteIfExists(path)) {
+                    counter.deleted++;
+                }
+                if (++processedInBatch >= batchSize) {
+                    processedInBatch = 0;
+                    Thread.sleep(batchIntervalMs);
+                }
+            }
+        }
+        if (dryRun && counter.orphaned > 0) {
+            log.info(String.format("[dry-run] 发现孤儿本地文件: count=%s, dir=%s", counter.orphaned, uploadDir));
+        }
+    }
+
+    /**
+     * 解析 Dify 上传目录（与 DifyApiService 存储规则一致：未配置时默认 upload，相对路径基于项目根目录）
+     */
+    private Path resolveDifyUploadDir() {
+        var configuredDir = difyConfig.getUpload() == null ? null : difyConfig.getUpload().getDir();
+        var dir = StringUtils.hasText(configuredDir) ? configuredDir.trim() : DEFAULT_DIFY_UPLOAD_DIR;
+        var uploadDir = new File(dir);
+        if (!uploadDir.isAbsolute()) {
+            uploadDir = new File(System.getProperty("user.dir"), uploadDir.getPath());
+        }
+        return uploadDir.toPath();
+    }
+
+    /**
+     * 记录清理指标
+     */
+    private void recordMetrics(String target, boolean dryRun, CleanupCounter counter) {
+        var dryRunTag = String.valueOf(dryRun);
+        meterRegistry.counter(METRIC_PREFIX + "scanned", "target", target, "dryRun", dryRunTag)
+                .increment(counter.scanned);
+        meterRegistry.counter(METRIC_PREFIX + "found", "target", target, "dryRun", dryRunTag)
+                .increment(counter.orphaned);
+        meterRegistry.counter(METRIC_PREFIX + "found.bytes", "target", target, "dryRun", dryRunTag)
+                .increment(counter.orphanBytes);
+        meterRegistry.counter(METRIC_PREFIX + "deleted", "target", target, "dryRun", dryRunTag)
+                .increment(counter.deleted);
+    }
+
+    /**
+     * 单次清理的计数
+     */
+    private static final class CleanupCounter {
+        private long scanned;
+        private long orphaned;
+        private long orphanBytes;
+        private long deleted;
+    }
+}
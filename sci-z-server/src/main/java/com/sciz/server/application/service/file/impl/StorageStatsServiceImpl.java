@@ -0,0 +1,153 @@
+package com.sciz.server.application.service.file.impl;
+
+import cn.dev33.satoken.stp.StpUtil;
+import com.sciz.server.application.service.file.StorageStatsService;
+import com.sciz.server.domain.pojo.dto.response.file.StorageStatsResp;
+import com.sciz.server.domain.pojo.repository.file.SysStorageStatsRepo;
+import com.sciz.server.infrastructure.shared.constant.SystemConstant;
+import com.sciz.server.infrastructure.shared.enums.StorageStatsScopeStatus;
+import com.sciz.server.infrastructure.shared.exception.BusinessException;
+import com.sciz.server.infrastructure.shared.result.ResultCode;
+import com.sciz.server.infrastructure.shared.utils.LoginUserUtil;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+/**
+ * 存储用量统计服务实现
+ *
+ * @author JiaWen.Wu
+ * @className StorageStatsServiceImpl
+ * @date 2025-11-21 09:30
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StorageStatsServiceImpl implements StorageStatsService {
+
+    private final SysStorageStatsRepo sysStorageStatsRepo;
+    @Value("${file.quota.user-max-bytes:0}")
+    private long userQuotaBytes;
+
+    /**
+     * 记录文件上传带来的用量增加
+     *
+     * @param uploaderId Long 上传人ID
+     * @param fileType   String 附件分类编码
+     * @param fileSize   long 文件大小（字节）
+     */
+    @Override
+    public void recordUpload(Long uploaderId, String fileType, long fileSize) {
+        applyDelta(uploaderId, fileType, 1L, Math.max(fileSize, 0L));
+    }
+
+    /**
+     * 记录文件删除带来的用量减少
+     *
+     * @param uploaderId Long 上传人ID
+     * @param fileType   String 附件分类编码
+     * @param fileSize   long 文件大小（字节）
+     */
+    @Override
+    public void recordDeletion(Long uploaderId, String fileType, long fileSize) {
+        applyDelta(uploaderId, fileType, -1L, -Math.max(fileSize, 0L));
+    }
+
+    /**
+     * 查询指定维度的存储用量（普通用户仅可查询本人用户维度，其他维度需管理员角色）
+     *
+     * @param scopeType String 统计维度（为空时默认用户维度）
+     * @param scopeKey  String 维度取值（用户维度为空时取当前用户）
+     * @return StorageStatsResp 统计结果
+     */
+    @Override
+    public StorageStatsResp getStats(String scopeType, String scopeKey) {
+        StorageStatsScopeStatus scope;
+        try {
+            scope = StringUtils.hasText(scopeType)
+                    ? StorageStatsScopeStatus.fromCode(scopeType)
+                    : StorageStatsScopeStatus.USER;
+        } catch (IllegalArgumentException exception) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "不支持的统计维度");
+        }
+        var currentUserKey = String.valueOf(LoginUserUtil.requireCurrentUserId());
+        var key = scopeKey;
+        if (!StringUtils.hasText(key)) {
+            if (scope != StorageStatsScopeStatus.USER) {
+                throw new BusinessException(ResultCode.BAD_REQUEST, "统计维度取值不能为空");
+            }
+            key = currentUserKey;
+        }
+        var ownScope = scope == StorageStatsScopeStatus.USER && currentUserKey.equals(key.trim());
+        if (!ownScope && !StpUtil.hasRole(SystemConstant.ADMIN_ROLE_CODE)) {
+            log.warn(String.format("越权查询存储用量: userId=%s, scopeType=%s, scopeKey=%s",
+                    currentUserKey, scope.getCode(), key));
+            throw new BusinessException(ResultCode.FORBIDDEN, "无权查看其他用户或维度的存储用量");
+        }
+        var quotaBytes = scope == StorageStatsScopeStatus.USER && userQuotaBytes > 0 ? userQuotaBytes : null;
+        var stats = sysStorageStatsRepo.findByScope(scope.getCode(), key);
+        if (stats == null) {
+            return new StorageStatsResp(scope.getCode(), key, 0L, 0L, quotaBytes, null, null);
+        }
+        return new StorageStatsResp(scope.getCode(), key, stats.getFileCount(), stats.getTotalBytes(), quotaBytes,
+                stats.getReconciledTime(), stats.getUpdatedTime());
+    }
+
+    /**
+     * 校验用户上传配额，超出时抛出业务异常
+     *
+     * <p>
+     * 统计为增量维护的近似值，并发上传时可能短暂超出配额，由下一次上传或对账后的校验兜底。
+     * </p>
+     *
+     * @param userId        Long 用户ID
+     * @param incomingBytes long 本次待上传字节数
+     */
+    @Override
+    public void checkUserQuota(Long userId, long incomingBytes) {
+        if (userQuotaBytes <= 0 || userId == null) {
+            return;
+        }
+        var stats = sysStorageStatsRepo.findByScope(StorageStatsScopeStatus.USER.getCode(), String.valueOf(userId));
+        var usedBytes = stats != null && stats.getTotalBytes() != null ? stats.getTotalBytes() : 0L;
+        if (usedBytes + Math.max(incomingBytes, 0L) > userQuotaBytes) {
+            log.warn(String.format("存储配额不足: userId=%s, usedBytes=%s, incomingBytes=%s, quotaBytes=%s",
+                    userId, usedBytes, incomingBytes, userQuotaBytes));
+            throw new BusinessException(ResultCode.FILE_QUOTA_EXCEEDED);
+        }
+    }
+
+    /**
+     * 按附件表全量对账所有统计维度
+     *
+     * @return int 重算的统计行数
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int reconcile() {
+        var reconciledTime = LocalDateTime.now();
+        var reconciledRows = 0;
+        for (var scope : StorageStatsScopeStatus.values()) {
+            reconciledRows += sysStorageStatsRepo.reconcile(scope.getCode(), reconciledTime);
+        }
+        return reconciledRows;
+    }
+
+    /**
+     * 同时累加用户维度与附件分类维度
+     */
+    private void applyDelta(Long uploaderId, String fileType, long countDelta, long bytesDelta) {
+        if (uploaderId != null) {
+            sysStorageStatsRepo.applyDelta(StorageStatsScopeStatus.USER.getCode(), String.valueOf(uploaderId),
+                    countDelta, bytesDelta);
+        }
+        if (StringUtils.hasText(fileType)) {
+            sysStorageStatsRepo.applyDelta(StorageStatsScopeStatus.FILE_TYPE.getCode(), fileType,
+                    countDelta, bytesDelta);
+        }
+    }
+}
@@ -50,6 +50,11 @@ public interface PermissionService {
      */
     void refreshUserAuthCache(Long userId, String industryType);
 
+    /**
+     * 角色或角色权限变更后重建角色权限索引（各节点生效）
+     */
+    void refreshRolePermissionIndex();
+
     /**
      * 获取用户主要角色编码（第一个角色）
      *
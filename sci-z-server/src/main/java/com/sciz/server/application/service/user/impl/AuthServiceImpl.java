@@ -38,6 +38,9 @@ import com.sciz.server.domain.pojo.repository.user.SysUserProfileRepo;
 import com.sciz.server.domain.pojo.repository.user.SysUserRepo;
 import com.sciz.server.domain.pojo.repository.user.SysUserRoleRepo;
 import com.sciz.server.infrastructure.config.cache.IndustryConfigCache;
+import com.sciz.server.infrastructure.config.security.CaptchaPool;
+import com.sciz.server.infrastructure.config.security.PasswordHasher;
+import com.sciz.server.infrastructure.config.web.RateLimiter;
 import com.sciz.server.infrastructure.external.sms.SmsService;
 import com.sciz.server.infrastructure.shared.constant.CacheConstant;
 import com.sciz.server.infrastructure.shared.constant.SystemConstant;
@@ -68,8 +71,8 @@ import java.util.Locale;
 import java.util.Optional;
 import java.util.function.Supplier;
 import java.util.UUID;
-import org.mindrot.jbcrypt.BCrypt;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -98,9 +101,14 @@ public class AuthServiceImpl implements AuthService {
     private final AuthConverter authConverter;
     private final SmsService smsService;
     private final FileService fileService;
+    private final PasswordHasher passwordHasher;
+    private final RedisScript<Long> loginFailureScript;
+    private final CaptchaPool captchaPool;
+    private final RateLimiter rateLimiter;
 
     private static final ZoneId DEFAULT_ZONE = ZoneId.of("Asia/Shanghai");
     private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final String VERIFICATION_TARGET_RATE_LIMIT_RULE = "auth-verification-target";
     private static final String PROFILE_TITLE_CODE = "title";
     private static final String PROFILE_AVATAR_FILE_ID_CODE = "avatar_file_id";
 
@@ -115,7 +123,10 @@ public class AuthServiceImpl implements AuthService {
             SysUserProfileRepo sysUserProfileRepo,
             AuthConverter authConverter,
             SmsService smsService,
-            FileService fileService) {
+            FileService fileService,
+            PasswordHasher passwordHasher,
+            RedisScript<Long> loginFailureScript,
+            CaptchaPool captchaPool, RateLimiter rateLimiter) {
         this.sysUserRepo = sysUserRepo;
         this.stringRedisTemplate = stringRedisTemplate;
         this.eventPublisher = eventPublisher;
@@ -129,6 +140,10 @@ public class AuthServiceImpl implements AuthService {
         this.authConverter = authConverter;
         this.smsService = smsService;
         this.fileService = fileService;
+        this.passwordHasher = passwordHasher;
+        this.loginFailureScript = loginFailureScript;
+        this.captchaPool = captchaPool;
+        this.rateLimiter = rateLimiter;
     }
 
     /**
@@ -161,8 +176,9 @@ public class AuthServiceImpl implements AuthService {
         var user = sysUserRepo.findByUsername(username);
         validateUser(user, username);
 
-        // 5. 密码校验
+        // 5. 密码校验（在密码哈希线程池中执行）
         validatePassword(rawPassword, user.getPassword(), username);
+        rehashPasswordIfNeeded(user, rawPassword);
 
         // 6. 清理失败计数和验证码
         clearLoginFailCount(username);
@@ -394,7 +410,7 @@ public class AuthServiceImpl implements AuthService {
      * 校验密码
      */
     private void validatePassword(String rawPassword, String hashedPassword, String username) {
-        var match = bcryptMatches(rawPassword, hashedPassword);
+        var match = passwordHasher.matches(rawPassword, hashedPassword);
         if (!match) {
             onFail(username);
             log.warn(String.format("login password mismatch, username=%s", username));
@@ -402,6 +418,25 @@ public class AuthServiceImpl implements AuthService {
         }
     }
 
+    /**
+     * 哈希 cost 低于当前配置时后台重新哈希并回写（不影响本次登录）
+     */
+    private void rehashPasswordIfNeeded(SysUser user, String rawPassword) {
+        if (!passwordHasher.needsRehash(user.getPassword())) {
+            return;
+        }
+        var userId = user.getId();
+        var oldHash = user.getPassword();
+        passwordHasher.rehashAsync(rawPassword, newHash -> {
+            // 条件更新：期间密码已被修改/重置时旧哈希不匹配，影响 0 行即放弃，避免覆盖新密码
+            if (sysUserRepo.updatePasswordIfMatches(userId, oldHash, newHash, LocalDateTime.now(DEFAULT_ZONE))) {
+                log.info(String.format("密码哈希已升级: userId=%s", userId));
+            } else {
+                log.info(String.format("密码已变更，跳过哈希升级: userId=%s", userId));
+            }
+        });
+    }
+
     /**
      * 清理登录失败计数
      */
@@ -660,22 +695,7 @@ public class AuthServiceImpl implements AuthService {
      * @return String bcrypt 哈希
      */
     private String hashPassword(String rawPassword) {
-        return BCrypt.hashpw(rawPassword, BCrypt.gensalt());
-    }
-
-    /**
-     * 校验明文密码与 bcrypt 哈希是否匹配
-     *
-     * @param raw  String 明文密码
-     * @param hash String bcrypt 哈希
-     * @return boolean 是否匹配
-     */
-    public static boolean bcryptMatches(String raw, String hash) {
-        try {
-            return BCrypt.checkpw(raw, hash);
-        } catch (Exception e) {
-            return false;
-        }
+        return passwordHasher.hash(rawPassword);
     }
 
     /**
@@ -782,7 +802,7 @@ public class AuthServiceImpl implements AuthService {
     }
 
     /**
-     * 发送短信验证码：规格化手机号 → 校验图形验证码 → 校验账号存在 → 校验发送频率 → 生成并缓存验证码 → 调用短信服务
+     * 发送短信验证码：规格化手机号 → 校验图形验证码 → 按手机号限流 → 校验账号存在 → 校验发送频率 → 生成并缓存验证码 → 调用短信服务
      *
      * @param req PhoneCodeSendReq 请求参数
      */
@@ -796,6 +816,9 @@ public class AuthServiceImpl implements AuthService {
         log.info(String.format("发送短信验证码: phone=%s", phone));
 
         validateCaptchaStrict(req.captcha(), req.captchaKey());
+        // 按目标手机号限流：轮换 IP 也无法对同一号码持续发送
+        rateLimiter.acquire(VERIFICATION_TARGET_RATE_LIMIT_RULE, "phone:" + phone,
+                "该手机号验证码发送过于频繁，请稍后再试");
 
         var user = Optional.ofNullable(sysUserRepo.findByPhone(phone))
                 .orElseThrow(() -> {
@@ -842,23 +865,11 @@ public class AuthServiceImpl implements AuthService {
      * @param username String 用户名
      */
     private void onFail(String username) {
-        String failKey = String.format(CacheConstant.AUTH_FAIL_KEY, username);
-        Long cnt = 1L;
-        String val = RedisUtil.get(stringRedisTemplate, failKey);
-        if (StringUtils.hasText(val)) {
-            try {
-                cnt = Long.parseLong(val) + 1;
-            } catch (Exception ignored) {
-                cnt = 1L;
-            }
-        }
-        RedisUtil.set(stringRedisTemplate, failKey, String.valueOf(cnt),
-                java.time.Duration.ofSeconds(CacheConstant.AUTH_LOCK_DURATION));
-        if (cnt >= CacheConstant.MAX_LOGIN_FAIL_COUNT) {
-            String lockKey = String.format(CacheConstant.AUTH_LOCK_KEY, username);
-            RedisUtil.set(stringRedisTemplate, lockKey, "1",
-                    java.time.Duration.ofSeconds(CacheConstant.AUTH_LOCK_DURATION));
-        }
+        var failKey = String.format(CacheConstant.AUTH_FAIL_KEY, username);
+        var lockKey = String.format(CacheConstant.AUTH_LOCK_KEY, username);
+        var cnt = RedisUtil.execute(stringRedisTemplate, loginFailureScript, List.of(failKey, lockKey),
+                System.currentTimeMillis(), CacheConstant.AUTH_FAIL_WINDOW * 1000L,
+                CacheConstant.MAX_LOGIN_FAIL_COUNT, CacheConstant.AUTH_LOCK_DURATION, UUID.randomUUID());
         log.warn(String.format("login failed, username=%s, count=%s", username, cnt));
     }
 
@@ -904,28 +915,25 @@ public class AuthServiceImpl implements AuthService {
      */
     @Override
     public CaptchaResp getCaptcha() {
-        // 1. 生成验证码文本（4位）
-        var captchaText = CaptchaUtil.generateText();
+        // 1. 从预渲染池取出验证码（文本 4 位 + 图片）
+        var captcha = captchaPool.take();
 
         // 2. 生成验证码唯一标识（UUID）
         var captchaKey = UUID.randomUUID().toString().replace("-", "");
 
         // 3. 缓存验证码文本到 Redis（5分钟过期）
         var cacheKey = String.format(CacheConstant.CAPTCHA_KEY_PREFIX, captchaKey);
-        RedisUtil.set(stringRedisTemplate, cacheKey, captchaText, Duration.ofSeconds(CacheConstant.CAPTCHA_EXPIRE));
-
-        // 4. 生成验证码图片（Base64）
-        var captchaImage = CaptchaUtil.generateImage(captchaText);
+        RedisUtil.set(stringRedisTemplate, cacheKey, captcha.text(), Duration.ofSeconds(CacheConstant.CAPTCHA_EXPIRE));
 
-        // 5. 组装响应（使用 Java 21 Record 构造方法）
-        var resp = new CaptchaResp(captchaKey, captchaImage, CacheConstant.CAPTCHA_EXPIRE);
+        // 4. 组装响应（使用 Java 21 Record 构造方法）
+        var resp = new CaptchaResp(captchaKey, captcha.image(), CacheConstant.CAPTCHA_EXPIRE);
 
         log.debug(String.format("生成验证码成功: captchaKey=%s", captchaKey));
         return resp;
     }
 
     /**
-     * 发送邮箱验证码：规格化邮箱 → 校验图形验证码 → 校验账号存在 → 校验发送频率 → 生成并缓存验证码 → 发布通知事件
+     * 发送邮箱验证码：规格化邮箱 → 校验图形验证码 → 按邮箱限流 → 校验账号存在 → 校验发送频率 → 生成并缓存验证码 → 发布通知事件
      *
      * @param req EmailCodeSendReq 请求参数（包含邮箱、图形验证码、图形验证码标识）
      */
@@ -939,6 +947,9 @@ public class AuthServiceImpl implements AuthService {
         log.info(String.format("发送邮箱验证码: email=%s", email));
 
         validateCaptchaStrict(req.captcha(), req.captchaKey());
+        // 按目标邮箱限流：轮换 IP 也无法对同一邮箱持续发送
+        rateLimiter.acquire(VERIFICATION_TARGET_RATE_LIMIT_RULE, "email:" + email,
+                "该邮箱验证码发送过于频繁，请稍后再试");
 
         var user = Optional.ofNullable(sysUserRepo.findByEmail(email))
                 .orElseThrow(() -> {
@@ -1012,7 +1023,7 @@ public class AuthServiceImpl implements AuthService {
         var user = findAndValidateUser(userId);
 
         // 3. 校验原密码
-        if (!bcryptMatches(req.oldPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(req.oldPassword(), user.getPassword())) {
             log.warn(String.format("修改密码失败，原密码错误: userId=%s", userId));
             throw new BusinessException(ResultCode.USER_LOGIN_FAILED, "原密码错误");
         }
@@ -1024,7 +1035,7 @@ public class AuthServiceImpl implements AuthService {
         }
 
         // 5. 校验新密码不能与原密码相同
-        if (bcryptMatches(req.newPassword(), user.getPassword())) {
+        if (passwordHasher.matches(req.newPassword(), user.getPassword())) {
             log.warn(String.format("修改密码失败，新密码不能与原密码相同: userId=%s", userId));
             throw new BusinessException(ResultCode.BAD_REQUEST, "新密码不能与原密码相同");
         }
@@ -2,7 +2,7 @@ package com.sciz.server.application.service.user.impl;
 
 import com.sciz.server.application.service.log.LoginLogService;
 import com.sciz.server.application.service.user.LoginLogAndStatsService;
-import com.sciz.server.domain.pojo.entity.user.SysUser;
+import com.sciz.server.application.task.LoginStatsFlushTask;
 import com.sciz.server.domain.pojo.repository.user.SysUserRepo;
 import com.sciz.server.infrastructure.shared.enums.LoginStatus;
 import com.sciz.server.infrastructure.shared.event.log.LoginLoggedEvent;
@@ -11,6 +11,7 @@ import java.util.Optional;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,6 +30,9 @@ public class LoginLogAndStatsServiceImpl implements LoginLogAndStatsService {
 
     private final LoginLogService loginLogService;
     private final SysUserRepo sysUserRepo;
+    private final LoginStatsFlushTask loginStatsFlushTask;
+    @Value("${auth.login-stats.buffered:false}")
+    private boolean buffered;
 
     /**
      * 保存登录日志并更新用户统计（在同一事务中）
@@ -50,27 +54,22 @@ public class LoginLogAndStatsServiceImpl implements LoginLogAndStatsService {
 
     /**
      * 更新用户登录统计信息
+     * 默认随登录日志在同一事务中执行一条原子累加 UPDATE；开启缓冲后交由写回任务合并批量写入
      *
      * @param event 登录日志事件
      */
     private void updateUserLoginStats(LoginLoggedEvent event) {
-        Optional.ofNullable(sysUserRepo.findById(event.getUserId()))
-                .ifPresentOrElse(user -> {
-                    var currentCount = Optional.ofNullable(user.getLoginCount()).orElse(0);
-                    user.setLoginCount(currentCount + 1);
-
-                    var loginTime = Optional.ofNullable(event.getLoginTime()).orElseGet(LocalDateTime::now);
-                    user.setLastLoginTime(loginTime);
-                    user.setLastLoginIp(event.getLoginIp());
-
-                    if (sysUserRepo.updateById(user)) {
-                        log.info(String.format("用户登录统计更新成功: userId=%s, loginCount=%s, lastLoginTime=%s, lastLoginIp=%s",
-                                event.getUserId(), user.getLoginCount(), user.getLastLoginTime(),
-                                user.getLastLoginIp()));
-                    } else {
-                        log.warn(String.format("用户登录统计更新失败: userId=%s", event.getUserId()));
-                    }
-                }, () -> log.warn(String.format("用户不存在，无法更新登录统计: userId=%s", event.getUserId())));
+        var loginTime = Optional.ofNullable(event.getLoginTime()).orElseGet(LocalDateTime::now);
+        if (buffered) {
+            loginStatsFlushTask.record(event.getUserId(), loginTime, event.getLoginIp());
+            return;
+        }
+        if (sysUserRepo.increaseLoginStats(event.getUserId(), 1L, loginTime, event.getLoginIp())) {
+            log.debug(String.format("用户登录统计更新成功: userId=%s, lastLoginTime=%s, lastLoginIp=%s",
+                    event.getUserId(), loginTime, event.getLoginIp()));
+        } else {
+            log.warn(String.format("用户不存在，无法更新登录统计: userId=%s", event.getUserId()));
+        }
     }
 
 }
@@ -3,25 +3,22 @@ package com.sciz.server.application.service.user.impl;
 import com.sciz.server.application.service.user.PermissionService;
 import com.sciz.server.domain.pojo.dto.response.user.LoginMenuResp;
 import com.sciz.server.domain.pojo.entity.user.SysPermission;
-import com.sciz.server.domain.pojo.entity.user.SysRole;
-import com.sciz.server.domain.pojo.entity.user.SysRolePermission;
 import com.sciz.server.domain.pojo.entity.user.SysUserRole;
-import com.sciz.server.domain.pojo.repository.user.SysPermissionRepo;
-import com.sciz.server.domain.pojo.repository.user.SysRolePermissionRepo;
-import com.sciz.server.domain.pojo.repository.user.SysRoleRepo;
 import com.sciz.server.domain.pojo.repository.user.SysUserRoleRepo;
+import com.sciz.server.infrastructure.config.cache.PermissionLocalCache;
+import com.sciz.server.infrastructure.config.cache.RolePermissionIndex;
 import com.sciz.server.infrastructure.shared.constant.CacheConstant;
-import com.sciz.server.infrastructure.shared.enums.DeleteStatus;
 import com.sciz.server.infrastructure.shared.enums.PermissionStatus;
 import com.sciz.server.infrastructure.shared.utils.RedisUtil;
 import com.sciz.server.infrastructure.shared.utils.JsonUtil;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.util.CollectionUtils;
+import org.springframework.util.DigestUtils;
 
 import java.util.*;
 
@@ -37,103 +34,46 @@ import java.util.*;
 public class PermissionServiceImpl implements PermissionService {
 
     private final SysUserRoleRepo userRoleRepo;
-    private final SysRoleRepo roleRepo;
-    private final SysRolePermissionRepo rolePermissionRepo;
-    private final SysPermissionRepo permissionRepo;
     private final StringRedisTemplate redis;
+    private final PermissionLocalCache permissionLocalCache;
+    private final RolePermissionIndex rolePermissionIndex;
 
     public PermissionServiceImpl(SysUserRoleRepo userRoleRepo,
-            SysRoleRepo roleRepo,
-            SysRolePermissionRepo rolePermissionRepo,
-            SysPermissionRepo permissionRepo,
-            StringRedisTemplate redis) {
+            StringRedisTemplate redis,
+            PermissionLocalCache permissionLocalCache,
+            RolePermissionIndex rolePermissionIndex) {
         this.userRoleRepo = userRoleRepo;
-        this.roleRepo = roleRepo;
-        this.rolePermissionRepo = rolePermissionRepo;
-        this.permissionRepo = permissionRepo;
         this.redis = redis;
+        this.permissionLocalCache = permissionLocalCache;
+        this.rolePermissionIndex = rolePermissionIndex;
     }
 
     /**
-     * 查询用户角色编码集合（含行业过滤与缓存）
+     * 查询用户角色编码集合（用户角色ID → 角色权限索引）
      *
      * @param userId       Long 用户ID
      * @param industryType String 行业类型
-     * @return List<String> 角色编码集合
+     * @return List<String> 角色编码集合（不可变）
      */
     @Override
     public List<String> findRoleCodes(Long userId, String industryType) {
-        // 1. 检查缓存
-        var cacheKey = buildCacheKey(userId, industryType, "roles");
-        Optional<List<String>> cachedList = Optional.ofNullable(RedisUtil.get(redis, cacheKey))
-                .map(this::parseList);
-        if (cachedList.isPresent()) {
-            return cachedList.get();
-        }
-
-        // 2. 查询用户角色关联
-        var userRoles = userRoleRepo.findNotDeletedByUserId(userId);
-        if (CollectionUtils.isEmpty(userRoles)) {
-            cacheEmptyResult(cacheKey);
-            return Collections.emptyList();
-        }
-
-        // 3. 提取角色ID列表
-        var roleIds = extractRoleIds(userRoles);
-        if (CollectionUtils.isEmpty(roleIds)) {
-            return Collections.emptyList();
-        }
-
-        // 4. 查询角色并过滤
-        var roles = roleRepo.findByIds(roleIds);
-        var roleCodes = filterAndMapRoleCodes(roles, industryType);
-
-        // 5. 缓存结果
-        cacheResult(cacheKey, toCsv(roleCodes));
-        return roleCodes;
+        return rolePermissionIndex.roleCodes(findUserRoleIds(userId), industryType);
     }
 
     /**
-     * 查询用户权限码集合（含行业过滤与缓存）
+     * 查询用户权限码集合（用户角色位图按位或）
      *
      * @param userId       Long 用户ID
      * @param industryType String 行业类型
-     * @return List<String> 权限码集合
+     * @return List<String> 权限码集合（不可变）
      */
     @Override
     public List<String> findPermissionCodes(Long userId, String industryType) {
-        // 1. 检查缓存
-        var cacheKey = buildCacheKey(userId, industryType, "permissions");
-        Optional<List<String>> cachedList = Optional.ofNullable(RedisUtil.get(redis, cacheKey))
-                .map(this::parseList);
-        if (cachedList.isPresent()) {
-            return cachedList.get();
-        }
-
-        // 2. 查询用户角色ID列表
-        var roleIds = findUserRoleIds(userId);
-        if (CollectionUtils.isEmpty(roleIds)) {
-            cacheEmptyResult(cacheKey);
-            return Collections.emptyList();
-        }
-
-        // 3. 查询角色权限ID列表
-        var permIds = findRolePermissionIds(roleIds);
-        if (CollectionUtils.isEmpty(permIds)) {
-            return Collections.emptyList();
-        }
-
-        // 4. 查询权限并过滤
-        var perms = permissionRepo.findByIds(permIds);
-        var permissionCodes = filterAndMapPermissionCodes(perms, industryType);
-
-        // 5. 缓存结果
-        cacheResult(cacheKey, toCsv(permissionCodes));
-        return permissionCodes;
+        return rolePermissionIndex.permissionCodes(findUserRoleIds(userId), industryType);
     }
 
     /**
-     * 组装用户菜单树（基于菜单型权限，含行业过滤与缓存）
+     * 组装用户菜单树（基于菜单型权限，含行业过滤；按角色组合共享缓存）
      *
      * @param userId       Long 用户ID
      * @param industryType String 行业类型
@@ -141,34 +81,21 @@ public class PermissionServiceImpl implements PermissionService {
      */
     @Override
     public List<LoginMenuResp> buildMenus(Long userId, String industryType) {
-        // 1. 检查缓存
-        var cacheKey = buildCacheKey(userId, industryType, "menus");
+        var roleIds = findUserRoleIds(userId);
+
+        // 1. 检查缓存（同一角色组合的用户共享；键携带索引版本，菜单或角色权限变更后旧缓存自然失效）
+        var cacheKey = buildMenusCacheKey(roleIds, industryType);
         Optional<List<LoginMenuResp>> cachedMenus = Optional.ofNullable(RedisUtil.get(redis, cacheKey))
                 .map(json -> JsonUtil.fromJsonList(json, LoginMenuResp.class));
         if (cachedMenus.isPresent()) {
             return cachedMenus.get();
         }
 
-        // 2. 查询用户角色ID列表
-        var roleIds = findUserRoleIds(userId);
-        if (CollectionUtils.isEmpty(roleIds)) {
-            var emptyMenus = Collections.<LoginMenuResp>emptyList();
-            RedisUtil.set(redis, cacheKey, JsonUtil.toJson(emptyMenus),
-                    Duration.ofSeconds(CacheConstant.PERMISSION_CACHE_EXPIRE));
-            return emptyMenus;
-        }
+        // 2. 由角色权限索引计算菜单类型的权限
+        var menuPerms = filterMenuPermissions(
+                rolePermissionIndex.permissions(roleIds, industryType));
 
-        // 3. 查询角色权限ID列表
-        var permIds = findRolePermissionIds(roleIds);
-        if (CollectionUtils.isEmpty(permIds)) {
-            return Collections.emptyList();
-        }
-
-        // 4. 查询菜单类型的权限
-        var perms = permissionRepo.findByIds(permIds);
-        var menuPerms = filterMenuPermissions(perms, industryType);
-
-        // 5. 构建菜单树并缓存
+        // 3. 构建菜单树并缓存
         var menus = buildMenuTree(menuPerms);
         RedisUtil.set(redis, cacheKey, JsonUtil.toJson(menus),
                 Duration.ofSeconds(CacheConstant.PERMISSION_CACHE_EXPIRE));
@@ -189,157 +116,102 @@ public class PermissionServiceImpl implements PermissionService {
     }
 
     /**
-     * 刷新指定用户在指定行业下的权限聚合缓存（角色/权限/菜单）
+     * 刷新指定用户在指定行业下的权限聚合缓存（角色ID；菜单缓存按角色组合共享，随角色ID变化自动切换）
      *
      * @param userId       Long 用户ID
      * @param industryType String 行业类型
      */
     @Override
     public void refreshUserAuthCache(Long userId, String industryType) {
-        RedisUtil.delete(redis, buildCacheKey(userId, industryType, "roles"));
-        RedisUtil.delete(redis, buildCacheKey(userId, industryType, "permissions"));
-        RedisUtil.delete(redis, buildCacheKey(userId, industryType, "menus"));
+        RedisUtil.delete(redis, buildRoleIdsCacheKey(userId));
+        permissionLocalCache.invalidateUser(userId);
 
         // 重新加载聚合信息，确保缓存立即生效
         findRoleCodes(userId, industryType);
-        findPermissionCodes(userId, industryType);
         buildMenus(userId, industryType);
     }
 
+    /**
+     * 角色或角色权限变更后重建角色权限索引（事务提交后生效并广播其他节点）
+     */
+    @Override
+    public void refreshRolePermissionIndex() {
+        rolePermissionIndex.publishChange();
+    }
+
     // ==================== 私有辅助方法 ====================
 
     /**
-     * 构建缓存键
+     * 构建菜单缓存键（角色组合指纹 + 索引版本）
      *
-     * @param userId       用户ID
+     * @param roleIds      角色ID列表（已排序去重）
      * @param industryType 行业类型
-     * @param type         缓存类型（roles/permissions/menus）
      * @return 缓存键
      */
-    private String buildCacheKey(Long userId, String industryType, String type) {
-        return String.format("%s:%s:%s:%s",
-                CacheConstant.PERMISSION_CACHE_NAMESPACE, userId, safe(industryType), type);
+    private String buildMenusCacheKey(List<Long> roleIds, String industryType) {
+        var fingerprint = DigestUtils.md5DigestAsHex(
+                toCsv(roleIds.stream().map(String::valueOf).toList()).getBytes(StandardCharsets.UTF_8));
+        return String.format("%s:%s:%s:v%s", CacheConstant.PERMISSION_MENU_CACHE_PREFIX, safe(industryType),
+                fingerprint, rolePermissionIndex.version());
     }
 
     /**
-     * 缓存空结果
+     * 构建用户角色ID缓存键（与行业无关，行业过滤由角色权限索引完成）
      *
-     * @param cacheKey 缓存键
+     * @param userId 用户ID
+     * @return 缓存键
      */
-    private void cacheEmptyResult(String cacheKey) {
-        RedisUtil.set(redis, cacheKey, toCsv(Collections.emptyList()),
-                Duration.ofSeconds(CacheConstant.PERMISSION_CACHE_EXPIRE));
+    private String buildRoleIdsCacheKey(Long userId) {
+        return String.format("%s:%s:roleIds", CacheConstant.PERMISSION_CACHE_NAMESPACE, userId);
     }
 
     /**
-     * 缓存结果
-     *
-     * @param cacheKey 缓存键
-     * @param value    缓存值
-     */
-    private void cacheResult(String cacheKey, String value) {
-        RedisUtil.set(redis, cacheKey, value,
-                Duration.ofSeconds(CacheConstant.PERMISSION_CACHE_EXPIRE));
-    }
-
-    /**
-     * 查询用户角色ID列表
+     * 查询用户角色ID列表（本地缓存 → Redis → 数据库）
      *
      * @param userId 用户ID
-     * @return 角色ID列表
+     * @return 角色ID列表（升序去重、不可变）
      */
     private List<Long> findUserRoleIds(Long userId) {
-        return userRoleRepo.findNotDeletedByUserId(userId)
-                .stream()
-                .map(SysUserRole::getRoleId)
-                .distinct()
-                .toList();
+        return permissionLocalCache.getRoleIds(userId, () -> loadUserRoleIds(userId));
     }
 
     /**
-     * 提取角色ID列表
+     * 加载用户角色ID列表（含 Redis 缓存）
      *
-     * @param userRoles 用户角色关联列表
+     * @param userId 用户ID
      * @return 角色ID列表
      */
-    private List<Long> extractRoleIds(List<SysUserRole> userRoles) {
-        return userRoles.stream()
-                .map(SysUserRole::getRoleId)
-                .distinct()
-                .toList();
-    }
+    private List<Long> loadUserRoleIds(Long userId) {
+        // 1. 检查缓存
+        var cacheKey = buildRoleIdsCacheKey(userId);
+        Optional<List<Long>> cachedList = Optional.ofNullable(RedisUtil.get(redis, cacheKey))
+                .map(csv -> parseList(csv).stream().map(Long::valueOf).toList());
+        if (cachedList.isPresent()) {
+            return cachedList.get();
+        }
 
-    /**
-     * 查询角色权限ID列表
-     *
-     * @param roleIds 角色ID列表
-     * @return 权限ID列表
-     */
-    private List<Long> findRolePermissionIds(List<Long> roleIds) {
-        return rolePermissionRepo.findNotDeletedByRoleIds(roleIds)
+        // 2. 查询用户角色关联
+        var roleIds = userRoleRepo.findNotDeletedByUserId(userId)
                 .stream()
-                .map(SysRolePermission::getPermissionId)
-                .distinct()
-                .toList();
-    }
-
-    /**
-     * 过滤并映射角色编码
-     *
-     * @param roles        角色列表
-     * @param industryType 行业类型
-     * @return 角色编码列表
-     */
-    private List<String> filterAndMapRoleCodes(List<SysRole> roles, String industryType) {
-        return roles.stream()
-                .filter(role -> !Optional.ofNullable(role.getIsDeleted())
-                        .map(DeleteStatus.DELETED.getCode()::equals)
-                        .orElse(false))
-                .filter(role -> Optional.ofNullable(industryType)
-                        .map(type -> type.equals(role.getIndustryType()))
-                        .orElse(true))
-                .map(SysRole::getRoleCode)
+                .map(SysUserRole::getRoleId)
                 .filter(Objects::nonNull)
                 .distinct()
                 .toList();
-    }
 
-    /**
-     * 过滤并映射权限编码
-     *
-     * @param perms        权限列表
-     * @param industryType 行业类型
-     * @return 权限编码列表
-     */
-    private List<String> filterAndMapPermissionCodes(List<SysPermission> perms, String industryType) {
-        return perms.stream()
-                .filter(perm -> !Optional.ofNullable(perm.getIsDeleted())
-                        .map(DeleteStatus.DELETED.getCode()::equals)
-                        .orElse(false))
-                .filter(perm -> Optional.ofNullable(industryType)
-                        .map(type -> type.equals(perm.getIndustryType()))
-                        .orElse(true))
-                .map(SysPermission::getPermissionCode)
-                .filter(Objects::nonNull)
-                .distinct()
-                .toList();
+        // 3. 缓存结果（空结果同样缓存，防止穿透）
+        RedisUtil.set(redis, cacheKey, toCsv(roleIds.stream().map(String::valueOf).toList()),
+                Duration.ofSeconds(CacheConstant.PERMISSION_CACHE_EXPIRE));
+        return roleIds;
     }
 
     /**
      * 过滤菜单类型的权限
      *
-     * @param perms        权限列表
-     * @param industryType 行业类型
+     * @param perms 权限列表（已按行业过滤）
      * @return 菜单权限列表
      */
-    private List<SysPermission> filterMenuPermissions(List<SysPermission> perms, String industryType) {
+    private List<SysPermission> filterMenuPermissions(List<SysPermission> perms) {
         return perms.stream()
-                .filter(perm -> !Optional.ofNullable(perm.getIsDeleted())
-                        .map(DeleteStatus.DELETED.getCode()::equals)
-                        .orElse(false))
-                .filter(perm -> Optional.ofNullable(industryType)
-                        .map(type -> type.equals(perm.getIndustryType()))
-                        .orElse(true))
                 .filter(perm -> Optional.ofNullable(perm.getPermissionType())
                         .map(type -> PermissionStatus.MENU.getCode().equals(type))
                         .orElse(false))
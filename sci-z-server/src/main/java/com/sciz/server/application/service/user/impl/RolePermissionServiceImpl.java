@@ -7,11 +7,9 @@ import com.sciz.server.domain.pojo.dto.response.system.PermissionTreeResp;
 import com.sciz.server.domain.pojo.entity.user.SysPermission;
 import com.sciz.server.domain.pojo.entity.user.SysRole;
 import com.sciz.server.domain.pojo.entity.user.SysRolePermission;
-import com.sciz.server.domain.pojo.entity.user.SysUserRole;
 import com.sciz.server.domain.pojo.repository.user.SysPermissionRepo;
 import com.sciz.server.domain.pojo.repository.user.SysRolePermissionRepo;
 import com.sciz.server.domain.pojo.repository.user.SysRoleRepo;
-import com.sciz.server.domain.pojo.repository.user.SysUserRoleRepo;
 import com.sciz.server.infrastructure.config.cache.IndustryConfigCache;
 import com.sciz.server.infrastructure.shared.enums.DeleteStatus;
 import com.sciz.server.infrastructure.shared.enums.EnableStatus;
@@ -46,7 +44,6 @@ public class RolePermissionServiceImpl implements RolePermissionService {
     private final SysRolePermissionRepo rolePermissionRepo;
     private final SysPermissionRepo permissionRepo;
     private final SysRoleRepo roleRepo;
-    private final SysUserRoleRepo userRoleRepo;
     private final PermissionService permissionService;
     private final IndustryConfigCache industryConfigCache;
 
@@ -149,28 +146,29 @@ public class RolePermissionServiceImpl implements RolePermissionService {
             log.info(String.format("移除角色权限: roleId=%s, permissionIds=%s", roleId, removePermissionIds));
         }
 
-        // 5. 添加新的关系
+        // 5. 添加新的关系（单次批量插入）
         Set<Long> addPermissionIds = new HashSet<>(newPermissionIds);
         addPermissionIds.removeAll(existingPermissionIds);
         if (!addPermissionIds.isEmpty()) {
             var now = LocalDateTime.now();
-            for (Long permissionId : addPermissionIds) {
-                var entity = new SysRolePermission();
-                entity.setRoleId(roleId);
-                entity.setPermissionId(permissionId);
-                entity.setIsDeleted(DeleteStatus.NOT_DELETED.getCode());
-                entity.setCreatedTime(now);
-                entity.setUpdatedTime(now);
-                rolePermissionRepo.save(entity);
-            }
+            var entities = addPermissionIds.stream()
+                    .map(permissionId -> {
+                        var entity = new SysRolePermission();
+                        entity.setRoleId(roleId);
+                        entity.setPermissionId(permissionId);
+                        entity.setIsDeleted(DeleteStatus.NOT_DELETED.getCode());
+                        entity.setCreatedTime(now);
+                        entity.setUpdatedTime(now);
+                        return entity;
+                    })
+                    .toList();
+            rolePermissionRepo.saveBatch(entities);
             log.info(String.format("新增角色权限: roleId=%s, permissionIds=%s", roleId, addPermissionIds));
         }
 
-        // 6. 刷新关联用户的权限缓存
-        var userRoles = userRoleRepo.findNotDeletedByRoleId(roleId);
-        for (SysUserRole userRole : userRoles) {
-            permissionService.refreshUserAuthCache(userRole.getUserId(), industryType);
-        }
+        // 6. 重建角色权限索引（事务提交后递增版本号）
+        // 用户缓存只保存角色ID、菜单缓存键携带索引版本，持有该角色的用户无需逐个刷新
+        permissionService.refreshRolePermissionIndex();
     }
 
     @Override
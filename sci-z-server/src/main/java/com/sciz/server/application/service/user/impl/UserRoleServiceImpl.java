@@ -127,6 +127,9 @@ public class UserRoleServiceImpl implements UserRoleService {
                                                 return new BusinessException(ResultCode.DATABASE_OPERATION_FAILED);
                                         });
 
+                        // 重建角色权限索引（事务提交后生效）
+                        permissionService.refreshRolePermissionIndex();
+
                         // 5. 记录操作日志（成功）
                         var endTime = DateUtil.now();
                         var executionTime = (int) DateUtil.millisBetween(startTime, endTime);
@@ -195,6 +198,9 @@ public class UserRoleServiceImpl implements UserRoleService {
                                 throw new BusinessException(ResultCode.DATABASE_OPERATION_FAILED);
                         }
 
+                        // 重建角色权限索引（事务提交后生效）
+                        permissionService.refreshRolePermissionIndex();
+
                         // 4. 记录操作日志（成功）
                         var endTime = DateUtil.now();
                         var executionTime = (int) DateUtil.millisBetween(startTime, endTime);
@@ -264,6 +270,9 @@ public class UserRoleServiceImpl implements UserRoleService {
                                 throw new BusinessException(ResultCode.DATABASE_OPERATION_FAILED);
                         }
 
+                        // 重建角色权限索引（事务提交后生效）
+                        permissionService.refreshRolePermissionIndex();
+
                         // 5. 记录操作日志（成功）
                         var endTime = DateUtil.now();
                         var executionTime = (int) DateUtil.millisBetween(startTime, endTime);
@@ -13,11 +13,14 @@ import com.sciz.server.domain.pojo.dto.response.user.UserUpdateResp;
 import com.sciz.server.domain.pojo.entity.user.SysDepartment;
 import com.sciz.server.domain.pojo.entity.user.SysUser;
 import com.sciz.server.domain.pojo.entity.user.SysRole;
+import com.sciz.server.domain.pojo.entity.user.SysUserRole;
 import com.sciz.server.domain.pojo.repository.user.SysDepartmentRepo;
 import com.sciz.server.domain.pojo.repository.user.SysRoleRepo;
 import com.sciz.server.domain.pojo.repository.user.SysUserRepo;
-import com.sciz.server.application.service.user.UserRoleService;
+import com.sciz.server.domain.pojo.repository.user.SysUserRoleRepo;
 import com.sciz.server.infrastructure.config.cache.IndustryConfigCache;
+import com.sciz.server.infrastructure.config.security.PasswordHasher;
+import com.sciz.server.infrastructure.shared.cache.BatchLoader;
 import com.sciz.server.infrastructure.shared.enums.DeleteStatus;
 import com.sciz.server.infrastructure.shared.enums.EnableStatus;
 import com.sciz.server.infrastructure.shared.enums.UserStatus;
@@ -30,19 +33,18 @@ import com.sciz.server.infrastructure.shared.utils.OperationLogRecorderUtil;
 import com.sciz.server.interfaces.converter.UserConverter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.mindrot.jbcrypt.BCrypt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * 用户应用服务实现类
@@ -59,10 +61,11 @@ public class UserServiceImpl implements UserService {
     private final SysUserRepo sysUserRepo;
     private final SysDepartmentRepo sysDepartmentRepo;
     private final SysRoleRepo sysRoleRepo;
-    private final UserRoleService userRoleService;
+    private final SysUserRoleRepo sysUserRoleRepo;
     private final IndustryConfigCache industryConfigCache;
     private final UserConverter userConverter;
     private final OperationLogRecorderUtil operationLogRecorderUtil;
+    private final PasswordHasher passwordHasher;
 
     private static final ZoneId DEFAULT_ZONE = ZoneId.of("Asia/Shanghai");
 
@@ -283,7 +286,7 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * 分页查询用户列表：构建分页对象 → 调用仓储查询 → 填充部门信息 → 转换为响应
+     * 分页查询用户列表：构建分页对象 → 调用仓储查询 → 批量填充部门与角色信息 → 转换为响应
      *
      * @param req UserListQueryReq 查询请求
      * @return PageResult<UserListResp> 分页结果
@@ -308,78 +311,37 @@ public class UserServiceImpl implements UserService {
         var departmentLabel = Optional.ofNullable(industryView.getDepartmentLabel()).orElse("部门");
         var industryType = industryView.getType();
 
-        // 5. 批量查询部门信息（用于填充部门名称）
-        var departmentIds = userPage.getRecords().stream()
-                .map(SysUser::getDepartmentId)
-                .filter(java.util.Objects::nonNull)
-                .distinct()
-                .toList();
-
-        Map<Long, String> departmentNameMap = new HashMap<>();
-        if (!departmentIds.isEmpty()) {
-            departmentIds.forEach(departmentId -> {
-                Optional.ofNullable(sysDepartmentRepo.findById(departmentId))
-                        .ifPresent(department -> departmentNameMap.put(departmentId, department.getDepartmentName()));
-            });
-        }
-
-        // 6. 批量查询用户角色信息（用于填充角色名称列表，遵循RBAC标准规则）
+        // 5. 登记本页需要的关联键，部门、用户角色、角色各一次 IN 查询，查询次数与页大小无关
+        var users = userPage.getRecords();
+        var departmentLoader = BatchLoader.byKey(sysDepartmentRepo::findByIds, SysDepartment::getId)
+                .prime(users, SysUser::getDepartmentId);
+        var userRoleLoader = BatchLoader.groupingBy(sysUserRoleRepo::findNotDeletedByUserIds, SysUserRole::getUserId)
+                .prime(users, SysUser::getId);
+        var roleLoader = BatchLoader.byKey((Collection<Long> ids) -> sysRoleRepo.findByIds(List.copyOf(ids)),
+                SysRole::getId);
+        users.forEach(user -> roleLoader.prime(userRoleLoader.getOrDefault(user.getId(), List.of()),
+                SysUserRole::getRoleId));
+
+        // 6. 构建用户角色名称列表（只保留当前行业下未删除的角色，遵循RBAC标准规则）
         Map<Long, List<String>> roleNamesMap = new HashMap<>();
-        var userIds = userPage.getRecords().stream()
-                .map(SysUser::getId)
-                .toList();
-
-        if (!userIds.isEmpty()) {
-            // 批量查询所有用户的角色关联（优化：一次查询所有用户角色关系）
-            Map<Long, List<Long>> userRoleIdsMap = new HashMap<>();
-            userIds.forEach(userId -> {
-                // 查询用户在当前行业下的所有角色ID（已按RBAC规则过滤）
-                var roleIds = userRoleService.listUserRoleIds(userId, industryType);
-                log.debug(String.format("查询用户角色ID: userId=%s, roleIds=%s", userId, roleIds));
-                if (!roleIds.isEmpty()) {
-                    userRoleIdsMap.put(userId, roleIds);
-                }
-            });
-
-            // 批量查询所有角色实体（优化：一次查询所有角色）
-            if (!userRoleIdsMap.isEmpty()) {
-                var allRoleIds = userRoleIdsMap.values().stream()
-                        .flatMap(List::stream)
-                        .distinct()
-                        .toList();
-
-                if (!allRoleIds.isEmpty()) {
-                    var allRoles = sysRoleRepo.findByIds(allRoleIds);
-                    // 构建角色ID到角色名称的映射（过滤行业类型）
-                    Map<Long, String> roleIdToNameMap = allRoles.stream()
-                            .filter(role -> Optional.ofNullable(industryType)
-                                    .map(type -> type.equals(role.getIndustryType()))
-                                    .orElse(true))
-                            .filter(role -> Optional.ofNullable(role.getIsDeleted())
-                                    .map(DeleteStatus.DELETED.getCode()::equals)
-                                    .map(isDeleted -> !isDeleted)
-                                    .orElse(true))
-                            .collect(Collectors.toMap(
-                                    SysRole::getId,
-                                    SysRole::getRoleName,
-                                    (existing, replacement) -> existing)); // 如果有重复的ID，保留第一个
-
-                    // 为每个用户构建角色名称列表
-                    userRoleIdsMap.forEach((userId, roleIds) -> {
-                        var roleNames = roleIds.stream()
-                                .map(roleIdToNameMap::get)
-                                .filter(java.util.Objects::nonNull)
-                                .distinct()
-                                .toList();
-                        log.debug(String.format("构建用户角色名称列表: userId=%s, roleIds=%s, roleNames=%s", userId, roleIds,
-                                roleNames));
-                        if (!roleNames.isEmpty()) {
-                            roleNamesMap.put(userId, roleNames);
-                        }
-                    });
-                }
+        users.forEach(user -> {
+            var roleNames = userRoleLoader.getOrDefault(user.getId(), List.of()).stream()
+                    .map(userRole -> roleLoader.get(userRole.getRoleId()))
+                    .filter(java.util.Objects::nonNull)
+                    .filter(role -> Optional.ofNullable(industryType)
+                            .map(type -> type.equals(role.getIndustryType()))
+                            .orElse(true))
+                    .filter(role -> Optional.ofNullable(role.getIsDeleted())
+                            .map(DeleteStatus.DELETED.getCode()::equals)
+                            .map(isDeleted -> !isDeleted)
+                            .orElse(true))
+                    .map(SysRole::getRoleName)
+                    .distinct()
+                    .toList();
+            if (!roleNames.isEmpty()) {
+                roleNamesMap.put(user.getId(), roleNames);
             }
-        }
+        });
 
         // 7. 转换为响应
         var records = userPage.getRecords().stream()
@@ -391,8 +353,8 @@ public class UserServiceImpl implements UserService {
                         user.getEmail(),
                         user.getPhone(),
                         user.getDepartmentId(),
-                        Optional.ofNullable(user.getDepartmentId())
-                                .map(departmentNameMap::get)
+                        Optional.ofNullable(departmentLoader.get(user.getDepartmentId()))
+                                .map(SysDepartment::getDepartmentName)
                                 .orElse(null),
                         departmentLabel,
                         Optional.ofNullable(roleNamesMap.get(user.getId()))
@@ -631,6 +593,6 @@ public class UserServiceImpl implements UserService {
      * @return String bcrypt 哈希
      */
     private String hashPassword(String rawPassword) {
-        return BCrypt.hashpw(rawPassword, BCrypt.gensalt());
+        return passwordHasher.hash(rawPassword);
     }
 }
@@ -0,0 +1,82 @@
+package com.sciz.server.application.task;
+
+import com.sciz.server.domain.pojo.repository.file.SysAttachmentRepo;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 附件下载次数写回任务
+ *
+ * <p>
+ * 下载请求只在内存中累加计数，定时按附件合并为一次增量 UPDATE 写回数据库，
+ * 避免热门文件的行锁竞争；宕机时最多丢失一个刷新周期内的计数，正常停机时会先行写回。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className AttachmentDownloadCountTask
+ * @date 2025-11-20 15:40
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AttachmentDownloadCountTask {
+
+    private final SysAttachmentRepo sysAttachmentRepo;
+
+    /**
+     * 待写回的下载次数（attachmentId → 增量）
+     */
+    private final ConcurrentMap<Long, Long> pendingCounts = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次下载（仅内存累加）
+     *
+     * @param attachmentId Long 附件ID
+     */
+    public void record(Long attachmentId) {
+        if (attachmentId == null) {
+            return;
+        }
+        pendingCounts.merge(attachmentId, 1L, Long::sum);
+    }
+
+    /**
+     * 定时写回下载次数
+     */
+    @Scheduled(fixedDelayString = "${file.download-count.flush-interval-ms:10000}")
+    public void flush() {
+        if (pendingCounts.isEmpty()) {
+            return;
+        }
+        var flushedCount = 0;
+        for (var attachmentId : pendingCounts.keySet()) {
+            // remove 与 merge 对同一键互斥，取走的增量不会与新增计数交错丢失
+            var delta = pendingCounts.remove(attachmentId);
+            if (delta == null || delta <= 0) {
+                continue;
+            }
+            try {
+                sysAttachmentRepo.increaseDownloadCount(attachmentId, delta);
+                flushedCount++;
+            } catch (Exception exception) {
+                pendingCounts.merge(attachmentId, delta, Long::sum);
+                log.warn(String.format("写回下载次数失败，等待下次重试: attachmentId=%s, delta=%s",
+                        attachmentId, delta), exception);
+            }
+        }
+        log.debug(String.format("下载次数写回完成: attachmentCount=%s", flushedCount));
+    }
+
+    /**
+     * 停机前写回剩余计数
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -1,17 +1,15 @@
 package com.sciz.server.application.task;
 
 import com.sciz.server.application.service.file.FileService;
-import com.sciz.server.domain.pojo.dto.request.file.FileUploadReq;
+import com.sciz.server.domain.pojo.dto.request.file.FileStreamUploadReq;
 import com.sciz.server.domain.pojo.entity.declaration.Declaration;
-import com.sciz.server.domain.pojo.entity.file.SysAttachmentRelation;
 import com.sciz.server.domain.pojo.repository.declaration.DeclarationRepo;
-import com.sciz.server.domain.pojo.repository.file.SysAttachmentRelationRepo;
+import com.sciz.server.domain.pojo.repository.user.SysUserRepo;
 import com.sciz.server.infrastructure.external.dify.dto.request.DeclarationWorkflowReq;
 import com.sciz.server.infrastructure.external.dify.dto.response.DeclarationWorkflowResp;
 import com.sciz.server.infrastructure.external.dify.service.DifyWorkflowService;
 import com.sciz.server.infrastructure.shared.enums.AttachmentRelationStatus;
 import com.sciz.server.infrastructure.shared.enums.DeclarationStatus;
-import com.sciz.server.infrastructure.shared.enums.DeleteStatus;
 import com.sciz.server.infrastructure.shared.enums.WorkflowStatus;
 import com.sciz.server.infrastructure.shared.event.EventPublisher;
 import com.sciz.server.infrastructure.shared.event.declaration.DeclarationUpdatedEvent;
@@ -24,7 +22,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
@@ -49,11 +46,19 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class DeclarationWorkflowTask {
 
+    /**
+     * 共享的 HTTP 客户端（内部维护连接池，避免每次下载重新建连）
+     */
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(30))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
     private final DifyWorkflowService difyWorkflowService;
     private final DeclarationRepo declarationRepo;
     private final FileService fileService;
-    private final SysAttachmentRelationRepo sysAttachmentRelationRepo;
     private final EventPublisher eventPublisher;
+    private final SysUserRepo sysUserRepo;
 
     /**
      * 处理申报工作流（异步）
@@ -107,23 +112,17 @@ public class DeclarationWorkflowTask {
             log.info(String.format("工作流执行完成，获取文件URL: declarationId=%s, fileUrl=%s",
                     declarationId, fileUrl));
 
-            // 9. 从 URL 下载文件
-            var fileData = downloadFileFromUrl(fileUrl);
-
-            // 10. 上传文件到 MinIO
-            var attachmentId = uploadFileToMinio(declarationId, fileData, fileUrl, userId);
-
-            // 11. 创建附件关联
-            createAttachmentRelation(declarationId, attachmentId, userId);
+            // 9. 从 URL 流式下载并直接写入 MinIO（同时登记附件与申报关联）
+            var attachmentId = transferFileToMinio(declarationId, fileUrl, userId);
 
-            // 12. 记录申报书生成步骤
+            // 10. 记录申报书生成步骤
             addWorkflowStep(declarationId, "申报书生成", "success");
 
-            // 13. 更新工作流状态为"已完成"，申报状态为"申报成功"
+            // 11. 更新工作流状态为"已完成"，申报状态为"申报成功"
             updateWorkflowStatus(declarationId, WorkflowStatus.COMPLETED, fileUrl);
             updateDeclarationStatus(declarationId, DeclarationStatus.SUCCESS);
 
-            // 14. 发布申报更新事件
+            // 12. 发布申报更新事件
             var event = new DeclarationUpdatedEvent(
                     String.valueOf(declarationId),
                     null,
@@ -267,38 +266,65 @@ public class DeclarationWorkflowTask {
     }
 
     /**
-     * 从 URL 下载文件
+     * 从 URL 流式下载文件并写入 MinIO
+     *
+     * <p>
+     * 响应体以流的形式直接交给文件服务，边读边写入 MinIO 并计算 MD5，
+     * 单个文件的内存占用与文件大小无关（仅为一个分片缓冲）。
+     * </p>
      */
-    private FileData downloadFileFromUrl(String fileUrl) {
+    private Long transferFileToMinio(Long declarationId, String fileUrl, Long userId) {
+        // 查询申报信息，用于设置 relation_name
+        var declaration = declarationRepo.findById(declarationId);
+        if (declaration == null) {
+            throw new BusinessException(ResultCode.DECLARATION_NOT_FOUND,
+                    "申报不存在: " + declarationId);
+        }
+        var uploader = sysUserRepo.findById(userId);
+        var uploaderName = uploader != null && uploader.getRealName() != null
+                ? uploader.getRealName()
+                : String.valueOf(userId);
+
         try {
             log.info(String.format("开始下载文件: fileUrl=%s", fileUrl));
-
-            var client = HttpClient.newBuilder()
-                    .connectTimeout(Duration.ofSeconds(30))
-                    .build();
-
             var request = HttpRequest.newBuilder()
                     .uri(URI.create(fileUrl))
                     .timeout(Duration.ofMinutes(10))
                     .GET()
                     .build();
-
-            var response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
-
-            if (response.statusCode() != 200) {
-                throw new BusinessException(ResultCode.SERVER_ERROR,
-                        "文件下载失败: HTTP " + response.statusCode());
+            var response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 200) {
+                    throw new BusinessException(ResultCode.SERVER_ERROR,
+                            "文件下载失败: HTTP " + response.statusCode());
+                }
+                var fileName = extractFileNameFromUrl(fileUrl);
+                var contentType = response.headers().firstValue("Content-Type")
+                        .orElse("application/octet-stream");
+                var contentLength = response.headers().firstValueAsLong("Content-Length").orElse(-1L);
+
+                var uploadReq = new FileStreamUploadReq(fileName,
+                        contentType,
+                        "document",
+                        AttachmentRelationStatus.DECLARATION.getCode(),
+                        declarationId,
+                        buildDeclarationRelationName(declaration),
+                        0,
+                        userId,
+                        uploaderName);
+                var fileInfo = fileService.uploadStream(body, contentLength, uploadReq);
+
+                log.info(String.format("文件转存成功: declarationId=%s, attachmentId=%s, fileName=%s, size=%s",
+                        declarationId, fileInfo.id(), fileName, fileInfo.fileSize()));
+                return fileInfo.id();
             }
-
-            var fileName = extractFileNameFromUrl(fileUrl);
-            var contentType = response.headers().firstValue("Content-Type")
-                    .orElse("application/octet-stream");
-
-            log.info(String.format("文件下载成功: fileName=%s, size=%d, contentType=%s",
-                    fileName, response.body().length, contentType));
-
-            return new FileData(fileName, response.body(), contentType);
-
+        } catch (BusinessException e) {
+            log.error(String.format("文件转存失败: declarationId=%s, fileUrl=%s, err=%s",
+                    declarationId, fileUrl, e.getMessage()), e);
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ResultCode.SERVER_ERROR, "文件下载被中断");
         } catch (Exception e) {
             log.error(String.format("文件下载失败: fileUrl=%s, err=%s", fileUrl, e.getMessage()), e);
             throw new BusinessException(ResultCode.SERVER_ERROR, "文件下载失败: " + e.getMessage());
@@ -323,75 +349,6 @@ public class DeclarationWorkflowTask {
         }
     }
 
-    /**
-     * 上传文件到 MinIO
-     */
-    private Long uploadFileToMinio(Long declarationId, FileData fileData,
-            String originalUrl, Long userId) {
-        try {
-            log.info(String.format("开始上传文件到 MinIO: declarationId=%s, fileName=%s",
-                    declarationId, fileData.fileName));
-
-            // 查询申报信息，用于设置 relation_name
-            var declaration = declarationRepo.findById(declarationId);
-            if (declaration == null) {
-                throw new BusinessException(ResultCode.DECLARATION_NOT_FOUND,
-                        "申报不存在: " + declarationId);
-            }
-
-            // 构建上传请求
-            var uploadReq = new FileUploadReq();
-            uploadReq.setFile(new ByteArrayMultipartFile(fileData.fileName, fileData.content, fileData.contentType));
-            uploadReq.setRelationType(AttachmentRelationStatus.DECLARATION.getCode());
-            uploadReq.setRelationId(declarationId);
-            uploadReq.setRelationName(buildDeclarationRelationName(declaration));
-            uploadReq.setAttachmentType("document");
-            uploadReq.setIsPublic(0);
-
-            // 上传文件
-            var fileInfo = fileService.upload(uploadReq);
-
-            log.info(String.format("文件上传成功: declarationId=%s, attachmentId=%s",
-                    declarationId, fileInfo.id()));
-
-            return fileInfo.id();
-
-        } catch (Exception e) {
-            log.error(String.format("文件上传失败: declarationId=%s, err=%s",
-                    declarationId, e.getMessage()), e);
-            throw new BusinessException(ResultCode.FILE_UPLOAD_FAILED, "文件上传失败: " + e.getMessage());
-        }
-    }
-
-    /**
-     * 创建附件关联
-     */
-    private void createAttachmentRelation(Long declarationId, Long attachmentId, Long userId) {
-        // 查询申报信息，用于设置 relation_name
-        var declaration = declarationRepo.findById(declarationId);
-        if (declaration == null) {
-            throw new BusinessException(ResultCode.DECLARATION_NOT_FOUND,
-                    "申报不存在: " + declarationId);
-        }
-
-        // 构建 relation_name：申报编号/研究课题（类似 user 的 "admin/系统管理员" 格式）
-        var relationName = buildDeclarationRelationName(declaration);
-
-        var relation = new SysAttachmentRelation();
-        relation.setAttachmentId(attachmentId);
-        relation.setRelationType(AttachmentRelationStatus.DECLARATION.getCode());
-        relation.setRelationId(declarationId);
-        relation.setRelationName(relationName);
-        relation.setAttachmentType("document");
-        relation.setSortOrder(0);
-        relation.setIsDeleted(DeleteStatus.NOT_DELETED.getCode());
-        relation.setCreatedBy(userId);
-        relation.setUpdatedBy(userId);
-        relation.setCreatedTime(LocalDateTime.now());
-        relation.setUpdatedTime(LocalDateTime.now());
-        sysAttachmentRelationRepo.save(relation);
-    }
-
     /**
      * 构建申报关联名称
      * <p>
@@ -430,65 +387,4 @@ public class DeclarationWorkflowTask {
             log.error(String.format("更新申报状态异常: declarationId=%s, err=%s", declarationId, e.getMessage()), e);
         }
     }
-
-    /**
-     * 文件数据
-     */
-    private record FileData(String fileName, byte[] content, String contentType) {
-    }
-
-    /**
-     * 字节数组 MultipartFile 实现
-     */
-    private static class ByteArrayMultipartFile implements org.springframework.web.multipart.MultipartFile {
-        private final String fileName;
-        private final byte[] content;
-        private final String contentType;
-
-        public ByteArrayMultipartFile(String fileName, byte[] content, String contentType) {
-            this.fileName = fileName;
-            this.content = content;
-            this.contentType = contentType;
-        }
-
-        @Override
-        public String getName() {
-            return "file";
-        }
-
-        @Override
-        public String getOriginalFilename() {
-            return fileName;
-        }
-
-        @Override
-        public String getContentType() {
-            return contentType;
-        }
-
-        @Override
-        public boolean isEmpty() {
-            return content == null || content.length == 0;
-        }
-
-        @Override
-        public long getSize() {
-            return content != null ? content.length : 0;
-        }
-
-        @Override
-        public byte[] getBytes() {
-            return content;
-        }
-
-        @Override
-        public InputStream getInputStream() {
-            return new ByteArrayInputStream(content);
-        }
-
-        @Override
-        public void transferTo(java.io.File dest) {
-            throw new UnsupportedOperationException("transferTo not supported");
-        }
-    }
 }
@@ -0,0 +1,46 @@
+package com.sciz.server.application.task;
+
+import com.sciz.server.infrastructure.config.cache.IndustryConfigCache;
+import com.sciz.server.infrastructure.config.cache.RolePermissionIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 本地缓存版本校验任务
+ *
+ * <p>
+ * 进程内缓存依赖 Redis 发布订阅接收变更通知，订阅断开期间的消息会丢失；
+ * 每个节点定时比对 Redis 中的版本号，落后时重建本地快照（角色权限索引、行业配置）。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className LocalCacheVersionSyncTask
+ * @date 2025-11-23 14:00
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocalCacheVersionSyncTask {
+
+    private final RolePermissionIndex rolePermissionIndex;
+    private final IndustryConfigCache industryConfigCache;
+
+    /**
+     * 定时比对版本号
+     */
+    @Scheduled(fixedDelayString = "${auth.local-cache.version-check-interval-ms:30000}")
+    public void syncVersion() {
+        try {
+            rolePermissionIndex.syncVersion();
+        } catch (Exception exception) {
+            log.warn(String.format("角色权限索引版本校验失败: err=%s", exception.getMessage()));
+        }
+        try {
+            industryConfigCache.syncVersion();
+        } catch (Exception exception) {
+            log.warn(String.format("行业配置版本校验失败: err=%s", exception.getMessage()));
+        }
+    }
+}
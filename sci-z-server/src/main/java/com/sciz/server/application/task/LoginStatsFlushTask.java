@@ -0,0 +1,105 @@
+package com.sciz.server.application.task;
+
+import com.sciz.server.domain.pojo.repository.user.SysUserRepo;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户登录统计写回任务
+ *
+ * <p>
+ * 开启 auth.login-stats.buffered 后，登录成功只在内存中按用户合并次数与最近一次登录时间/IP，
+ * 定时为每个用户执行一次增量 UPDATE，避免登录高峰时 sys_user 热点行的锁竞争；
+ * 宕机时最多丢失一个刷新周期内的统计，正常停机时会先行写回。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className LoginStatsFlushTask
+ * @date 2025-11-24 10:00
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoginStatsFlushTask {
+
+    private final SysUserRepo sysUserRepo;
+
+    /**
+     * 待写回的登录统计（userId → 合并后的增量）
+     */
+    private final ConcurrentMap<Long, PendingStats> pendingStats = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次成功登录（仅内存合并）
+     *
+     * @param userId    Long 用户ID
+     * @param loginTime LocalDateTime 登录时间
+     * @param loginIp   String 登录IP
+     */
+    public void record(Long userId, LocalDateTime loginTime, String loginIp) {
+        if (userId == null || loginTime == null) {
+            return;
+        }
+        pendingStats.merge(userId, new PendingStats(1L, loginTime, loginIp), PendingStats::merge);
+    }
+
+    /**
+     * 定时写回登录统计
+     */
+    @Scheduled(fixedDelayString = "${auth.login-stats.flush-interval-ms:5000}")
+    public void flush() {
+        if (pendingStats.isEmpty()) {
+            return;
+        }
+        var flushedCount = 0;
+        for (var userId : pendingStats.keySet()) {
+            // remove 与 merge 对同一键互斥，取走的增量不会与新增统计交错丢失
+            var stats = pendingStats.remove(userId);
+            if (stats == null) {
+                continue;
+            }
+            try {
+                if (sysUserRepo.increaseLoginStats(userId, stats.count(), stats.lastLoginTime(),
+                        stats.lastLoginIp())) {
+                    flushedCount++;
+                } else {
+                    log.warn(String.format("用户不存在，丢弃登录统计: userId=%s, delta=%s", userId, stats.count()));
+                }
+            } catch (Exception exception) {
+                pendingStats.merge(userId, stats, PendingStats::merge);
+                log.warn(String.format("写回登录统计失败，等待下次重试: userId=%s, delta=%s", userId, stats.count()),
+                        exception);
+            }
+        }
+        log.debug(String.format("登录统计写回完成: userCount=%s", flushedCount));
+    }
+
+    /**
+     * 停机前写回剩余统计
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * 单个用户合并后的登录统计
+     *
+     * @param count         long 登录次数增量
+     * @param lastLoginTime LocalDateTime 最近一次登录时间
+     * @param lastLoginIp   String 最近一次登录IP
+     */
+    private record PendingStats(long count, LocalDateTime lastLoginTime, String lastLoginIp) {
+
+        private PendingStats merge(PendingStats other) {
+            var latest = other.lastLoginTime.isAfter(lastLoginTime) ? other : this;
+            return new PendingStats(count + other.count, latest.lastLoginTime, latest.lastLoginIp);
+        }
+    }
+}
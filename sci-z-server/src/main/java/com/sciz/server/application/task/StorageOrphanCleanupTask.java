@@ -0,0 +1,60 @@
+package com.sciz.server.application.task;
+
+import com.sciz.server.application.service.file.StorageOrphanCleanupService;
+import com.sciz.server.infrastructure.shared.constant.CacheConstant;
+import com.sciz.server.infrastructure.shared.utils.RedisUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 孤儿存储清理任务
+ *
+ * <p>
+ * 定时回收 MinIO 孤儿对象与本地中转文件；支持 dry-run 仅统计不删除，
+ * 多实例部署时通过 Redis 锁保证同一时刻只有一个节点执行。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className StorageOrphanCleanupTask
+ * @date 2025-11-21 14:00
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StorageOrphanCleanupTask {
+
+    private final StorageOrphanCleanupService storageOrphanCleanupService;
+    private final StringRedisTemplate stringRedisTemplate;
+    @Value("${file.orphan-cleanup.enabled:true}")
+    private boolean enabled;
+    @Value("${file.orphan-cleanup.dry-run:false}")
+    private boolean dryRun;
+
+    /**
+     * 定时清理
+     */
+    @Scheduled(cron = "${file.orphan-cleanup.cron:0 0 4 * * ?}")
+    public void cleanup() {
+        if (!enabled) {
+            return;
+        }
+        var lockKey = CacheConstant.STORAGE_ORPHAN_CLEANUP_LOCK_KEY;
+        if (!Boolean.TRUE.equals(RedisUtil.setIfAbsent(stringRedisTemplate, lockKey, "1",
+                CacheConstant.STORAGE_ORPHAN_CLEANUP_LOCK_EXPIRE))) {
+            log.info("孤儿存储清理已由其他节点执行，跳过");
+            return;
+        }
+        try {
+            var result = storageOrphanCleanupService.cleanup(dryRun);
+            log.info(String.format("孤儿存储清理完成: %s", result));
+        } catch (Exception exception) {
+            log.error("孤儿存储清理失败", exception);
+        } finally {
+            RedisUtil.delete(stringRedisTemplate, lockKey);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.sciz.server.application.task;
+
+import com.sciz.server.application.service.file.StorageStatsService;
+import com.sciz.server.infrastructure.shared.constant.CacheConstant;
+import com.sciz.server.infrastructure.shared.utils.RedisUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 存储用量统计对账任务
+ *
+ * <p>
+ * 定时按 sys_attachment 重算统计表，校正事件丢失或处理失败造成的偏差；
+ * 多实例部署时通过 Redis 锁保证同一时刻只有一个节点执行。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className StorageStatsReconcileTask
+ * @date 2025-11-21 09:30
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StorageStatsReconcileTask {
+
+    private final StorageStatsService storageStatsService;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 定时对账
+     */
+    @Scheduled(cron = "${file.storage-stats.reconcile-cron:0 30 3 * * ?}")
+    public void reconcile() {
+        var lockKey = CacheConstant.STORAGE_STATS_RECONCILE_LOCK_KEY;
+        if (!Boolean.TRUE.equals(RedisUtil.setIfAbsent(stringRedisTemplate, lockKey, "1",
+                CacheConstant.STORAGE_STATS_RECONCILE_LOCK_EXPIRE))) {
+            log.info("存储统计对账已由其他节点执行，跳过");
+            return;
+        }
+        try {
+            var startTime = System.currentTimeMillis();
+            var reconciledRows = storageStatsService.reconcile();
+            log.info(String.format("存储统计对账完成: reconciledRows=%s, costMs=%s",
+                    reconciledRows, System.currentTimeMillis() - startTime));
+        } catch (Exception exception) {
+            log.error("存储统计对账失败", exception);
+        } finally {
+            RedisUtil.delete(stringRedisTemplate, lockKey);
+        }
+    }
+}
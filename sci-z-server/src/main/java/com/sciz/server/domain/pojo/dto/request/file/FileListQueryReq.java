@@ -17,6 +17,7 @@ import org.springframework.util.StringUtils;
  * @param isPublic       Integer 是否公开
  * @param uploaderId     Long 上传人ID
  * @param keyword        String 模糊搜索关键字
+ * @param cursor         String 游标（业务范围列表翻页时传入上一页返回的 nextCursor，携带时响应 total 为 -1）
  *
  * @author JiaWen.Wu
  * @className FileListQueryReq
@@ -32,7 +33,8 @@ public record FileListQueryReq(
         String attachmentType,
         @PositiveOrZero(message = "是否公开标识不能为负数") Integer isPublic,
         Long uploaderId,
-        String keyword) {
+        String keyword,
+        String cursor) {
 
     public FileListQueryReq {
         pageNo = pageNo == null || pageNo < 1 ? 1 : pageNo;
@@ -42,6 +44,7 @@ public record FileListQueryReq(
         relationType = StringUtils.hasText(relationType) ? relationType : null;
         attachmentType = StringUtils.hasText(attachmentType) ? attachmentType : null;
         keyword = StringUtils.hasText(keyword) ? keyword : null;
+        cursor = StringUtils.hasText(cursor) ? cursor : null;
         isPublic = isPublic == null ? 0 : isPublic;
     }
 
@@ -52,6 +55,13 @@ public record FileListQueryReq(
         return BaseQueryReq.of(pageNo, pageSize, sortBy, sortOrder);
     }
 
+    /**
+     * 是否按业务对象范围查询（走关联表游标分页）
+     */
+    public boolean isRelationScoped() {
+        return relationType != null && relationId != null;
+    }
+
     /**
      * 是否包含关键字
      */
@@ -0,0 +1,45 @@
+package com.sciz.server.domain.pojo.dto.request.file;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.util.StringUtils;
+
+/**
+ * 直传 MinIO 预签名申请请求
+ *
+ * @param originalName   String 原始文件名
+ * @param fileSize       Long 文件大小（字节，上传时严格校验）
+ * @param contentType    String 内容类型（上传时严格校验）
+ * @param md5            String 文件MD5（可选，提供时完成回调会校验）
+ * @param relationType   String 关联类型（可选）
+ * @param relationId     Long 关联对象ID（可选）
+ * @param relationName   String 关联对象名称（可选）
+ * @param attachmentType String 附件业务类型（可选）
+ * @param isPublic       Integer 是否公开（0:私有,1:公开）
+ *
+ * @author JiaWen.Wu
+ * @className FilePresignedUploadReq
+ * @date 2025-11-20 10:15
+ */
+public record FilePresignedUploadReq(
+        @NotBlank(message = "原始文件名不能为空") String originalName,
+        @NotNull(message = "文件大小不能为空") @Positive(message = "文件大小必须大于0") Long fileSize,
+        String contentType,
+        String md5,
+        String relationType,
+        Long relationId,
+        String relationName,
+        String attachmentType,
+        @PositiveOrZero(message = "是否公开标识不能为负数") Integer isPublic) {
+
+    public FilePresignedUploadReq {
+        contentType = StringUtils.hasText(contentType) ? contentType : null;
+        md5 = StringUtils.hasText(md5) ? md5.toLowerCase() : null;
+        relationType = StringUtils.hasText(relationType) ? relationType : null;
+        relationName = StringUtils.hasText(relationName) ? relationName : null;
+        attachmentType = StringUtils.hasText(attachmentType) ? attachmentType : null;
+        isPublic = isPublic == null ? 0 : isPublic;
+    }
+}
@@ -0,0 +1,30 @@
+package com.sciz.server.domain.pojo.dto.request.file;
+
+/**
+ * 服务端流式上传请求（无登录上下文的后台任务使用，上传人需显式传入）
+ *
+ * @param originalName   String 原始文件名
+ * @param contentType    String 内容类型（为空时按文件名推断）
+ * @param attachmentType String 附件分类
+ * @param relationType   String 关联类型
+ * @param relationId     Long 关联对象ID
+ * @param relationName   String 关联对象名称
+ * @param isPublic       Integer 是否公开
+ * @param uploaderId     Long 上传人ID
+ * @param uploaderName   String 上传人姓名
+ *
+ * @author JiaWen.Wu
+ * @className FileStreamUploadReq
+ * @date 2025-11-21 16:00
+ */
+public record FileStreamUploadReq(
+        String originalName,
+        String contentType,
+        String attachmentType,
+        String relationType,
+        Long relationId,
+        String relationName,
+        Integer isPublic,
+        Long uploaderId,
+        String uploaderName) {
+}
@@ -0,0 +1,16 @@
+package com.sciz.server.domain.pojo.dto.request.file;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * 直传 MinIO 完成回调请求
+ *
+ * @param uploadId String 预签名申请时返回的上传凭证ID
+ *
+ * @author JiaWen.Wu
+ * @className FileUploadCompleteReq
+ * @date 2025-11-20 10:15
+ */
+public record FileUploadCompleteReq(
+        @NotBlank(message = "上传凭证不能为空") String uploadId) {
+}
@@ -0,0 +1,37 @@
+package com.sciz.server.domain.pojo.dto.request.file;
+
+import java.util.List;
+import org.springframework.util.StringUtils;
+
+/**
+ * 打包下载请求（指定附件ID列表，或指定业务对象下载其全部附件）
+ *
+ * @param attachmentIds List<Long> 附件ID列表（优先）
+ * @param relationType  String 关联类型
+ * @param relationId    Long 关联对象ID
+ * @param zipName       String 压缩包名称（可选，不含扩展名）
+ *
+ * @author JiaWen.Wu
+ * @className FileZipDownloadReq
+ * @date 2025-11-22 16:00
+ */
+public record FileZipDownloadReq(
+        List<Long> attachmentIds,
+        String relationType,
+        Long relationId,
+        String zipName) {
+
+    public FileZipDownloadReq {
+        attachmentIds = attachmentIds == null ? List.of() : attachmentIds;
+        zipName = StringUtils.hasText(zipName) ? zipName.trim() : null;
+    }
+
+    /**
+     * 是否按业务对象打包
+     *
+     * @return boolean 是否按业务对象打包
+     */
+    public boolean isRelationScoped() {
+        return attachmentIds.isEmpty() && StringUtils.hasText(relationType) && relationId != null;
+    }
+}
@@ -9,11 +9,13 @@ import io.minio.GetObjectResponse;
  * 封装下载所需的元信息与数据流，调用方在处理完成后应显式关闭 {@link #inputStream()}。
  * </p>
  *
- * @param fileName      String 存储文件名
- * @param originalName  String 原始文件名
- * @param contentType   String 内容类型
- * @param contentLength Long 内容长度
- * @param inputStream   GetObjectResponse 文件数据流
+ * @param fileName        String 存储文件名
+ * @param originalName    String 原始文件名
+ * @param contentType     String 内容类型
+ * @param contentLength   Long 内容长度（原始大小）
+ * @param contentEncoding String 存储编码（为空表示原样存储）
+ * @param storedSize      Long 存储大小（按存储编码输出时的内容长度）
+ * @param inputStream     GetObjectResponse 文件数据流（按存储编码的原始字节）
  *
  * @author JiaWen.Wu
  * @className FileDownloadContext
@@ -24,8 +26,19 @@ public record FileDownloadContext(
         String originalName,
         String contentType,
         Long contentLength,
+        String contentEncoding,
+        Long storedSize,
         GetObjectResponse inputStream) implements AutoCloseable {
 
+    /**
+     * 是否压缩存储
+     *
+     * @return boolean 是否压缩存储
+     */
+    public boolean isEncoded() {
+        return contentEncoding != null;
+    }
+
     @Override
     public void close() throws Exception {
         if (inputStream != null) {
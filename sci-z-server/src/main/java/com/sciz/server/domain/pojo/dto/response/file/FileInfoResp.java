@@ -22,6 +22,8 @@ import java.time.LocalDateTime;
  * @param uploadTime    LocalDateTime 上传时间
  * @param bucketName    String 存储桶名称
  * @param previewUrl    String 预览链接
+ * @param thumbnailPath String 缩略图存储路径（未生成时为空）
+ * @param thumbnailUrl  String 缩略图预签名链接（未生成时为空）
  *
  * @author JiaWen.Wu
  * @className FileInfoResp
@@ -44,7 +46,9 @@ public record FileInfoResp(
         String uploaderName,
         LocalDateTime uploadTime,
         String bucketName,
-        String previewUrl) {
+        String previewUrl,
+        String thumbnailPath,
+        String thumbnailUrl) {
 
     /**
      * 设置存储桶名称
@@ -52,7 +56,7 @@ public record FileInfoResp(
     public FileInfoResp withBucketName(String newBucketName) {
         return new FileInfoResp(id, fileName, originalName, fileType, fileExtension, fileSize, mimeType, fileUrl,
                 filePath, md5Hash, isPublic, downloadCount, uploaderId, uploaderName, uploadTime, newBucketName,
-                previewUrl);
+                previewUrl, thumbnailPath, thumbnailUrl);
     }
 
     /**
@@ -61,6 +65,15 @@ public record FileInfoResp(
     public FileInfoResp withPreviewUrl(String newPreviewUrl) {
         return new FileInfoResp(id, fileName, originalName, fileType, fileExtension, fileSize, mimeType, fileUrl,
                 filePath, md5Hash, isPublic, downloadCount, uploaderId, uploaderName, uploadTime, bucketName,
-                newPreviewUrl);
+                newPreviewUrl, thumbnailPath, thumbnailUrl);
+    }
+
+    /**
+     * 设置缩略图链接
+     */
+    public FileInfoResp withThumbnailUrl(String newThumbnailUrl) {
+        return new FileInfoResp(id, fileName, originalName, fileType, fileExtension, fileSize, mimeType, fileUrl,
+                filePath, md5Hash, isPublic, downloadCount, uploaderId, uploaderName, uploadTime, bucketName,
+                previewUrl, thumbnailPath, newThumbnailUrl);
     }
 }
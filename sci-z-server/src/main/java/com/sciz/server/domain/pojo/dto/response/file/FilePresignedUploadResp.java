@@ -0,0 +1,29 @@
+package com.sciz.server.domain.pojo.dto.response.file;
+
+import java.util.Map;
+
+/**
+ * 直传 MinIO 预签名响应
+ *
+ * <p>
+ * 客户端以 multipart/form-data 向 {@code uploadUrl} 发起 POST：先放入 {@code formData} 全部字段，
+ * 最后追加名为 {@code file} 的文件字段；上传成功后调用完成接口登记附件。
+ * </p>
+ *
+ * @param uploadId      String 上传凭证ID（完成回调时使用）
+ * @param uploadUrl     String 上传地址（桶地址）
+ * @param formData      Map<String, String> POST 策略表单字段
+ * @param objectName    String 对象名
+ * @param expireSeconds Integer 凭证有效期（秒）
+ *
+ * @author JiaWen.Wu
+ * @className FilePresignedUploadResp
+ * @date 2025-11-20 10:15
+ */
+public record FilePresignedUploadResp(
+        String uploadId,
+        String uploadUrl,
+        Map<String, String> formData,
+        String objectName,
+        Integer expireSeconds) {
+}
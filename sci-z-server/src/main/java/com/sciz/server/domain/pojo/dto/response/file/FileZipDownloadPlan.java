@@ -0,0 +1,41 @@
+package com.sciz.server.domain.pojo.dto.response.file;
+
+import java.util.List;
+
+/**
+ * 打包下载计划
+ *
+ * <p>
+ * 在开始写出响应前完成附件解析与数量/大小校验，写出阶段只按计划顺序读取对象。
+ * </p>
+ *
+ * @param zipName    String 压缩包文件名（含扩展名）
+ * @param entries    List<Entry> 压缩包条目
+ * @param totalBytes long 原始文件总大小
+ *
+ * @author JiaWen.Wu
+ * @className FileZipDownloadPlan
+ * @date 2025-11-22 16:00
+ */
+public record FileZipDownloadPlan(
+        String zipName,
+        List<Entry> entries,
+        long totalBytes) {
+
+    /**
+     * 压缩包条目
+     *
+     * @param attachmentId    Long 附件ID
+     * @param entryName       String 条目名称（已去重）
+     * @param objectName      String MinIO 对象名
+     * @param size            long 文件大小
+     * @param contentEncoding String 存储编码（为空表示原样存储）
+     */
+    public record Entry(
+            Long attachmentId,
+            String entryName,
+            String objectName,
+            long size,
+            String contentEncoding) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.sciz.server.domain.pojo.dto.response.file;
+
+/**
+ * 孤儿存储清理结果
+ *
+ * @param dryRun             Boolean 是否仅演练（只统计不删除）
+ * @param objectScanned      Long 扫描的 MinIO 对象数
+ * @param objectOrphaned     Long 判定为孤儿的 MinIO 对象数
+ * @param objectOrphanBytes  Long 孤儿 MinIO 对象字节数
+ * @param objectDeleted      Long 实际删除的 MinIO 对象数
+ * @param localScanned       Long 扫描的本地临时文件数
+ * @param localOrphaned      Long 判定为孤儿的本地临时文件数
+ * @param localOrphanBytes   Long 孤儿本地临时文件字节数
+ * @param localDeleted       Long 实际删除的本地临时文件数
+ * @param costMs             Long 耗时（毫秒）
+ *
+ * @author JiaWen.Wu
+ * @className StorageOrphanCleanupResp
+ * @date 2025-11-21 14:00
+ */
+public record StorageOrphanCleanupResp(
+        Boolean dryRun,
+        Long objectScanned,
+        Long objectOrphaned,
+        Long objectOrphanBytes,
+        Long objectDeleted,
+        Long localScanned,
+        Long localOrphaned,
+        Long localOrphanBytes,
+        Long localDeleted,
+        Long costMs) {
+}
@@ -0,0 +1,28 @@
+package com.sciz.server.domain.pojo.dto.response.file;
+
+import java.time.LocalDateTime;
+
+/**
+ * 存储用量统计响应
+ *
+ * @param scopeType      String 统计维度（user/file_type）
+ * @param scopeKey       String 维度取值（用户ID或附件分类编码）
+ * @param fileCount      Long 文件数量
+ * @param totalBytes     Long 占用字节数
+ * @param quotaBytes     Long 配额字节数（仅用户维度，null 表示不限）
+ * @param reconciledTime LocalDateTime 最近一次对账时间
+ * @param updatedTime    LocalDateTime 最近更新时间
+ *
+ * @author JiaWen.Wu
+ * @className StorageStatsResp
+ * @date 2025-11-21 09:30
+ */
+public record StorageStatsResp(
+        String scopeType,
+        String scopeKey,
+        Long fileCount,
+        Long totalBytes,
+        Long quotaBytes,
+        LocalDateTime reconciledTime,
+        LocalDateTime updatedTime) {
+}
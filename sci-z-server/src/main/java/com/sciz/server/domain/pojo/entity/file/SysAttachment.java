@@ -118,4 +118,34 @@ public class SysAttachment extends BaseEntity {
      */
     @TableField("dify_doc_id")
     private String difyDocId;
+
+    /**
+     * 缩略图/首页预览存储路径
+     */
+    @TableField("thumbnail_path")
+    private String thumbnailPath;
+
+    /**
+     * 对象存储内容编码（gzip 表示压缩存储，为空表示原样存储）
+     */
+    @TableField("content_encoding")
+    private String contentEncoding;
+
+    /**
+     * 对象存储中的实际大小
+     */
+    @TableField("stored_size")
+    private Long storedSize;
+
+    /**
+     * 关联建立时间（非表字段，仅业务范围关联查询时回填，用于生成游标）
+     */
+    @TableField(exist = false)
+    private LocalDateTime relationTime;
+
+    /**
+     * 关联记录ID（非表字段，仅业务范围关联查询时回填，作为游标的唯一次序键）
+     */
+    @TableField(exist = false)
+    private Long relationRecordId;
 }
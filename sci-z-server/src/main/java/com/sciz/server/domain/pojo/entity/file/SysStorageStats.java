@@ -0,0 +1,62 @@
+package com.sciz.server.domain.pojo.entity.file;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.sciz.server.domain.pojo.entity.BaseEntity;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 存储用量统计实体
+ *
+ * - 对应表：sys_storage_stats
+ * - (scope_type, scope_key) 唯一，由上传/删除事件增量维护
+ *
+ * @author JiaWen.Wu
+ * @className SysStorageStats
+ * @date 2025-11-21 09:30
+ */
+@Getter
+@Setter
+@TableName("sys_storage_stats")
+public class SysStorageStats extends BaseEntity {
+
+    /**
+     * 主键ID
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 统计维度（user/file_type）
+     */
+    @TableField("scope_type")
+    private String scopeType;
+
+    /**
+     * 维度取值（用户ID或附件分类编码）
+     */
+    @TableField("scope_key")
+    private String scopeKey;
+
+    /**
+     * 文件数量
+     */
+    @TableField("file_count")
+    private Long fileCount;
+
+    /**
+     * 占用字节数
+     */
+    @TableField("total_bytes")
+    private Long totalBytes;
+
+    /**
+     * 最近一次对账时间
+     */
+    @TableField("reconciled_time")
+    private LocalDateTime reconciledTime;
+}
@@ -2,7 +2,10 @@ package com.sciz.server.domain.pojo.mapper.file;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.sciz.server.domain.pojo.entity.file.SysAttachment;
+import java.time.LocalDateTime;
+import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 /**
  * 附件 Mapper
@@ -13,4 +16,58 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface SysAttachmentMapper extends BaseMapper<SysAttachment> {
+
+    /**
+     * 关联查询业务对象下的附件（游标分页，relationTime/relationRecordId 回填关联时间与关联记录ID）
+     *
+     * @param relationType   String 关联类型
+     * @param relationId     Long 关联对象ID
+     * @param attachmentType String 附件类型
+     * @param isPublic       Integer 是否公开
+     * @param uploaderId     Long 上传人ID
+     * @param keyword        String 模糊关键词
+     * @param cursorTime     LocalDateTime 游标：上一页最后一条的关联时间
+     * @param cursorId       Long 游标：上一页最后一条的关联记录ID
+     * @param asc            boolean 是否升序
+     * @param offset         long 偏移量（仅无游标时生效）
+     * @param limit          int 查询条数
+     * @return List<SysAttachment> 附件列表
+     */
+    List<SysAttachment> selectByRelationKeyset(@Param("relationType") String relationType,
+            @Param("relationId") Long relationId,
+            @Param("attachmentType") String attachmentType,
+            @Param("isPublic") Integer isPublic,
+            @Param("uploaderId") Long uploaderId,
+            @Param("keyword") String keyword,
+            @Param("cursorTime") LocalDateTime cursorTime,
+            @Param("cursorId") Long cursorId,
+            @Param("asc") boolean asc,
+            @Param("offset") long offset,
+            @Param("limit") int limit);
+
+    /**
+     * 统计业务对象下满足条件的附件数
+     *
+     * @param relationType   String 关联类型
+     * @param relationId     Long 关联对象ID
+     * @param attachmentType String 附件类型
+     * @param isPublic       Integer 是否公开
+     * @param uploaderId     Long 上传人ID
+     * @param keyword        String 模糊关键词
+     * @return long 附件数
+     */
+    long countByRelation(@Param("relationType") String relationType,
+            @Param("relationId") Long relationId,
+            @Param("attachmentType") String attachmentType,
+            @Param("isPublic") Integer isPublic,
+            @Param("uploaderId") Long uploaderId,
+            @Param("keyword") String keyword);
+
+    /**
+     * 多行插入附件（单条 INSERT 语句，回填自增主键）
+     *
+     * @param entities List<SysAttachment> 附件列表
+     * @return int 影响行数
+     */
+    int insertBatch(@Param("entities") List<SysAttachment> entities);
 }
@@ -2,7 +2,9 @@ package com.sciz.server.domain.pojo.mapper.file;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.sciz.server.domain.pojo.entity.file.SysAttachmentRelation;
+import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 /**
  * 附件关联 Mapper
@@ -13,4 +15,12 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface SysAttachmentRelationMapper extends BaseMapper<SysAttachmentRelation> {
+
+    /**
+     * 多行插入附件关联（单条 INSERT 语句）
+     *
+     * @param entities List<SysAttachmentRelation> 附件关联列表
+     * @return int 影响行数
+     */
+    int insertBatch(@Param("entities") List<SysAttachmentRelation> entities);
 }
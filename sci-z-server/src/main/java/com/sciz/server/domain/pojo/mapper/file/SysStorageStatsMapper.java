@@ -0,0 +1,49 @@
+package com.sciz.server.domain.pojo.mapper.file;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.sciz.server.domain.pojo.entity.file.SysStorageStats;
+import java.time.LocalDateTime;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 存储用量统计 Mapper
+ *
+ * @author JiaWen.Wu
+ * @className SysStorageStatsMapper
+ * @date 2025-11-21 09:30
+ */
+@Mapper
+public interface SysStorageStatsMapper extends BaseMapper<SysStorageStats> {
+
+    /**
+     * 原子累加统计增量（行不存在时插入）
+     *
+     * @param scopeType  String 统计维度
+     * @param scopeKey   String 维度取值
+     * @param countDelta long 文件数量增量
+     * @param bytesDelta long 字节数增量
+     * @return int 影响行数
+     */
+    int upsertDelta(@Param("scopeType") String scopeType, @Param("scopeKey") String scopeKey,
+            @Param("countDelta") long countDelta, @Param("bytesDelta") long bytesDelta);
+
+    /**
+     * 按 sys_attachment 重算指定维度的统计并覆盖写入
+     *
+     * @param scopeType     String 统计维度
+     * @param reconciledTime LocalDateTime 本次对账时间
+     * @return int 影响行数
+     */
+    int reconcileScope(@Param("scopeType") String scopeType, @Param("reconciledTime") LocalDateTime reconciledTime);
+
+    /**
+     * 将本次对账未覆盖到的统计行清零（对应附件已全部删除）
+     *
+     * @param scopeType      String 统计维度
+     * @param reconciledTime LocalDateTime 本次对账时间
+     * @return int 影响行数
+     */
+    int resetUnreconciled(@Param("scopeType") String scopeType,
+            @Param("reconciledTime") LocalDateTime reconciledTime);
+}
@@ -2,7 +2,9 @@ package com.sciz.server.domain.pojo.mapper.user;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.sciz.server.domain.pojo.entity.user.SysRolePermission;
+import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 /**
  * 角色权限关联 Mapper
@@ -13,4 +15,12 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface SysRolePermissionMapper extends BaseMapper<SysRolePermission> {
+
+    /**
+     * 多行插入角色权限关系（单条 INSERT 语句）
+     *
+     * @param entities List<SysRolePermission> 角色权限关系列表
+     * @return int 影响行数
+     */
+    int insertBatch(@Param("entities") List<SysRolePermission> entities);
 }
@@ -2,7 +2,9 @@ package com.sciz.server.domain.pojo.mapper.user;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.sciz.server.domain.pojo.entity.user.SysUser;
+import java.time.LocalDateTime;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 /**
  * 用户 Mapper
@@ -13,4 +15,16 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface SysUserMapper extends BaseMapper<SysUser> {
+
+    /**
+     * 登录统计原子累加（登录次数增量 + 最近登录时间/IP 仅在更新时才覆盖）
+     *
+     * @param userId    Long 用户ID
+     * @param delta     long 登录次数增量
+     * @param loginTime LocalDateTime 本批最近一次登录时间
+     * @param loginIp   String 本批最近一次登录IP
+     * @return int 影响行数
+     */
+    int increaseLoginStats(@Param("userId") Long userId, @Param("delta") long delta,
+            @Param("loginTime") LocalDateTime loginTime, @Param("loginIp") String loginIp);
 }
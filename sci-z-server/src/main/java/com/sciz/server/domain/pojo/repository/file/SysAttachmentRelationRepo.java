@@ -1,6 +1,7 @@
 package com.sciz.server.domain.pojo.repository.file;
 
 import com.sciz.server.domain.pojo.entity.file.SysAttachmentRelation;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,6 +21,14 @@ public interface SysAttachmentRelationRepo {
      */
     Long save(SysAttachmentRelation entity);
 
+    /**
+     * 批量保存附件关联（每批一条多行 INSERT，需在调用方事务内执行）
+     *
+     * @param entities List<SysAttachmentRelation> 关联实体列表
+     * @return boolean 是否全部保存成功
+     */
+    boolean saveBatch(List<SysAttachmentRelation> entities);
+
     /**
      * 根据关联信息查询附件ID集合
      *
@@ -29,6 +38,15 @@ public interface SysAttachmentRelationRepo {
      */
     List<Long> findAttachmentIds(String relationType, Long relationId);
 
+    /**
+     * 按关联对象集合批量查询未删除的附件关联
+     *
+     * @param relationType String 关联类型
+     * @param relationIds  Collection<Long> 关联对象ID集合
+     * @return List<SysAttachmentRelation> 附件关联列表
+     */
+    List<SysAttachmentRelation> findByRelationIds(String relationType, Collection<Long> relationIds);
+
     /**
      * 根据附件ID删除关联
      *
@@ -3,7 +3,10 @@ package com.sciz.server.domain.pojo.repository.file;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.sciz.server.domain.pojo.entity.file.SysAttachment;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 附件仓储（领域层抽象）
@@ -22,6 +25,14 @@ public interface SysAttachmentRepo {
      */
     Long save(SysAttachment entity);
 
+    /**
+     * 批量保存附件（每批一条多行 INSERT，需在调用方事务内执行，主键回填到实体）
+     *
+     * @param entities List<SysAttachment> 附件实体列表
+     * @return boolean 是否全部保存成功
+     */
+    boolean saveBatch(List<SysAttachment> entities);
+
     /**
      * 根据ID查询附件
      *
@@ -30,6 +41,14 @@ public interface SysAttachmentRepo {
      */
     SysAttachment findById(Long id);
 
+    /**
+     * 根据ID列表批量查询附件（过滤逻辑删除）
+     *
+     * @param ids List<Long> 附件ID列表
+     * @return List<SysAttachment> 附件列表（顺序不保证与入参一致）
+     */
+    List<SysAttachment> findByIds(List<Long> ids);
+
     /**
      * 根据MD5查询附件
      *
@@ -56,20 +75,35 @@ public interface SysAttachmentRepo {
     boolean markDeleted(Long id, Long userId);
 
     /**
-     * 下载次数+1
+     * 更新缩略图存储路径
      *
-     * @param id     Long 附件ID
-     * @param userId Long 操作人ID
+     * @param id            Long 附件ID
+     * @param thumbnailPath String 缩略图存储路径
+     * @return boolean 是否成功
+     */
+    boolean updateThumbnailPath(Long id, String thumbnailPath);
+
+    /**
+     * 下载次数累加（单条增量 UPDATE）
+     *
+     * @param id    Long 附件ID
+     * @param delta long 累加次数
      * @return boolean 是否成功
      */
-    boolean increaseDownloadCount(Long id, Long userId);
+    boolean increaseDownloadCount(Long id, long delta);
+
+    /**
+     * 过滤出仍被未删除附件引用的对象名（原文件或缩略图）
+     *
+     * @param objectNames Collection<String> 待检查的对象名
+     * @return Set<String> 仍被引用的对象名
+     */
+    Set<String> findReferencedObjectNames(Collection<String> objectNames);
 
     /**
      * 分页查询附件
      *
      * @param page           Page<SysAttachment> 分页参数
-     * @param relationType   String 关联类型
-     * @param relationIds    List<Long> 关联附件ID集合
      * @param attachmentType String 附件类型
      * @param isPublic       Integer 是否公开
      * @param uploaderId     Long 上传人ID
@@ -79,12 +113,61 @@ public interface SysAttachmentRepo {
      * @return IPage<SysAttachment> 分页结果
      */
     IPage<SysAttachment> page(Page<SysAttachment> page,
-            String relationType,
-            List<Long> relationIds,
             String attachmentType,
             Integer isPublic,
             Long uploaderId,
             String keyword,
             String sortBy,
             boolean asc);
+
+    /**
+     * 按业务对象关联查询附件（游标分页）
+     *
+     * <p>
+     * 单条关联查询，按 (关联时间, 关联记录ID) 排序；传入游标时从游标之后读取，
+     * 未传游标时按 offset 偏移（兼容页码翻页）。返回实体回填 relationTime、relationRecordId 供生成下一页游标。
+     * </p>
+     *
+     * @param relationType   String 关联类型
+     * @param relationId     Long 关联对象ID
+     * @param attachmentType String 附件类型
+     * @param isPublic       Integer 是否公开
+     * @param uploaderId     Long 上传人ID
+     * @param keyword        String 模糊关键词
+     * @param cursorTime     LocalDateTime 游标关联时间
+     * @param cursorId       Long 游标关联记录ID
+     * @param asc            boolean 是否升序
+     * @param offset         long 偏移量（仅无游标时生效）
+     * @param limit          int 查询条数
+     * @return List<SysAttachment> 附件列表
+     */
+    List<SysAttachment> listByRelation(String relationType,
+            Long relationId,
+            String attachmentType,
+            Integer isPublic,
+            Long uploaderId,
+            String keyword,
+            LocalDateTime cursorTime,
+            Long cursorId,
+            boolean asc,
+            long offset,
+            int limit);
+
+    /**
+     * 统计业务对象下满足条件的附件数
+     *
+     * @param relationType   String 关联类型
+     * @param relationId     Long 关联对象ID
+     * @param attachmentType String 附件类型
+     * @param isPublic       Integer 是否公开
+     * @param uploaderId     Long 上传人ID
+     * @param keyword        String 模糊关键词
+     * @return long 附件数
+     */
+    long countByRelation(String relationType,
+            Long relationId,
+            String attachmentType,
+            Integer isPublic,
+            Long uploaderId,
+            String keyword);
 }
@@ -0,0 +1,43 @@
+package com.sciz.server.domain.pojo.repository.file;
+
+import com.sciz.server.domain.pojo.entity.file.SysStorageStats;
+import java.time.LocalDateTime;
+
+/**
+ * 存储用量统计仓储（领域层抽象）
+ *
+ * @author JiaWen.Wu
+ * @className SysStorageStatsRepo
+ * @date 2025-11-21 09:30
+ */
+public interface SysStorageStatsRepo {
+
+    /**
+     * 原子累加统计增量（行不存在时插入）
+     *
+     * @param scopeType  String 统计维度
+     * @param scopeKey   String 维度取值
+     * @param countDelta long 文件数量增量
+     * @param bytesDelta long 字节数增量
+     * @return boolean 是否成功
+     */
+    boolean applyDelta(String scopeType, String scopeKey, long countDelta, long bytesDelta);
+
+    /**
+     * 按唯一维度查询统计行
+     *
+     * @param scopeType String 统计维度
+     * @param scopeKey  String 维度取值
+     * @return SysStorageStats 统计实体，不存在时返回 null
+     */
+    SysStorageStats findByScope(String scopeType, String scopeKey);
+
+    /**
+     * 按 sys_attachment 重算指定维度的统计
+     *
+     * @param scopeType      String 统计维度
+     * @param reconciledTime LocalDateTime 本次对账时间
+     * @return int 重算的统计行数
+     */
+    int reconcile(String scopeType, LocalDateTime reconciledTime);
+}
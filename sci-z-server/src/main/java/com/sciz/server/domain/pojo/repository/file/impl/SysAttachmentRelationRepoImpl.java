@@ -7,6 +7,7 @@ import com.sciz.server.domain.pojo.mapper.file.SysAttachmentRelationMapper;
 import com.sciz.server.domain.pojo.repository.file.SysAttachmentRelationRepo;
 import com.sciz.server.infrastructure.shared.enums.DeleteStatus;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import org.springframework.stereotype.Repository;
@@ -22,6 +23,8 @@ import org.springframework.util.StringUtils;
 @Repository
 public class SysAttachmentRelationRepoImpl implements SysAttachmentRelationRepo {
 
+    private static final int INSERT_BATCH_SIZE = 500;
+
     private final SysAttachmentRelationMapper mapper;
 
     public SysAttachmentRelationRepoImpl(SysAttachmentRelationMapper mapper) {
@@ -34,6 +37,18 @@ public class SysAttachmentRelationRepoImpl implements SysAttachmentRelationRepo
         return rows > 0 ? entity.getId() : null;
     }
 
+    @Override
+    public boolean saveBatch(List<SysAttachmentRelation> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return true;
+        }
+        var savedCount = 0;
+        for (var start = 0; start < entities.size(); start += INSERT_BATCH_SIZE) {
+            savedCount += mapper.insertBatch(entities.subList(start, Math.min(start + INSERT_BATCH_SIZE, entities.size())));
+        }
+        return savedCount == entities.size();
+    }
+
     @Override
     public List<Long> findAttachmentIds(String relationType, Long relationId) {
         if (!StringUtils.hasText(relationType) || relationId == null) {
@@ -46,6 +61,17 @@ public class SysAttachmentRelationRepoImpl implements SysAttachmentRelationRepo
         return records.stream().map(SysAttachmentRelation::getAttachmentId).toList();
     }
 
+    @Override
+    public List<SysAttachmentRelation> findByRelationIds(String relationType, Collection<Long> relationIds) {
+        if (!StringUtils.hasText(relationType) || relationIds == null || relationIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return mapper.selectList(new LambdaQueryWrapper<SysAttachmentRelation>()
+                .eq(SysAttachmentRelation::getRelationType, relationType)
+                .in(SysAttachmentRelation::getRelationId, relationIds)
+                .eq(SysAttachmentRelation::getIsDeleted, DeleteStatus.NOT_DELETED.getCode()));
+    }
+
     @Override
     public boolean deleteByAttachmentId(Long attachmentId) {
         if (attachmentId == null) {
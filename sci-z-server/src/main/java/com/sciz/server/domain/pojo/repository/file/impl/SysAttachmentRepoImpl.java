@@ -9,8 +9,11 @@ import com.sciz.server.domain.pojo.mapper.file.SysAttachmentMapper;
 import com.sciz.server.domain.pojo.repository.file.SysAttachmentRepo;
 import com.sciz.server.infrastructure.shared.enums.DeleteStatus;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
@@ -24,6 +27,8 @@ import org.springframework.util.StringUtils;
 @Repository
 public class SysAttachmentRepoImpl implements SysAttachmentRepo {
 
+    private static final int INSERT_BATCH_SIZE = 500;
+
     private final SysAttachmentMapper mapper;
 
     public SysAttachmentRepoImpl(SysAttachmentMapper mapper) {
@@ -36,6 +41,18 @@ public class SysAttachmentRepoImpl implements SysAttachmentRepo {
         return rows > 0 ? entity.getId() : null;
     }
 
+    @Override
+    public boolean saveBatch(List<SysAttachment> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return true;
+        }
+        var savedCount = 0;
+        for (var start = 0; start < entities.size(); start += INSERT_BATCH_SIZE) {
+            savedCount += mapper.insertBatch(entities.subList(start, Math.min(start + INSERT_BATCH_SIZE, entities.size())));
+        }
+        return savedCount == entities.size();
+    }
+
     @Override
     public SysAttachment findById(Long id) {
         if (id == null) {
@@ -44,6 +61,14 @@ public class SysAttachmentRepoImpl implements SysAttachmentRepo {
         return mapper.selectById(id);
     }
 
+    @Override
+    public List<SysAttachment> findByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return mapper.selectBatchIds(ids);
+    }
+
     @Override
     public SysAttachment findByMd5(String md5) {
         if (!StringUtils.hasText(md5)) {
@@ -77,22 +102,46 @@ public class SysAttachmentRepoImpl implements SysAttachmentRepo {
     }
 
     @Override
-    public boolean increaseDownloadCount(Long id, Long userId) {
+    public boolean updateThumbnailPath(Long id, String thumbnailPath) {
         if (id == null) {
             return false;
         }
         return mapper.update(null, new LambdaUpdateWrapper<SysAttachment>()
                 .eq(SysAttachment::getId, id)
-                .set(SysAttachment::getUpdatedBy, userId)
-                .set(SysAttachment::getUpdatedTime, LocalDateTime.now())
-                .setSql("download_count = COALESCE(download_count,0) + 1")
-                .last("LIMIT 1")) > 0;
+                .set(SysAttachment::getThumbnailPath, thumbnailPath)) > 0;
+    }
+
+    @Override
+    public boolean increaseDownloadCount(Long id, long delta) {
+        if (id == null || delta <= 0) {
+            return false;
+        }
+        return mapper.update(null, new LambdaUpdateWrapper<SysAttachment>()
+                .eq(SysAttachment::getId, id)
+                .setSql("download_count = COALESCE(download_count,0) + " + delta)) > 0;
+    }
+
+    @Override
+    public Set<String> findReferencedObjectNames(Collection<String> objectNames) {
+        if (objectNames == null || objectNames.isEmpty()) {
+            return Set.of();
+        }
+        var records = mapper.selectList(new LambdaQueryWrapper<SysAttachment>()
+                .select(SysAttachment::getFilePath, SysAttachment::getThumbnailPath)
+                .eq(SysAttachment::getIsDeleted, DeleteStatus.NOT_DELETED.getCode())
+                .and(wrapper -> wrapper.in(SysAttachment::getFilePath, objectNames)
+                        .or()
+                        .in(SysAttachment::getThumbnailPath, objectNames)));
+        var referenced = new HashSet<String>();
+        records.forEach(record -> {
+            Optional.ofNullable(record.getFilePath()).ifPresent(referenced::add);
+            Optional.ofNullable(record.getThumbnailPath()).ifPresent(referenced::add);
+        });
+        return referenced;
     }
 
     @Override
     public IPage<SysAttachment> page(Page<SysAttachment> page,
-            String relationType,
-            List<Long> relationIds,
             String attachmentType,
             Integer isPublic,
             Long uploaderId,
@@ -112,15 +161,6 @@ public class SysAttachmentRepoImpl implements SysAttachmentRepo {
                 .filter(StringUtils::hasText)
                 .ifPresent(value -> wrapper.like(SysAttachment::getOriginalName, value));
 
-        if (StringUtils.hasText(relationType) && relationIds != null) {
-            if (relationIds.isEmpty()) {
-                page.setRecords(List.of());
-                page.setTotal(0);
-                return page;
-            }
-            wrapper.in(SysAttachment::getId, relationIds);
-        }
-
         if (StringUtils.hasText(sortBy)) {
             switch (sortBy) {
                 case "uploadTime" -> wrapper.orderBy(true, asc, SysAttachment::getUploadTime);
@@ -131,7 +171,41 @@ public class SysAttachmentRepoImpl implements SysAttachmentRepo {
         } else {
             wrapper.orderBy(true, false, SysAttachment::getUploadTime);
         }
+        // 主键兜底排序：排序字段取值相同时保证翻页次序稳定
+        wrapper.orderBy(true, asc, SysAttachment::getId);
 
         return mapper.selectPage(page, wrapper);
     }
+
+    @Override
+    public List<SysAttachment> listByRelation(String relationType,
+            Long relationId,
+            String attachmentType,
+            Integer isPublic,
+            Long uploaderId,
+            String keyword,
+            LocalDateTime cursorTime,
+            Long cursorId,
+            boolean asc,
+            long offset,
+            int limit) {
+        if (!StringUtils.hasText(relationType) || relationId == null || limit <= 0) {
+            return List.of();
+        }
+        return mapper.selectByRelationKeyset(relationType, relationId, attachmentType, isPublic, uploaderId,
+                keyword, cursorTime, cursorId, asc, Math.max(offset, 0L), limit);
+    }
+
+    @Override
+    public long countByRelation(String relationType,
+            Long relationId,
+            String attachmentType,
+            Integer isPublic,
+            Long uploaderId,
+            String keyword) {
+        if (!StringUtils.hasText(relationType) || relationId == null) {
+            return 0L;
+        }
+        return mapper.countByRelation(relationType, relationId, attachmentType, isPublic, uploaderId, keyword);
+    }
 }
@@ -0,0 +1,55 @@
+package com.sciz.server.domain.pojo.repository.file.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.sciz.server.domain.pojo.entity.file.SysStorageStats;
+import com.sciz.server.domain.pojo.mapper.file.SysStorageStatsMapper;
+import com.sciz.server.domain.pojo.repository.file.SysStorageStatsRepo;
+import java.time.LocalDateTime;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+
+/**
+ * 存储用量统计仓储实现
+ *
+ * @author JiaWen.Wu
+ * @className SysStorageStatsRepoImpl
+ * @date 2025-11-21 09:30
+ */
+@Repository
+public class SysStorageStatsRepoImpl implements SysStorageStatsRepo {
+
+    private final SysStorageStatsMapper mapper;
+
+    public SysStorageStatsRepoImpl(SysStorageStatsMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @Override
+    public boolean applyDelta(String scopeType, String scopeKey, long countDelta, long bytesDelta) {
+        if (!StringUtils.hasText(scopeType) || !StringUtils.hasText(scopeKey)) {
+            return false;
+        }
+        if (countDelta == 0 && bytesDelta == 0) {
+            return true;
+        }
+        return mapper.upsertDelta(scopeType, scopeKey, countDelta, bytesDelta) > 0;
+    }
+
+    @Override
+    public SysStorageStats findByScope(String scopeType, String scopeKey) {
+        if (!StringUtils.hasText(scopeType) || !StringUtils.hasText(scopeKey)) {
+            return null;
+        }
+        return mapper.selectOne(new LambdaQueryWrapper<SysStorageStats>()
+                .eq(SysStorageStats::getScopeType, scopeType)
+                .eq(SysStorageStats::getScopeKey, scopeKey)
+                .last("LIMIT 1"));
+    }
+
+    @Override
+    public int reconcile(String scopeType, LocalDateTime reconciledTime) {
+        var reconciledRows = mapper.reconcileScope(scopeType, reconciledTime);
+        mapper.resetUnreconciled(scopeType, reconciledTime);
+        return reconciledRows;
+    }
+}
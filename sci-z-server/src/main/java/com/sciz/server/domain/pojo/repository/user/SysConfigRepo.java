@@ -2,6 +2,9 @@ package com.sciz.server.domain.pojo.repository.user;
 
 import com.sciz.server.domain.pojo.entity.user.SysConfig;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * 系统配置仓储（领域层抽象）
  * 
@@ -26,4 +29,12 @@ public interface SysConfigRepo {
      * @return SysConfig 配置实体（可能为 null）
      */
     SysConfig findByKey(String configKey);
+
+    /**
+     * 根据配置键集合批量查询配置
+     *
+     * @param configKeys Collection<String> 配置键集合
+     * @return List<SysConfig> 配置实体列表
+     */
+    List<SysConfig> findByKeys(Collection<String> configKeys);
 }
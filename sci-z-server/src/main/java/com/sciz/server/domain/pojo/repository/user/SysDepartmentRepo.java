@@ -1,6 +1,7 @@
 package com.sciz.server.domain.pojo.repository.user;
 
 import com.sciz.server.domain.pojo.entity.user.SysDepartment;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -28,6 +29,14 @@ public interface SysDepartmentRepo {
      */
     SysDepartment findById(Long id);
 
+    /**
+     * 根据ID集合批量查询部门（过滤逻辑删除）
+     *
+     * @param ids Collection<Long> 部门ID集合
+     * @return List<SysDepartment> 部门列表
+     */
+    List<SysDepartment> findByIds(Collection<Long> ids);
+
     /**
      * 根据行业类型查询部门列表
      *
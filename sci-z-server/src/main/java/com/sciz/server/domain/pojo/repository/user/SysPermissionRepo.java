@@ -35,4 +35,11 @@ public interface SysPermissionRepo {
      * @return List<SysPermission> 权限列表
      */
     List<SysPermission> listByIndustryType(String industryType);
+
+    /**
+     * 查询全部未删除的权限（按ID升序，含未启用）
+     *
+     * @return List<SysPermission> 权限列表
+     */
+    List<SysPermission> listAllNotDeleted();
 }
@@ -21,6 +21,14 @@ public interface SysRolePermissionRepo {
      */
     Long save(SysRolePermission entity);
 
+    /**
+     * 批量保存角色权限关系（按批次多行插入）
+     *
+     * @param entities List<SysRolePermission> 实体集合
+     * @return int 插入行数
+     */
+    int saveBatch(List<SysRolePermission> entities);
+
     /**
      * 按角色ID查询未删除的角色权限关系
      *
@@ -43,4 +51,11 @@ public interface SysRolePermissionRepo {
      * @param ids List<Long> 主键ID集合
      */
     void markDeletedByIds(List<Long> ids);
+
+    /**
+     * 查询全部未删除的角色权限关系
+     *
+     * @return List<SysRolePermission> 角色权限关系列表
+     */
+    List<SysRolePermission> listAllNotDeleted();
 }
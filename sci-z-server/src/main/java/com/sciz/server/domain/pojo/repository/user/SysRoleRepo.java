@@ -83,4 +83,11 @@ public interface SysRoleRepo {
      */
     IPage<SysRole> page(IPage<SysRole> page, String industryType, String keyword, Integer status, String sortBy,
             boolean asc);
+
+    /**
+     * 查询全部未删除的角色（按ID升序，含未启用）
+     *
+     * @return List<SysRole> 角色列表
+     */
+    List<SysRole> listAllNotDeleted();
 }
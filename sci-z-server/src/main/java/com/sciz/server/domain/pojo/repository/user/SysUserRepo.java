@@ -2,6 +2,7 @@ package com.sciz.server.domain.pojo.repository.user;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.sciz.server.domain.pojo.entity.user.SysUser;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -69,6 +70,28 @@ public interface SysUserRepo {
      */
     boolean updateById(SysUser entity);
 
+    /**
+     * 按旧密码哈希条件更新密码（WHERE id = ? AND password = ?，旧哈希已变更时不更新）
+     *
+     * @param userId      Long 用户ID
+     * @param oldHash     String 旧密码哈希
+     * @param newHash     String 新密码哈希
+     * @param updatedTime LocalDateTime 更新时间
+     * @return boolean 是否更新成功（旧哈希不匹配返回 false）
+     */
+    boolean updatePasswordIfMatches(Long userId, String oldHash, String newHash, LocalDateTime updatedTime);
+
+    /**
+     * 登录统计累加（单条原子 UPDATE）
+     *
+     * @param userId    Long 用户ID
+     * @param delta     long 登录次数增量
+     * @param loginTime LocalDateTime 最近一次登录时间
+     * @param loginIp   String 最近一次登录IP
+     * @return boolean 是否成功（用户不存在或已删除返回 false）
+     */
+    boolean increaseLoginStats(Long userId, long delta, LocalDateTime loginTime, String loginIp);
+
     /**
      * 分页查询用户列表
      *
@@ -1,6 +1,7 @@
 package com.sciz.server.domain.pojo.repository.user;
 
 import com.sciz.server.domain.pojo.entity.user.SysUserRole;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -28,6 +29,14 @@ public interface SysUserRoleRepo {
      */
     List<SysUserRole> findNotDeletedByUserId(Long userId);
 
+    /**
+     * 按用户集合批量查询未删除的用户角色关系
+     *
+     * @param userIds Collection<Long> 用户ID集合
+     * @return List<SysUserRole> 用户角色关系列表
+     */
+    List<SysUserRole> findNotDeletedByUserIds(Collection<Long> userIds);
+
     /**
      * 按角色查询未删除的用户角色关系
      *
@@ -4,6 +4,8 @@ import com.baomidou.mybatisplus.extension.conditions.query.LambdaQueryChainWrapp
 import com.sciz.server.domain.pojo.entity.user.SysConfig;
 import com.sciz.server.domain.pojo.mapper.user.SysConfigMapper;
 import com.sciz.server.domain.pojo.repository.user.SysConfigRepo;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -47,4 +49,20 @@ public class SysConfigRepoImpl implements SysConfigRepo {
                 .last("limit 1")
                 .one();
     }
+
+    /**
+     * 根据配置键集合批量查询配置
+     *
+     * @param configKeys Collection<String> 配置键集合
+     * @return List<SysConfig> 配置实体列表
+     */
+    @Override
+    public List<SysConfig> findByKeys(Collection<String> configKeys) {
+        if (configKeys == null || configKeys.isEmpty()) {
+            return List.of();
+        }
+        return new LambdaQueryChainWrapper<>(mapper)
+                .in(SysConfig::getConfigKey, configKeys)
+                .list();
+    }
 }
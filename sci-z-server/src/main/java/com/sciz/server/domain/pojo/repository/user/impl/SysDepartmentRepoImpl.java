@@ -8,6 +8,7 @@ import com.sciz.server.infrastructure.shared.enums.DeleteStatus;
 import com.sciz.server.infrastructure.shared.enums.EnableStatus;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -52,6 +53,23 @@ public class SysDepartmentRepoImpl implements SysDepartmentRepo {
                 .one();
     }
 
+    /**
+     * 根据ID集合批量查询部门
+     *
+     * @param ids Collection<Long> 部门ID集合
+     * @return List<SysDepartment> 部门列表
+     */
+    @Override
+    public List<SysDepartment> findByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return new LambdaQueryChainWrapper<>(mapper)
+                .in(SysDepartment::getId, ids)
+                .eq(SysDepartment::getIsDeleted, DeleteStatus.NOT_DELETED.getCode())
+                .list();
+    }
+
     /**
      * 根据行业类型查询部门列表
      *
@@ -71,4 +71,17 @@ public class SysPermissionRepoImpl implements SysPermissionRepo {
                 .orderByAsc(SysPermission::getId)
                 .list();
     }
+
+    /**
+     * 查询全部未删除的权限（按ID升序，含未启用）
+     *
+     * @return List<SysPermission> 权限列表
+     */
+    @Override
+    public List<SysPermission> listAllNotDeleted() {
+        return new LambdaQueryChainWrapper<>(mapper)
+                .eq(SysPermission::getIsDeleted, DeleteStatus.NOT_DELETED.getCode())
+                .orderByAsc(SysPermission::getId)
+                .list();
+    }
 }
@@ -21,6 +21,8 @@ import org.springframework.stereotype.Repository;
 @Repository
 public class SysRolePermissionRepoImpl implements SysRolePermissionRepo {
 
+    private static final int INSERT_BATCH_SIZE = 500;
+
     private final SysRolePermissionMapper mapper;
 
     public SysRolePermissionRepoImpl(SysRolePermissionMapper mapper) {
@@ -39,6 +41,24 @@ public class SysRolePermissionRepoImpl implements SysRolePermissionRepo {
         return rows > 0 ? entity.getId() : null;
     }
 
+    /**
+     * 批量保存角色权限关联（每批一条多行 INSERT）
+     *
+     * @param entities List<SysRolePermission> 角色权限实体集合
+     * @return int 插入行数
+     */
+    @Override
+    public int saveBatch(List<SysRolePermission> entities) {
+        if (Optional.ofNullable(entities).map(List::isEmpty).orElse(true)) {
+            return 0;
+        }
+        var rows = 0;
+        for (var start = 0; start < entities.size(); start += INSERT_BATCH_SIZE) {
+            rows += mapper.insertBatch(entities.subList(start, Math.min(start + INSERT_BATCH_SIZE, entities.size())));
+        }
+        return rows;
+    }
+
     /**
      * 查询未删除的角色权限关联
      *
@@ -83,4 +103,16 @@ public class SysRolePermissionRepoImpl implements SysRolePermissionRepo {
                 .set(SysRolePermission::getUpdatedTime, LocalDateTime.now())
                 .update();
     }
+
+    /**
+     * 查询全部未删除的角色权限关系
+     *
+     * @return List<SysRolePermission> 角色权限关系列表
+     */
+    @Override
+    public List<SysRolePermission> listAllNotDeleted() {
+        return new LambdaQueryChainWrapper<>(mapper)
+                .eq(SysRolePermission::getIsDeleted, DeleteStatus.NOT_DELETED.getCode())
+                .list();
+    }
 }
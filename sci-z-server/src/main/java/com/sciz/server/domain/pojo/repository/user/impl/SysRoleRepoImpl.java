@@ -200,4 +200,17 @@ public class SysRoleRepoImpl implements SysRoleRepo {
             default -> SysRole::getId;
         };
     }
+
+    /**
+     * 查询全部未删除的角色（按ID升序，含未启用）
+     *
+     * @return List<SysRole> 角色列表
+     */
+    @Override
+    public List<SysRole> listAllNotDeleted() {
+        return new LambdaQueryChainWrapper<>(mapper)
+                .eq(SysRole::getIsDeleted, DeleteStatus.NOT_DELETED.getCode())
+                .orderByAsc(SysRole::getId)
+                .list();
+    }
 }
@@ -1,6 +1,7 @@
 package com.sciz.server.domain.pojo.repository.user.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.conditions.query.LambdaQueryChainWrapper;
 import com.sciz.server.domain.pojo.entity.user.SysUser;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -129,6 +131,44 @@ public class SysUserRepoImpl implements SysUserRepo {
         return mapper.updateById(entity) > 0;
     }
 
+    /**
+     * 按旧密码哈希条件更新密码
+     *
+     * @param userId      Long 用户ID
+     * @param oldHash     String 旧密码哈希
+     * @param newHash     String 新密码哈希
+     * @param updatedTime LocalDateTime 更新时间
+     * @return boolean 是否更新成功
+     */
+    @Override
+    public boolean updatePasswordIfMatches(Long userId, String oldHash, String newHash, LocalDateTime updatedTime) {
+        if (userId == null || !StringUtils.hasText(oldHash) || !StringUtils.hasText(newHash)) {
+            return false;
+        }
+        return mapper.update(null, new LambdaUpdateWrapper<SysUser>()
+                .eq(SysUser::getId, userId)
+                .eq(SysUser::getPassword, oldHash)
+                .set(SysUser::getPassword, newHash)
+                .set(SysUser::getUpdatedTime, updatedTime)) > 0;
+    }
+
+    /**
+     * 登录统计累加（单条原子 UPDATE）
+     *
+     * @param userId    Long 用户ID
+     * @param delta     long 登录次数增量
+     * @param loginTime LocalDateTime 最近一次登录时间
+     * @param loginIp   String 最近一次登录IP
+     * @return boolean 是否成功
+     */
+    @Override
+    public boolean increaseLoginStats(Long userId, long delta, LocalDateTime loginTime, String loginIp) {
+        if (userId == null || delta <= 0 || loginTime == null) {
+            return false;
+        }
+        return mapper.increaseLoginStats(userId, delta, loginTime, loginIp) > 0;
+    }
+
     /**
      * 分页查询用户列表
      *
@@ -7,6 +7,7 @@ import com.sciz.server.domain.pojo.mapper.user.SysUserRoleMapper;
 import com.sciz.server.domain.pojo.repository.user.SysUserRoleRepo;
 import com.sciz.server.infrastructure.shared.enums.DeleteStatus;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.stereotype.Repository;
@@ -53,6 +54,23 @@ public class SysUserRoleRepoImpl implements SysUserRoleRepo {
                 .list();
     }
 
+    /**
+     * 按用户集合批量查询未删除的用户角色关联
+     *
+     * @param userIds Collection<Long> 用户ID集合
+     * @return List<SysUserRole> 用户角色列表
+     */
+    @Override
+    public List<SysUserRole> findNotDeletedByUserIds(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return List.of();
+        }
+        return new LambdaQueryChainWrapper<>(mapper)
+                .in(SysUserRole::getUserId, userIds)
+                .eq(SysUserRole::getIsDeleted, DeleteStatus.NOT_DELETED.getCode())
+                .list();
+    }
+
     /**
      * 按角色查询未删除的用户角色关系
      *
@@ -0,0 +1,53 @@
+package com.sciz.server.infrastructure.common.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 限流注解
+ *
+ * 限额在配置 rate-limit.rules.{value} 中定义（容量与每秒补充令牌数），未配置的规则不限流
+ *
+ * @author JiaWen.Wu
+ * @className RateLimit
+ * @date 2025-11-24 14:00
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimit {
+
+    /**
+     * 规则名（对应配置 rate-limit.rules 下的键）
+     */
+    String value();
+
+    /**
+     * 限流维度
+     */
+    KeyType key() default KeyType.IP;
+
+    /**
+     * 被限流时的提示信息
+     */
+    String message() default "请求过于频繁，请稍后再试";
+
+    /**
+     * 限流维度枚举
+     */
+    enum KeyType {
+        /**
+         * 按登录用户（未登录时退化为按 IP）
+         */
+        USER,
+        /**
+         * 按客户端 IP
+         */
+        IP,
+        /**
+         * 按接口（全部调用方共享额度）
+         */
+        ENDPOINT
+    }
+}
@@ -0,0 +1,64 @@
+package com.sciz.server.infrastructure.common.interceptor;
+
+import cn.dev33.satoken.stp.StpUtil;
+import com.sciz.server.infrastructure.common.annotation.RateLimit;
+import com.sciz.server.infrastructure.config.web.RateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Optional;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 限流拦截器
+ *
+ * <p>
+ * 处理标注 {@link RateLimit} 的接口，按注解声明的维度解析限流键后交由 {@link RateLimiter} 判定。
+ * 客户端 IP 取 {@code getRemoteAddr()}：经反向代理部署时由容器按 server.forward-headers-strategy
+ * 仅信任 internal-proxies 转发的 X-Forwarded-For，客户端自行伪造的转发头不会改变限流键。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className RateLimitInterceptor
+ * @date 2025-11-24 14:00
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        var annotation = Optional.ofNullable(
+                AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), RateLimit.class))
+                .or(() -> Optional.ofNullable(
+                        AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), RateLimit.class)));
+        if (annotation.isEmpty()) {
+            return true;
+        }
+        var rateLimit = annotation.get();
+        rateLimiter.acquire(rateLimit.value(), resolveKey(rateLimit.key(), request, handlerMethod),
+                rateLimit.message());
+        return true;
+    }
+
+    private String resolveKey(RateLimit.KeyType keyType, HttpServletRequest request, HandlerMethod handlerMethod) {
+        return switch (keyType) {
+            case USER -> Optional.ofNullable(StpUtil.getLoginIdDefaultNull())
+                    .map(loginId -> "user:" + loginId)
+                    .orElseGet(() -> "ip:" + request.getRemoteAddr());
+            case IP -> "ip:" + request.getRemoteAddr();
+            case ENDPOINT -> "endpoint:" + handlerMethod.getBeanType().getSimpleName() + "."
+                    + handlerMethod.getMethod().getName();
+        };
+    }
+}
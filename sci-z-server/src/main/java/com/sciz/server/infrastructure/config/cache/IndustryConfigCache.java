@@ -1,20 +1,25 @@
 package com.sciz.server.infrastructure.config.cache;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sciz.server.domain.pojo.entity.user.SysConfig;
 import com.sciz.server.domain.pojo.entity.user.SysProfileField;
 import com.sciz.server.domain.pojo.entity.user.SysProfileFieldOption;
 import com.sciz.server.domain.pojo.repository.user.SysProfileFieldRepo;
 import com.sciz.server.domain.pojo.repository.user.SysConfigRepo;
 import com.sciz.server.domain.pojo.repository.user.SysDepartmentRepo;
 import com.sciz.server.infrastructure.shared.constant.CacheConstant;
+import com.sciz.server.infrastructure.shared.utils.JsonUtil;
 import com.sciz.server.infrastructure.shared.utils.RedisUtil;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -23,8 +28,9 @@ import java.util.stream.Collectors;
 /**
  * 行业配置提供器
  *
- * 统一从数据库 sys_config 读取一次后写入 Redis，后续业务从缓存读取。
- * 数据基本稳定，设置较长 TTL，人工变更后可手动清理 key 触发重载。
+ * 解析后的行业配置以只读快照保存在进程内，{@link #get()} 无网络 IO 与 JSON 解析。
+ * Redis 仅用于冷启动与跨节点传播：刷新时递增版本号并广播，各节点收到后重载快照；
+ * 定时比对版本号兜底广播丢失，人工清理缓存 key 后同样会在下次比对时从数据库重载。
  *
  * @author JiaWen.Wu
  * @className IndustryConfigCache
@@ -32,42 +38,126 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 @Component
-public class IndustryConfigCache {
+public class IndustryConfigCache implements MessageListener {
+
+    private static final String INITIAL_VERSION = "0";
+    private static final List<String> CONFIG_KEYS = List.of(
+            CacheConstant.CONFIG_KEY_INDUSTRY_TYPE,
+            CacheConstant.CONFIG_KEY_INDUSTRY_NAME,
+            CacheConstant.CONFIG_KEY_LABEL_DEPT,
+            CacheConstant.CONFIG_KEY_LABEL_ROLE,
+            CacheConstant.CONFIG_KEY_LABEL_EMP);
 
     private final SysConfigRepo sysConfigRepo;
     private final StringRedisTemplate redis;
     private final SysDepartmentRepo sysDepartmentRepo;
     private final SysProfileFieldRepo sysProfileFieldRepo;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private volatile Snapshot snapshot;
 
     public IndustryConfigCache(SysConfigRepo sysConfigRepo, StringRedisTemplate redis,
-            SysDepartmentRepo sysDepartmentRepo, SysProfileFieldRepo sysProfileFieldRepo) {
+            SysDepartmentRepo sysDepartmentRepo, SysProfileFieldRepo sysProfileFieldRepo,
+            RedisMessageListenerContainer listenerContainer) {
         this.sysConfigRepo = sysConfigRepo;
         this.redis = redis;
         this.sysDepartmentRepo = sysDepartmentRepo;
         this.sysProfileFieldRepo = sysProfileFieldRepo;
+        listenerContainer.addMessageListener(this, new ChannelTopic(CacheConstant.INDUSTRY_CONFIG_CHANNEL));
     }
 
     /**
-     * 获取行业配置（优先从 Redis；未命中则回源 DB 并回写缓存）
+     * 获取行业配置（本地快照；首次调用从 Redis 或数据库加载）
+     *
+     * <p>
+     * 返回的视图在线程间共享，调用方不得修改。
+     * </p>
      *
      * @return IndustryView 行业视图
      */
     public IndustryView get() {
-        return Optional.ofNullable(RedisUtil.get(redis, CacheConstant.INDUSTRY_CONFIG_CURRENT_KEY))
-                .flatMap(this::parseCachedView)
-                .orElseGet(() -> {
-                    var view = loadFromDb();
-                    cache(view);
-                    return view;
-                });
+        var current = snapshot;
+        if (current != null) {
+            return current.view();
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                reload(readVersion().orElse(INITIAL_VERSION));
+            }
+            return snapshot.view();
+        }
+    }
+
+    /**
+     * 手动刷新缓存（如后台保存行业配置后调用），各节点随广播重载
+     */
+    public synchronized void refresh() {
+        var view = freeze(loadFromDb());
+        cache(view);
+        var version = INITIAL_VERSION;
+        try {
+            version = String.valueOf(RedisUtil.incrBy(redis, CacheConstant.INDUSTRY_CONFIG_VERSION_KEY, 1L));
+            redis.convertAndSend(CacheConstant.INDUSTRY_CONFIG_CHANNEL, version);
+        } catch (Exception e) {
+            log.warn(String.format("广播行业配置变更失败，其他节点依赖版本比对: err=%s", e.getMessage()));
+        }
+        snapshot = new Snapshot(version, view);
+    }
+
+    /**
+     * 比对 Redis 版本号与缓存 key，落后或 key 被清理时重载快照
+     */
+    public void syncVersion() {
+        var current = snapshot;
+        if (current == null) {
+            return;
+        }
+        readVersion()
+                .filter(version -> !version.equals(current.version())
+                        || !Boolean.TRUE.equals(redis.hasKey(CacheConstant.INDUSTRY_CONFIG_CURRENT_KEY)))
+                .ifPresent(this::reload);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        var version = new String(message.getBody(), StandardCharsets.UTF_8);
+        var current = snapshot;
+        if (current == null || !version.equals(current.version())) {
+            reload(version);
+        }
     }
 
     /**
-     * 手动刷新缓存（如后台保存行业配置后调用）
+     * 重载快照（优先 Redis；未命中则回源 DB 并回写缓存）
+     *
+     * @param version String 快照对应的版本号
      */
-    public void refresh() {
-        cache(loadFromDb());
+    private synchronized void reload(String version) {
+        var view = readCachedView()
+                .orElseGet(() -> {
+                    var loaded = loadFromDb();
+                    cache(loaded);
+                    return loaded;
+                });
+        snapshot = new Snapshot(version, freeze(view));
+    }
+
+    private Optional<IndustryView> readCachedView() {
+        try {
+            return Optional.ofNullable(RedisUtil.get(redis, CacheConstant.INDUSTRY_CONFIG_CURRENT_KEY))
+                    .flatMap(this::parseCachedView);
+        } catch (Exception e) {
+            log.warn(String.format("读取行业配置缓存失败，将从数据库加载: err=%s", e.getMessage()));
+            return Optional.empty();
+        }
+    }
+
+    private Optional<String> readVersion() {
+        try {
+            return Optional.of(Optional.ofNullable(RedisUtil.get(redis, CacheConstant.INDUSTRY_CONFIG_VERSION_KEY))
+                    .orElse(INITIAL_VERSION));
+        } catch (Exception e) {
+            log.warn(String.format("读取行业配置版本失败: err=%s", e.getMessage()));
+            return Optional.empty();
+        }
     }
 
     /**
@@ -77,8 +167,7 @@ public class IndustryConfigCache {
      */
     private void cache(IndustryView view) {
         try {
-            var json = objectMapper.writeValueAsString(view);
-            RedisUtil.set(redis, CacheConstant.INDUSTRY_CONFIG_CURRENT_KEY, json,
+            RedisUtil.set(redis, CacheConstant.INDUSTRY_CONFIG_CURRENT_KEY, JsonUtil.toJson(view),
                     Duration.ofSeconds(CacheConstant.INDUSTRY_CONFIG_CACHE_EXPIRE));
             log.info(String.format("行业配置已缓存: type=%s, name=%s", view.getType(), view.getName()));
         } catch (Exception e) {
@@ -87,25 +176,15 @@ public class IndustryConfigCache {
     }
 
     /**
-     * 从数据库加载当前行业配置键值
+     * 从数据库加载当前行业配置键值（配置键一次查询）
      *
      * @return IndustryView 行业视图
      */
     private IndustryView loadFromDb() {
-        var configKeys = new String[] {
-                CacheConstant.CONFIG_KEY_INDUSTRY_TYPE,
-                CacheConstant.CONFIG_KEY_INDUSTRY_NAME,
-                CacheConstant.CONFIG_KEY_LABEL_DEPT,
-                CacheConstant.CONFIG_KEY_LABEL_ROLE,
-                CacheConstant.CONFIG_KEY_LABEL_EMP
-        };
-
-        var configMap = new HashMap<String, String>();
-        for (var key : configKeys) {
-            Optional.ofNullable(sysConfigRepo.findByKey(key))
-                    .map(config -> config.getConfigValue())
-                    .ifPresent(value -> configMap.put(key, value));
-        }
+        Map<String, String> configMap = sysConfigRepo.findByKeys(CONFIG_KEYS).stream()
+                .filter(config -> config.getConfigValue() != null)
+                .collect(Collectors.toMap(SysConfig::getConfigKey, SysConfig::getConfigValue,
+                        (first, second) -> first));
 
         var view = new IndustryView();
         view.setType(configMap.getOrDefault(CacheConstant.CONFIG_KEY_INDUSTRY_TYPE, "education"));
@@ -174,16 +253,35 @@ public class IndustryConfigCache {
      * @return Optional<IndustryView> 行业视图
      */
     private Optional<IndustryView> parseCachedView(String json) {
-        try {
-            var view = objectMapper.readValue(json, IndustryView.class);
-            if (view == null) {
-                return Optional.empty();
-            }
-            return Optional.of(view);
-        } catch (Exception e) {
-            log.warn(String.format("解析行业配置缓存失败，将从数据库重新加载: err=%s", e.getMessage()));
-            return Optional.empty();
+        var view = JsonUtil.fromJson(json, IndustryView.class);
+        if (view == null) {
+            log.warn("解析行业配置缓存失败，将从数据库重新加载");
         }
+        return Optional.ofNullable(view);
+    }
+
+    /**
+     * 将视图中的集合替换为不可变集合，作为只读快照在线程间共享
+     *
+     * @param view IndustryView 行业视图
+     * @return IndustryView 同一视图
+     */
+    private IndustryView freeze(IndustryView view) {
+        view.setDepartments(List.copyOf(Optional.ofNullable(view.getDepartments()).orElseGet(List::of)));
+        var profileFields = Optional.ofNullable(view.getProfileFields()).orElseGet(List::<ProfileFieldView>of);
+        profileFields.forEach(field -> field.setOptions(
+                List.copyOf(Optional.ofNullable(field.getOptions()).orElseGet(List::of))));
+        view.setProfileFields(List.copyOf(profileFields));
+        return view;
+    }
+
+    /**
+     * 本地快照
+     *
+     * @param version String 对应的 Redis 版本号
+     * @param view    IndustryView 只读行业视图
+     */
+    private record Snapshot(String version, IndustryView view) {
     }
 
     /**
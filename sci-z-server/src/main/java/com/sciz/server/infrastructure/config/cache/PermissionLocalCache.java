@@ -0,0 +1,109 @@
+package com.sciz.server.infrastructure.config.cache;
+
+import com.sciz.server.infrastructure.shared.cache.LocalTtlCache;
+import com.sciz.server.infrastructure.shared.constant.CacheConstant;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * 权限本地缓存（L1）
+ *
+ * <p>
+ * 位于 Redis 权限缓存之前，按用户保存其角色ID列表（已排序去重），鉴权稳态下无网络 IO。
+ * 角色编码与权限码由 {@link RolePermissionIndex} 按角色计算，此处不再按用户缓存编码列表，
+ * 因此角色权限变更无需失效本缓存；仅用户角色分配变更时经 Redis 发布订阅通知所有节点失效，TTL 兜底消息丢失的情况。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className PermissionLocalCache
+ * @date 2025-11-23 10:00
+ */
+@Slf4j
+@Component
+public class PermissionLocalCache implements MessageListener {
+
+    private static final String INVALIDATE_ALL = "*";
+
+    private final StringRedisTemplate redis;
+    private final LocalTtlCache<Long, List<Long>> cache;
+
+    public PermissionLocalCache(StringRedisTemplate redis,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${auth.permission-cache.local-ttl-seconds:60}") long ttlSeconds,
+            @Value("${auth.permission-cache.local-max-size:20000}") int maxSize) {
+        this.redis = redis;
+        this.cache = new LocalTtlCache<>(Duration.ofSeconds(ttlSeconds), maxSize);
+        listenerContainer.addMessageListener(this, new ChannelTopic(CacheConstant.PERMISSION_INVALIDATE_CHANNEL));
+    }
+
+    /**
+     * 获取用户角色ID列表，未命中时由加载器（Redis/数据库）加载
+     *
+     * @param userId Long 用户ID
+     * @param loader Supplier<List<Long>> 加载器
+     * @return List<Long> 不可变角色ID列表（升序去重）
+     */
+    public List<Long> getRoleIds(Long userId, Supplier<List<Long>> loader) {
+        return cache.get(userId, key -> loader.get().stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toList());
+    }
+
+    /**
+     * 失效指定用户（本节点立即失效并广播其他节点）
+     *
+     * @param userId Long 用户ID
+     */
+    public void invalidateUser(Long userId) {
+        evictUser(userId);
+        publish(String.valueOf(userId));
+    }
+
+    /**
+     * 失效全部用户（本节点立即失效并广播其他节点）
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        publish(INVALIDATE_ALL);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        var payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (INVALIDATE_ALL.equals(payload)) {
+            cache.invalidateAll();
+            return;
+        }
+        try {
+            evictUser(Long.parseLong(payload));
+        } catch (NumberFormatException exception) {
+            log.warn(String.format("忽略无法解析的权限缓存失效消息: payload=%s", payload));
+        }
+    }
+
+    private void evictUser(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    private void publish(String payload) {
+        try {
+            redis.convertAndSend(CacheConstant.PERMISSION_INVALIDATE_CHANNEL, payload);
+        } catch (Exception exception) {
+            // 广播失败时其他节点依赖 TTL 过期
+            log.warn(String.format("广播权限缓存失效失败: payload=%s, err=%s", payload, exception.getMessage()));
+        }
+    }
+}
@@ -6,12 +6,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.List;
+
 /**
  * Redis 配置（Lettuce + 自定义序列化）
  * 
@@ -56,4 +61,31 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    /**
+     * Redis 发布订阅监听容器（用于跨节点广播本地缓存失效）
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(LettuceConnectionFactory factory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        return container;
+    }
+
+    /**
+     * 登录失败滑动窗口计数脚本（返回窗口内失败次数，达到阈值时写入锁定键）
+     */
+    @Bean
+    public RedisScript<Long> loginFailureScript() {
+        return RedisScript.of(new ClassPathResource("scripts/redis/login_failure.lua"), Long.class);
+    }
+
+    /**
+     * 令牌桶限流脚本（返回 {是否放行, 建议重试等待毫秒}）
+     */
+    @Bean
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> tokenBucketScript() {
+        return RedisScript.of(new ClassPathResource("scripts/redis/token_bucket.lua"), List.class);
+    }
 }
@@ -0,0 +1,315 @@
+package com.sciz.server.infrastructure.config.cache;
+
+import com.sciz.server.domain.pojo.entity.user.SysPermission;
+import com.sciz.server.domain.pojo.entity.user.SysRole;
+import com.sciz.server.domain.pojo.repository.user.SysPermissionRepo;
+import com.sciz.server.domain.pojo.repository.user.SysRolePermissionRepo;
+import com.sciz.server.domain.pojo.repository.user.SysRoleRepo;
+import com.sciz.server.infrastructure.shared.constant.CacheConstant;
+import com.sciz.server.infrastructure.shared.utils.RedisUtil;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 角色权限位图索引
+ *
+ * <p>
+ * 全部未删除权限按ID升序编为稠密下标，每个角色持有一个 BitSet；用户有效权限为其角色位图按位或，再与行业掩码按位与。
+ * 索引为不可变快照，计算结果按角色组合缓存在快照内，内存随角色组合数而非用户数增长。
+ * 角色/权限变更时在事务提交后递增 Redis 版本号并广播，各节点重建快照；定时比对版本号兜底广播丢失。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className RolePermissionIndex
+ * @date 2025-11-23 14:00
+ */
+@Slf4j
+@Component
+public class RolePermissionIndex implements MessageListener {
+
+    private static final int MAX_MEMO_SIZE = 4096;
+
+    private final SysPermissionRepo permissionRepo;
+    private final SysRoleRepo roleRepo;
+    private final SysRolePermissionRepo rolePermissionRepo;
+    private final StringRedisTemplate redis;
+    private volatile Snapshot snapshot;
+
+    public RolePermissionIndex(SysPermissionRepo permissionRepo,
+            SysRoleRepo roleRepo,
+            SysRolePermissionRepo rolePermissionRepo,
+            StringRedisTemplate redis,
+            RedisMessageListenerContainer listenerContainer) {
+        this.permissionRepo = permissionRepo;
+        this.roleRepo = roleRepo;
+        this.rolePermissionRepo = rolePermissionRepo;
+        this.redis = redis;
+        listenerContainer.addMessageListener(this, new ChannelTopic(CacheConstant.PERMISSION_INDEX_CHANNEL));
+    }
+
+    /**
+     * 计算角色组合的权限码
+     *
+     * @param roleIds      List<Long> 角色ID列表（已排序去重）
+     * @param industryType String 行业类型（为空时不过滤）
+     * @return List<String> 权限码列表（不可变）
+     */
+    public List<String> permissionCodes(List<Long> roleIds, String industryType) {
+        var current = current();
+        return current.memo(current.permissionCodeMemo, new RoleSetKey(industryType, roleIds),
+                current::computePermissionCodes);
+    }
+
+    /**
+     * 计算角色组合的角色编码
+     *
+     * @param roleIds      List<Long> 角色ID列表（已排序去重）
+     * @param industryType String 行业类型（为空时不过滤）
+     * @return List<String> 角色编码列表（不可变）
+     */
+    public List<String> roleCodes(List<Long> roleIds, String industryType) {
+        var current = current();
+        return current.memo(current.roleCodeMemo, new RoleSetKey(industryType, roleIds),
+                current::computeRoleCodes);
+    }
+
+    /**
+     * 计算角色组合的权限实体（供菜单组装使用）
+     *
+     * @param roleIds      List<Long> 角色ID列表
+     * @param industryType String 行业类型（为空时不过滤）
+     * @return List<SysPermission> 权限列表（按ID升序）
+     */
+    public List<SysPermission> permissions(List<Long> roleIds, String industryType) {
+        var current = current();
+        return current.effectiveBits(new RoleSetKey(industryType, roleIds)).stream()
+                .mapToObj(current.permissions::get)
+                .toList();
+    }
+
+    /**
+     * 当前索引版本号（角色/权限每次变更递增，可作为派生缓存键的一部分实现惰性失效）
+     *
+     * @return long 版本号
+     */
+    public long version() {
+        return current().version;
+    }
+
+    /**
+     * 角色或权限变更后调用：事务提交后递增版本号、重建本节点索引并广播其他节点
+     */
+    public void publishChange() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doPublishChange();
+                }
+            });
+            return;
+        }
+        doPublishChange();
+    }
+
+    /**
+     * 比对 Redis 版本号，不一致时重建（兜底广播丢失）
+     */
+    public void syncVersion() {
+        var current = snapshot;
+        if (current == null) {
+            return;
+        }
+        readVersion().filter(version -> version != current.version)
+                .ifPresent(this::rebuild);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        var payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            var version = Long.parseLong(payload);
+            var current = snapshot;
+            if (current == null || version != current.version) {
+                rebuild(version);
+            }
+        } catch (NumberFormatException exception) {
+            log.warn(String.format("忽略无法解析的权限索引广播: payload=%s", payload));
+        }
+    }
+
+    private void doPublishChange() {
+        Long version = null;
+        try {
+            version = RedisUtil.incrBy(redis, CacheConstant.PERMISSION_INDEX_VERSION_KEY, 1L);
+        } catch (Exception exception) {
+            log.warn(String.format("递增权限索引版本失败，按当前版本重建本节点: err=%s", exception.getMessage()));
+        }
+        if (version == null) {
+            // 版本号只以 Redis 为准：递增失败时不在本地推算版本，其他节点依赖版本比对
+            rebuild(current().version);
+            return;
+        }
+        rebuild(version);
+        try {
+            redis.convertAndSend(CacheConstant.PERMISSION_INDEX_CHANNEL, String.valueOf(version));
+        } catch (Exception exception) {
+            log.warn(String.format("广播权限索引变更失败，其他节点依赖版本比对: version=%s, err=%s", version,
+                    exception.getMessage()));
+        }
+    }
+
+    private Snapshot current() {
+        var current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = load(readVersion().orElse(0L));
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * 从数据库重建快照（调用方负责比对版本号）
+     *
+     * @param version long 快照对应的 Redis 版本号
+     */
+    private synchronized void rebuild(long version) {
+        snapshot = load(version);
+    }
+
+    private Optional<Long> readVersion() {
+        try {
+            return Optional.ofNullable(RedisUtil.get(redis, CacheConstant.PERMISSION_INDEX_VERSION_KEY))
+                    .map(Long::parseLong)
+                    .or(() -> Optional.of(0L));
+        } catch (Exception exception) {
+            log.warn(String.format("读取权限索引版本失败: err=%s", exception.getMessage()));
+            return Optional.empty();
+        }
+    }
+
+    private Snapshot load(long version) {
+        var startTime = System.currentTimeMillis();
+        var permissions = permissionRepo.listAllNotDeleted();
+        var bitByPermissionId = new HashMap<Long, Integer>(permissions.size() * 2);
+        var industryMasks = new HashMap<String, BitSet>();
+        for (var bit = 0; bit < permissions.size(); bit++) {
+            var permission = permissions.get(bit);
+            bitByPermissionId.put(permission.getId(), bit);
+            if (permission.getIndustryType() != null) {
+                industryMasks.computeIfAbsent(permission.getIndustryType(), key -> new BitSet()).set(bit);
+            }
+        }
+
+        var rolePermissionBits = new HashMap<Long, BitSet>();
+        for (var relation : rolePermissionRepo.listAllNotDeleted()) {
+            var bit = bitByPermissionId.get(relation.getPermissionId());
+            if (bit != null) {
+                rolePermissionBits.computeIfAbsent(relation.getRoleId(), key -> new BitSet(permissions.size()))
+                        .set(bit);
+            }
+        }
+
+        var roles = roleRepo.listAllNotDeleted().stream()
+                .collect(Collectors.toMap(SysRole::getId, Function.identity(), (left, right) -> left));
+        log.info(String.format("角色权限索引已重建: version=%s, permissionCount=%s, roleCount=%s, costMs=%s",
+                version, permissions.size(), roles.size(), System.currentTimeMillis() - startTime));
+        return new Snapshot(version, List.copyOf(permissions), Map.copyOf(rolePermissionBits),
+                Map.copyOf(industryMasks), Map.copyOf(roles));
+    }
+
+    /**
+     * 角色组合键
+     */
+    private record RoleSetKey(String industryType, List<Long> roleIds) {
+    }
+
+    /**
+     * 不可变索引快照
+     */
+    private static final class Snapshot {
+
+        private final long version;
+        private final List<SysPermission> permissions;
+        private final Map<Long, BitSet> rolePermissionBits;
+        private final Map<String, BitSet> industryMasks;
+        private final Map<Long, SysRole> roles;
+        private final Map<RoleSetKey, List<String>> permissionCodeMemo = new ConcurrentHashMap<>();
+        private final Map<RoleSetKey, List<String>> roleCodeMemo = new ConcurrentHashMap<>();
+
+        private Snapshot(long version, List<SysPermission> permissions, Map<Long, BitSet> rolePermissionBits,
+                Map<String, BitSet> industryMasks, Map<Long, SysRole> roles) {
+            this.version = version;
+            this.permissions = permissions;
+            this.rolePermissionBits = rolePermissionBits;
+            this.industryMasks = industryMasks;
+            this.roles = roles;
+        }
+
+        private List<String> memo(Map<RoleSetKey, List<String>> memo, RoleSetKey key,
+                Function<RoleSetKey, List<String>> compute) {
+            var cached = memo.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            if (memo.size() >= MAX_MEMO_SIZE) {
+                memo.clear();
+            }
+            return memo.computeIfAbsent(key, compute);
+        }
+
+        private BitSet effectiveBits(RoleSetKey key) {
+            var bits = new BitSet(permissions.size());
+            for (var roleId : key.roleIds()) {
+                var roleBits = rolePermissionBits.get(roleId);
+                if (roleBits != null) {
+                    bits.or(roleBits);
+                }
+            }
+            if (key.industryType() != null) {
+                bits.and(industryMasks.getOrDefault(key.industryType(), new BitSet()));
+            }
+            return bits;
+        }
+
+        private List<String> computePermissionCodes(RoleSetKey key) {
+            return effectiveBits(key).stream()
+                    .mapToObj(bit -> permissions.get(bit).getPermissionCode())
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .toList();
+        }
+
+        private List<String> computeRoleCodes(RoleSetKey key) {
+            return key.roleIds().stream()
+                    .map(roles::get)
+                    .filter(Objects::nonNull)
+                    .filter(role -> key.industryType() == null || key.industryType().equals(role.getIndustryType()))
+                    .map(SysRole::getRoleCode)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .toList();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.sciz.server.infrastructure.config.event;
 
+import com.sciz.server.infrastructure.shared.utils.LoginUserUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -42,6 +43,7 @@ public class AsyncEventConfig {
 
         // 线程名前缀
         executor.setThreadNamePrefix("event-handler-");
+        executor.setTaskDecorator(LoginUserUtil::propagate);
 
         // 拒绝策略：由调用线程处理
         executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
@@ -1,6 +1,8 @@
 package com.sciz.server.infrastructure.config.event;
 
+import com.sciz.server.infrastructure.shared.utils.LoginUserUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -29,6 +31,7 @@ public class AsyncGlobalConfig {
         executor.setMaxPoolSize(32);
         executor.setQueueCapacity(200);
         executor.setThreadNamePrefix("global-exec-");
+        executor.setTaskDecorator(LoginUserUtil::propagate);
         executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(60);
@@ -38,4 +41,71 @@ public class AsyncGlobalConfig {
                 String.valueOf(executor.getThreadPoolExecutor().getQueue().remainingCapacity())));
         return executor;
     }
+
+    /**
+     * 文件传输执行器（批量上传时并发写入对象存储，线程数即并发上限）
+     *
+     * @param parallelism int 并发传输上限
+     * @return Executor 执行器
+     */
+    @Bean("fileTransferExecutor")
+    public Executor fileTransferExecutor(@Value("${file.upload.batch-parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("file-transfer-");
+        executor.setTaskDecorator(LoginUserUtil::propagate);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        log.info(String.format("文件传输线程池初始化完成: parallelism=%s", parallelism));
+        return executor;
+    }
+
+    /**
+     * 缩略图生成执行器（CPU 密集，线程数与队列均有界，队列满时由调用方放弃任务）
+     *
+     * @param poolSize      int 线程数
+     * @param queueCapacity int 队列容量
+     * @return Executor 执行器
+     */
+    @Bean("thumbnailExecutor")
+    public Executor thumbnailExecutor(@Value("${file.thumbnail.pool-size:2}") int poolSize,
+            @Value("${file.thumbnail.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("file-thumbnail-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        log.info(String.format("缩略图线程池初始化完成: poolSize=%s, queueCapacity=%s", poolSize, queueCapacity));
+        return executor;
+    }
+
+    /**
+     * 密码哈希执行器（BCrypt 为 CPU 密集，线程数默认等于 CPU 核数；队列满时拒绝，由调用方返回稍后重试）
+     *
+     * @param poolSize      int 线程数（小于等于 0 时取 CPU 核数）
+     * @param queueCapacity int 队列容量
+     * @return Executor 执行器
+     */
+    @Bean("passwordHashExecutor")
+    public Executor passwordHashExecutor(@Value("${auth.password-hash.pool-size:0}") int poolSize,
+            @Value("${auth.password-hash.queue-capacity:64}") int queueCapacity) {
+        var threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        log.info(String.format("密码哈希线程池初始化完成: poolSize=%s, queueCapacity=%s", threads, queueCapacity));
+        return executor;
+    }
 }
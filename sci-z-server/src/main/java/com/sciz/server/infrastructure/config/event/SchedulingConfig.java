@@ -0,0 +1,20 @@
+package com.sciz.server.infrastructure.config.event;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定时任务配置
+ *
+ * <p>
+ * 开启 {@code @Scheduled} 支持，调度线程池大小由 {@code spring.task.scheduling.pool.size} 控制。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className SchedulingConfig
+ * @date 2025-11-20 15:40
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
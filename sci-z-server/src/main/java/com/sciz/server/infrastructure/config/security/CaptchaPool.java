@@ -0,0 +1,109 @@
+package com.sciz.server.infrastructure.config.security;
+
+import com.sciz.server.infrastructure.shared.utils.CaptchaUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 图形验证码预渲染池
+ *
+ * <p>
+ * 后台生产线程持续渲染验证码（文本 + Base64 图片）填充有界队列，队列满时阻塞等待；
+ * 请求线程只做出队，每个验证码仅被取出一次、不会复用。池被取空时退化为在请求线程同步渲染。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className CaptchaPool
+ * @date 2025-11-24 16:00
+ */
+@Slf4j
+@Component
+public class CaptchaPool {
+
+    private static final long RENDER_FAILURE_BACKOFF_MS = 1000L;
+
+    private final BlockingQueue<Captcha> queue;
+    private final int producerThreads;
+    private final List<Thread> producers = new ArrayList<>();
+    private volatile boolean running;
+
+    public CaptchaPool(@Value("${auth.captcha-pool.size:256}") int size,
+            @Value("${auth.captcha-pool.producer-threads:1}") int producerThreads) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(size, 1));
+        this.producerThreads = Math.max(producerThreads, 1);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (var i = 0; i < producerThreads; i++) {
+            var producer = new Thread(this::produce, "captcha-producer-" + i);
+            producer.setDaemon(true);
+            producer.start();
+            producers.add(producer);
+        }
+        log.info(String.format("验证码预渲染池已启动: capacity=%s, producerThreads=%s",
+                queue.remainingCapacity(), producerThreads));
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        producers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * 取出一个验证码（优先取预渲染结果，池空时同步渲染）
+     *
+     * @return Captcha 验证码
+     */
+    public Captcha take() {
+        var captcha = queue.poll();
+        if (captcha != null) {
+            return captcha;
+        }
+        log.debug("验证码预渲染池为空，同步渲染");
+        return render();
+    }
+
+    private void produce() {
+        while (running) {
+            try {
+                queue.put(render());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error(String.format("预渲染验证码失败: err=%s", e.getMessage()), e);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(RENDER_FAILURE_BACKOFF_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private Captcha render() {
+        var text = CaptchaUtil.generateText();
+        return new Captcha(text, CaptchaUtil.generateImage(text));
+    }
+
+    /**
+     * 预渲染的验证码
+     *
+     * @param text  String 验证码文本
+     * @param image String Base64 图片（data:image/png;base64,xxx）
+     */
+    public record Captcha(String text, String image) {
+    }
+}
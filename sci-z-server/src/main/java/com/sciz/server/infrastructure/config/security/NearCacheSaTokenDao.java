@@ -0,0 +1,221 @@
+package com.sciz.server.infrastructure.config.security;
+
+import cn.dev33.satoken.dao.SaTokenDao;
+import cn.dev33.satoken.dao.SaTokenDaoRedis;
+import com.sciz.server.infrastructure.shared.cache.LocalTtlCache;
+import com.sciz.server.infrastructure.shared.constant.CacheConstant;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sa-Token 持久层近缓存
+ *
+ * <p>
+ * 包装 sa-token-redis 的 {@link SaTokenDaoRedis}，在进程内短时缓存 token → loginId 与 Session 等读结果，
+ * 鉴权稳态下每个请求不再访问 Redis：
+ * <ul>
+ * <li>写入/删除（登录、注销、踢人下线、Session 更新）先写 Redis，再更新本节点缓存并广播其他节点失效</li>
+ * <li>续期（过期时间更新、最近活跃时间更新）同一键在续期间隔内最多写一次 Redis</li>
+ * <li>广播丢失时各节点依赖本地 TTL 兜底，因此 TTL 应远小于 token 有效期</li>
+ * </ul>
+ * 续期间隔需小于 sa-token.active-timeout（开启时），否则活跃时间可能来不及刷新导致 token 被冻结。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className NearCacheSaTokenDao
+ * @date 2025-11-24 16:00
+ */
+@Slf4j
+@Primary
+@Component
+public class NearCacheSaTokenDao implements SaTokenDao, MessageListener {
+
+    private static final String PAYLOAD_SEPARATOR = "|";
+    private static final String LAST_ACTIVE_KEY_MARK = ":last-active:";
+
+    private final SaTokenDaoRedis delegate;
+    private final StringRedisTemplate redis;
+    private final boolean enabled;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final LocalTtlCache<String, String> values;
+    private final LocalTtlCache<String, Object> objects;
+    private final LocalTtlCache<String, Boolean> renewedKeys;
+
+    public NearCacheSaTokenDao(SaTokenDaoRedis delegate, StringRedisTemplate redis,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${auth.token-near-cache.enabled:true}") boolean enabled,
+            @Value("${auth.token-near-cache.ttl-seconds:5}") long ttlSeconds,
+            @Value("${auth.token-near-cache.max-size:50000}") int maxSize,
+            @Value("${auth.token-near-cache.renew-interval-seconds:60}") long renewIntervalSeconds) {
+        this.delegate = delegate;
+        this.redis = redis;
+        this.enabled = enabled;
+        this.values = new LocalTtlCache<>(Duration.ofSeconds(ttlSeconds), maxSize);
+        this.objects = new LocalTtlCache<>(Duration.ofSeconds(ttlSeconds), maxSize);
+        this.renewedKeys = new LocalTtlCache<>(Duration.ofSeconds(renewIntervalSeconds), maxSize);
+        if (enabled) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(CacheConstant.SA_TOKEN_NEAR_CACHE_CHANNEL));
+        }
+    }
+
+    // ==================== 字符串读写 ====================
+
+    @Override
+    public String get(String key) {
+        return enabled ? values.get(key, delegate::get) : delegate.get(key);
+    }
+
+    @Override
+    public void set(String key, String value, long timeout) {
+        delegate.set(key, value, timeout);
+        onValueWritten(key, value);
+    }
+
+    @Override
+    public void update(String key, String value) {
+        if (key.contains(LAST_ACTIVE_KEY_MARK) && throttled(key)) {
+            return;
+        }
+        delegate.update(key, value);
+        onValueWritten(key, value);
+    }
+
+    @Override
+    public void delete(String key) {
+        delegate.delete(key);
+        evictAndPublish(key);
+    }
+
+    @Override
+    public long getTimeout(String key) {
+        return delegate.getTimeout(key);
+    }
+
+    @Override
+    public void updateTimeout(String key, long timeout) {
+        if (throttled(key)) {
+            return;
+        }
+        delegate.updateTimeout(key, timeout);
+    }
+
+    // ==================== 对象读写（Session 等） ====================
+
+    @Override
+    public Object getObject(String key) {
+        return enabled ? objects.get(key, delegate::getObject) : delegate.getObject(key);
+    }
+
+    @Override
+    public void setObject(String key, Object object, long timeout) {
+        delegate.setObject(key, object, timeout);
+        onObjectWritten(key, object);
+    }
+
+    @Override
+    public void updateObject(String key, Object object) {
+        delegate.updateObject(key, object);
+        onObjectWritten(key, object);
+    }
+
+    @Override
+    public void deleteObject(String key) {
+        delegate.deleteObject(key);
+        evictAndPublish(key);
+    }
+
+    @Override
+    public long getObjectTimeout(String key) {
+        return delegate.getObjectTimeout(key);
+    }
+
+    @Override
+    public void updateObjectTimeout(String key, long timeout) {
+        if (throttled(key)) {
+            return;
+        }
+        delegate.updateObjectTimeout(key, timeout);
+    }
+
+    @Override
+    public List<String> searchData(String prefix, String keyword, int start, int size, boolean sortType) {
+        return delegate.searchData(prefix, keyword, start, size, sortType);
+    }
+
+    // ==================== 跨节点失效 ====================
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        var payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        var separatorIndex = payload.indexOf(PAYLOAD_SEPARATOR);
+        if (separatorIndex <= 0) {
+            log.warn(String.format("忽略无法解析的 Token 近缓存失效消息: payload=%s", payload));
+            return;
+        }
+        // 本节点写入时已更新本地缓存，忽略自身广播
+        if (nodeId.equals(payload.substring(0, separatorIndex))) {
+            return;
+        }
+        evict(payload.substring(separatorIndex + PAYLOAD_SEPARATOR.length()));
+    }
+
+    private void onValueWritten(String key, String value) {
+        if (!enabled) {
+            return;
+        }
+        evictAndPublish(key);
+        values.put(key, value);
+    }
+
+    private void onObjectWritten(String key, Object object) {
+        if (!enabled) {
+            return;
+        }
+        evictAndPublish(key);
+        objects.put(key, object);
+    }
+
+    private void evictAndPublish(String key) {
+        if (!enabled) {
+            return;
+        }
+        evict(key);
+        try {
+            redis.convertAndSend(CacheConstant.SA_TOKEN_NEAR_CACHE_CHANNEL, nodeId + PAYLOAD_SEPARATOR + key);
+        } catch (Exception exception) {
+            // 广播失败时其他节点依赖 TTL 过期
+            log.warn(String.format("广播 Token 近缓存失效失败: key=%s, err=%s", key, exception.getMessage()));
+        }
+    }
+
+    private void evict(String key) {
+        values.invalidate(key);
+        objects.invalidate(key);
+        renewedKeys.invalidate(key);
+    }
+
+    /**
+     * 续期节流：续期间隔内同一键已续期过则跳过本次写入
+     */
+    private boolean throttled(String key) {
+        if (!enabled) {
+            return false;
+        }
+        if (renewedKeys.getIfPresent(key).isPresent()) {
+            return true;
+        }
+        renewedKeys.put(key, Boolean.TRUE);
+        return false;
+    }
+}
@@ -0,0 +1,138 @@
+package com.sciz.server.infrastructure.config.security;
+
+import com.sciz.server.infrastructure.shared.exception.BusinessException;
+import com.sciz.server.infrastructure.shared.exception.TooManyRequestsException;
+import com.sciz.server.infrastructure.shared.result.ResultCode;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.mindrot.jbcrypt.BCrypt;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 密码哈希器
+ *
+ * <p>
+ * BCrypt 计算在独立的有界线程池中执行，请求线程仅等待结果，登录高峰的 CPU 消耗不会占满 Web 工作线程；
+ * 线程池队列已满或等待超时时直接拒绝（HTTP 429 + Retry-After），避免请求无限堆积。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className PasswordHasher
+ * @date 2025-11-24 09:30
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    private static final String BUSY_MESSAGE = "当前登录人数较多，请稍后再试";
+
+    private final Executor executor;
+    private final int logRounds;
+    private final long timeoutMs;
+    private final long retryAfterSeconds;
+
+    public PasswordHasher(@Qualifier("passwordHashExecutor") Executor executor,
+            @Value("${auth.password-hash.log-rounds:10}") int logRounds,
+            @Value("${auth.password-hash.timeout-ms:5000}") long timeoutMs,
+            @Value("${auth.password-hash.retry-after-seconds:3}") long retryAfterSeconds) {
+        this.executor = executor;
+        this.logRounds = logRounds;
+        this.timeoutMs = timeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * 校验明文密码与 bcrypt 哈希是否匹配
+     *
+     * @param raw  String 明文密码
+     * @param hash String bcrypt 哈希
+     * @return boolean 是否匹配（哈希格式非法时返回 false）
+     */
+    public boolean matches(String raw, String hash) {
+        return Boolean.TRUE.equals(await(() -> {
+            try {
+                return BCrypt.checkpw(raw, hash);
+            } catch (Exception e) {
+                return false;
+            }
+        }));
+    }
+
+    /**
+     * 以当前配置的 cost 计算 bcrypt 哈希
+     *
+     * @param raw String 明文密码
+     * @return String bcrypt 哈希
+     */
+    public String hash(String raw) {
+        return await(() -> BCrypt.hashpw(raw, BCrypt.gensalt(logRounds)));
+    }
+
+    /**
+     * 哈希 cost 是否低于当前配置（需要在登录成功后重新哈希）
+     *
+     * @param hash String bcrypt 哈希（格式 $2a$10$...）
+     * @return boolean 是否需要重新哈希
+     */
+    public boolean needsRehash(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(hash.substring(hash.indexOf('$', 1) + 1, hash.indexOf('$', 1) + 3)) < logRounds;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 后台重新哈希（线程池繁忙时放弃，下次登录再试）
+     *
+     * @param raw      String 明文密码
+     * @param onHashed Consumer<String> 新哈希回调（在哈希线程执行）
+     */
+    public void rehashAsync(String raw, Consumer<String> onHashed) {
+        try {
+            CompletableFuture.supplyAsync(() -> BCrypt.hashpw(raw, BCrypt.gensalt(logRounds)), executor)
+                    .thenAccept(onHashed)
+                    .exceptionally(e -> {
+                        log.warn(String.format("密码重新哈希失败: err=%s", e.getMessage()));
+                        return null;
+                    });
+        } catch (RejectedExecutionException e) {
+            log.debug("密码哈希线程池繁忙，跳过重新哈希");
+        }
+    }
+
+    private <T> T await(Supplier<T> task) {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("密码哈希线程池队列已满，拒绝本次请求");
+            throw new TooManyRequestsException(BUSY_MESSAGE, retryAfterSeconds);
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn(String.format("密码哈希等待超时: timeoutMs=%s", timeoutMs));
+            throw new TooManyRequestsException(BUSY_MESSAGE, retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ResultCode.SERVER_ERROR);
+        } catch (ExecutionException e) {
+            log.error(String.format("密码哈希执行失败: err=%s", e.getCause().getMessage()), e.getCause());
+            throw new BusinessException(ResultCode.SERVER_ERROR);
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package com.sciz.server.infrastructure.config.storage;
 
+import io.minio.MinioAsyncClient;
 import io.minio.MinioClient;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -24,11 +30,54 @@ public class MinioConfig {
     @Value("${minio.secret-key:minioadmin}")
     private String secretKey;
 
+    @Value("${minio.http.max-idle-connections:32}")
+    private int maxIdleConnections;
+
+    @Value("${minio.http.keep-alive-seconds:300}")
+    private long keepAliveSeconds;
+
+    @Value("${minio.http.max-requests-per-host:64}")
+    private int maxRequestsPerHost;
+
+    @Value("${minio.http.connect-timeout-seconds:10}")
+    private long connectTimeoutSeconds;
+
+    @Value("${minio.http.io-timeout-seconds:300}")
+    private long ioTimeoutSeconds;
+
+    /**
+     * MinIO 共享 HTTP 客户端：保持长连接复用，并放宽单主机并发以支撑分片并发上传
+     */
+    @Bean
+    public OkHttpClient minioHttpClient() {
+        var dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequestsPerHost * 2);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        return new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS))
+                .dispatcher(dispatcher)
+                .connectTimeout(Duration.ofSeconds(connectTimeoutSeconds))
+                .readTimeout(Duration.ofSeconds(ioTimeoutSeconds))
+                .writeTimeout(Duration.ofSeconds(ioTimeoutSeconds))
+                .retryOnConnectionFailure(true)
+                .build();
+    }
+
     @Bean
-    public MinioClient minioClient() {
+    public MinioClient minioClient(OkHttpClient minioHttpClient) {
         return MinioClient.builder()
                 .endpoint(endpoint)
                 .credentials(accessKey, secretKey)
+                .httpClient(minioHttpClient)
                 .build();
     }
+
+    @Bean
+    public ParallelMinioClient parallelMinioClient(OkHttpClient minioHttpClient) {
+        return new ParallelMinioClient(MinioAsyncClient.builder()
+                .endpoint(endpoint)
+                .credentials(accessKey, secretKey)
+                .httpClient(minioHttpClient)
+                .build());
+    }
 }
@@ -0,0 +1,90 @@
+package com.sciz.server.infrastructure.config.storage;
+
+import com.google.common.collect.HashMultimap;
+import io.minio.CreateMultipartUploadResponse;
+import io.minio.MinioAsyncClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.UploadPartResponse;
+import io.minio.messages.Part;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 支持并发分片上传的 MinIO 异步客户端
+ *
+ * <p>
+ * MinIO SDK 的分片上传原语（创建/上传分片/合并/中止）为 protected，
+ * 此处仅做公开转发，供 {@code MinioUtil} 自行调度分片并发；与同步客户端共享 HTTP 连接池。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className ParallelMinioClient
+ * @date 2025-11-22 14:00
+ */
+public class ParallelMinioClient extends MinioAsyncClient {
+
+    public ParallelMinioClient(MinioAsyncClient client) {
+        super(client);
+    }
+
+    /**
+     * 创建分片上传
+     *
+     * @param bucket          String 桶名
+     * @param objectName      String 对象名
+     * @param contentType     String 内容类型
+     * @param contentEncoding String 内容编码（可为空）
+     * @return CompletableFuture<CreateMultipartUploadResponse> 创建结果（含 uploadId）
+     */
+    public CompletableFuture<CreateMultipartUploadResponse> createMultipartUpload(String bucket, String objectName,
+            String contentType, String contentEncoding) throws Exception {
+        var headers = HashMultimap.<String, String>create();
+        if (contentType != null) {
+            headers.put("Content-Type", contentType);
+        }
+        if (contentEncoding != null) {
+            headers.put("Content-Encoding", contentEncoding);
+        }
+        return createMultipartUploadAsync(bucket, null, objectName, headers, null);
+    }
+
+    /**
+     * 上传单个分片
+     *
+     * @param bucket     String 桶名
+     * @param objectName String 对象名
+     * @param data       byte[] 分片数据
+     * @param length     int 有效长度
+     * @param uploadId   String 分片上传ID
+     * @param partNumber int 分片序号（从 1 开始）
+     * @return CompletableFuture<UploadPartResponse> 上传结果（含 ETag）
+     */
+    public CompletableFuture<UploadPartResponse> uploadPart(String bucket, String objectName, byte[] data,
+            int length, String uploadId, int partNumber) throws Exception {
+        return uploadPartAsync(bucket, null, objectName, data, length, uploadId, partNumber, null, null);
+    }
+
+    /**
+     * 合并分片
+     *
+     * @param bucket     String 桶名
+     * @param objectName String 对象名
+     * @param uploadId   String 分片上传ID
+     * @param parts      Part[] 已上传分片（按序号排列）
+     * @return CompletableFuture<ObjectWriteResponse> 合并结果
+     */
+    public CompletableFuture<ObjectWriteResponse> completeMultipartUpload(String bucket, String objectName,
+            String uploadId, Part[] parts) throws Exception {
+        return completeMultipartUploadAsync(bucket, null, objectName, uploadId, parts, null, null);
+    }
+
+    /**
+     * 中止分片上传（释放服务端已上传的分片）
+     *
+     * @param bucket     String 桶名
+     * @param objectName String 对象名
+     * @param uploadId   String 分片上传ID
+     */
+    public void abortMultipartUpload(String bucket, String objectName, String uploadId) throws Exception {
+        abortMultipartUploadAsync(bucket, null, objectName, uploadId, null, null).join();
+    }
+}
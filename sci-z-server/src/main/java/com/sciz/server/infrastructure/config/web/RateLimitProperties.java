@@ -0,0 +1,48 @@
+package com.sciz.server.infrastructure.config.web;
+
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 接口限流配置
+ *
+ * @author JiaWen.Wu
+ * @className RateLimitProperties
+ * @date 2025-11-24 14:00
+ */
+@ConfigurationProperties(prefix = "rate-limit")
+public record RateLimitProperties(Boolean enabled, Map<String, Rule> rules) {
+
+    /**
+     * 是否启用限流（未配置时默认启用）
+     */
+    public boolean isEnabled() {
+        return !Boolean.FALSE.equals(enabled);
+    }
+
+    /**
+     * 查找规则
+     *
+     * @param name String 规则名
+     * @return Optional<Rule> 有效规则
+     */
+    public Optional<Rule> rule(String name) {
+        return Optional.ofNullable(rules)
+                .map(map -> map.get(name))
+                .filter(Rule::isValid);
+    }
+
+    /**
+     * 令牌桶规则
+     *
+     * @param capacity        long 桶容量（允许的突发请求数）
+     * @param refillPerSecond double 每秒补充令牌数（持续速率）
+     */
+    public record Rule(long capacity, double refillPerSecond) {
+
+        public boolean isValid() {
+            return capacity > 0 && refillPerSecond > 0;
+        }
+    }
+}
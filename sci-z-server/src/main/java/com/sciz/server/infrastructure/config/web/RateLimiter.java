@@ -0,0 +1,149 @@
+package com.sciz.server.infrastructure.config.web;
+
+import com.sciz.server.infrastructure.shared.cache.LocalTtlCache;
+import com.sciz.server.infrastructure.shared.constant.CacheConstant;
+import com.sciz.server.infrastructure.shared.exception.TooManyRequestsException;
+import com.sciz.server.infrastructure.shared.utils.RedisUtil;
+import java.time.Duration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 令牌桶限流器
+ *
+ * <p>
+ * 先做本地预检（本节点令牌桶已耗尽、或 Redis 近期已判定限流且未到重试时间时直接拒绝，不访问 Redis），
+ * 通过后再由 Redis 令牌桶脚本做全局判定。Redis 不可用时放行，避免限流组件故障影响业务。
+ * 供 {@code RateLimitInterceptor} 按注解维度限流，也供业务代码按请求体中的目标（邮箱、手机号等）限流。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className RateLimiter
+ * @date 2025-11-24 14:00
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private static final Duration LOCAL_BUCKET_TTL = Duration.ofMinutes(10);
+    private static final int LOCAL_BUCKET_MAX_SIZE = 100_000;
+
+    private final RateLimitProperties properties;
+    private final StringRedisTemplate redis;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> tokenBucketScript;
+    private final LocalTtlCache<String, LocalBucket> localBuckets =
+            new LocalTtlCache<>(LOCAL_BUCKET_TTL, LOCAL_BUCKET_MAX_SIZE);
+
+    @SuppressWarnings("rawtypes")
+    public RateLimiter(RateLimitProperties properties, StringRedisTemplate redis,
+            RedisScript<List> tokenBucketScript) {
+        this.properties = properties;
+        this.redis = redis;
+        this.tokenBucketScript = tokenBucketScript;
+    }
+
+    /**
+     * 扣减一个令牌，超限时抛出 429（限流关闭或规则未配置时放行）
+     *
+     * @param ruleName String 规则名（对应配置 rate-limit.rules 下的键）
+     * @param key      String 限流维度键（如 ip:1.2.3.4、email:a@b.com）
+     * @param message  String 被限流时的提示信息
+     */
+    public void acquire(String ruleName, String key, String message) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        var rule = properties.rule(ruleName);
+        if (rule.isEmpty()) {
+            log.debug(String.format("[RateLimiter] 未配置限流规则，放行: rule=%s", ruleName));
+            return;
+        }
+
+        var bucketKey = String.format("%s%s:%s", CacheConstant.RATE_LIMIT_PREFIX, ruleName, key);
+        var localBucket = localBuckets.get(bucketKey, ignored -> new LocalBucket(rule.get()));
+        var now = System.currentTimeMillis();
+
+        // 1. 本地预检
+        var localRetryAfterMs = localBucket.tryAcquire(now);
+        if (localRetryAfterMs > 0) {
+            throw rejected(message, bucketKey, localRetryAfterMs);
+        }
+
+        // 2. Redis 全局令牌桶
+        var retryAfterMs = acquireGlobal(bucketKey, rule.get());
+        if (retryAfterMs > 0) {
+            localBucket.blockUntil(now + retryAfterMs);
+            throw rejected(message, bucketKey, retryAfterMs);
+        }
+    }
+
+    /**
+     * 执行 Redis 令牌桶脚本
+     *
+     * @return long 需等待毫秒（0 表示放行）
+     */
+    private long acquireGlobal(String bucketKey, RateLimitProperties.Rule rule) {
+        try {
+            List<?> result = RedisUtil.execute(redis, tokenBucketScript, List.of(bucketKey),
+                    rule.capacity(), rule.refillPerSecond());
+            if (result == null || result.size() < 2 || ((Number) result.get(0)).longValue() == 1L) {
+                return 0L;
+            }
+            return Math.max(((Number) result.get(1)).longValue(), 1L);
+        } catch (Exception e) {
+            log.warn(String.format("[RateLimiter] Redis 限流判定失败，放行: key=%s, err=%s", bucketKey,
+                    e.getMessage()));
+            return 0L;
+        }
+    }
+
+    private TooManyRequestsException rejected(String message, String bucketKey, long retryAfterMs) {
+        log.warn(String.format("[RateLimiter] 请求被限流: key=%s, retryAfterMs=%s", bucketKey, retryAfterMs));
+        return new TooManyRequestsException(message, Math.max((retryAfterMs + 999) / 1000, 1L));
+    }
+
+    /**
+     * 本节点令牌桶（与全局规则同额度：单节点已超额时全局必然超额，可直接拒绝）
+     */
+    private static final class LocalBucket {
+
+        private final long capacity;
+        private final double refillPerMs;
+        private double tokens;
+        private long lastRefillMs;
+        private long blockedUntilMs;
+
+        private LocalBucket(RateLimitProperties.Rule rule) {
+            this.capacity = rule.capacity();
+            this.refillPerMs = rule.refillPerSecond() / 1000D;
+            this.tokens = rule.capacity();
+            this.lastRefillMs = System.currentTimeMillis();
+        }
+
+        /**
+         * 尝试扣减一个令牌
+         *
+         * @return long 需等待毫秒（0 表示放行）
+         */
+        private synchronized long tryAcquire(long now) {
+            if (now < blockedUntilMs) {
+                return blockedUntilMs - now;
+            }
+            tokens = Math.min(capacity, tokens + Math.max(0L, now - lastRefillMs) * refillPerMs);
+            lastRefillMs = now;
+            if (tokens >= 1D) {
+                tokens -= 1D;
+                return 0L;
+            }
+            return Math.max((long) Math.ceil((1D - tokens) / refillPerMs), 1L);
+        }
+
+        private synchronized void blockUntil(long untilMs) {
+            blockedUntilMs = Math.max(blockedUntilMs, untilMs);
+        }
+    }
+}
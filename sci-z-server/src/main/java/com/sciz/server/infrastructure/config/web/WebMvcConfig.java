@@ -3,6 +3,8 @@ package com.sciz.server.infrastructure.config.web;
 import com.sciz.server.infrastructure.common.interceptor.AuthInterceptor;
 import com.sciz.server.infrastructure.common.interceptor.IdempotentInterceptor;
 import com.sciz.server.infrastructure.common.interceptor.LogInterceptor;
+import com.sciz.server.infrastructure.common.interceptor.RateLimitInterceptor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -15,18 +17,22 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  * @date 2025-10-29 15:00
  */
 @Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class WebMvcConfig implements WebMvcConfigurer {
 
     private final LogInterceptor logInterceptor;
     private final AuthInterceptor authInterceptor;
     private final IdempotentInterceptor idempotentInterceptor;
+    private final RateLimitInterceptor rateLimitInterceptor;
 
     public WebMvcConfig(LogInterceptor logInterceptor,
             AuthInterceptor authInterceptor,
-            IdempotentInterceptor idempotentInterceptor) {
+            IdempotentInterceptor idempotentInterceptor,
+            RateLimitInterceptor rateLimitInterceptor) {
         this.logInterceptor = logInterceptor;
         this.authInterceptor = authInterceptor;
         this.idempotentInterceptor = idempotentInterceptor;
+        this.rateLimitInterceptor = rateLimitInterceptor;
     }
 
     @Override
@@ -34,7 +40,7 @@ public class WebMvcConfig implements WebMvcConfigurer {
         /**
          * 注册 MVC 拦截器
          *
-         * - 顺序：鉴权 -> 幂等 -> 日志
+         * - 顺序：限流 -> 鉴权 -> 幂等 -> 日志（限流最先执行，滥用请求不进入后续链路）
          * - 公共路径统一排除
          *
          * @param registry InterceptorRegistry 拦截器注册器
@@ -45,7 +51,9 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 "/swagger-ui/**", "/v3/api-docs/**", "/static/**"
         };
 
-        // 顺序：鉴权 -> 幂等 -> 日志（或根据需要调整）
+        // 顺序：限流 -> 鉴权 -> 幂等 -> 日志（或根据需要调整）
+        registry.addInterceptor(rateLimitInterceptor)
+                .addPathPatterns("/**").excludePathPatterns(exclude).order(0);
         registry.addInterceptor(authInterceptor)
                 .addPathPatterns("/**").excludePathPatterns(exclude).order(1);
         registry.addInterceptor(idempotentInterceptor)
@@ -8,6 +8,8 @@ import com.sciz.server.infrastructure.external.dify.dto.*;
 import com.sciz.server.infrastructure.external.dify.entity.DifyApiKey;
 import com.sciz.server.infrastructure.external.dify.service.impl.DifyApiKeyServiceImpl;
 import com.sciz.server.infrastructure.external.dify.util.DifyApiClient;
+import com.sciz.server.infrastructure.shared.concurrent.ByteBudget;
+import com.sciz.server.infrastructure.shared.exception.BusinessException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -40,6 +42,7 @@ public class DifyApiService {
     private final DifyDocumentConfig difyDocumentConfig;
     private final ObjectMapper objectMapper;
     private final  DifyApiKeyServiceImpl difyApiKeyService;
+    private final ByteBudget byteBudget;
 
     /**
      * 创建 Chatbot 应用
@@ -340,11 +343,16 @@ public class DifyApiService {
             
             // 3. 从存储的文件创建新的MultipartFile并调用Dify API
             File storedFile = new File(storedFilePath);
-            MultipartFile newMultipartFile = createMultipartFileFromFile(storedFile, file.getOriginalFilename());
-            Map<String, Object> data = new HashMap<>();
-            data.put("data", buildDefaultConfigJson());
-            return difyApiClient.uploadFile("POST", "/datasets/" + datasetId + "/document/create-by-file", 
-                    newMultipartFile, data, userId, resourceId, keyType);
+            // 整文件读入内存，需先申请节点缓冲预算，调用结束后归还
+            try (var permit = byteBudget.acquire(storedFile.length())) {
+                MultipartFile newMultipartFile = createMultipartFileFromFile(storedFile, file.getOriginalFilename());
+                Map<String, Object> data = new HashMap<>();
+                data.put("data", buildDefaultConfigJson());
+                return difyApiClient.uploadFile("POST", "/datasets/" + datasetId + "/document/create-by-file", 
+                        newMultipartFile, data, userId, resourceId, keyType);
+            }
+        } catch (BusinessException e) {
+            throw e;
         } catch (HttpClientErrorException e) {
             log.error("Dify API调用失败: {}", e.getMessage());
             // 直接返回Dify的错误响应给前端
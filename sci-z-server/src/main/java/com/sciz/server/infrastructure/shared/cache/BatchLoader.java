@@ -0,0 +1,151 @@
+package com.sciz.server.infrastructure.shared.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 请求级批量加载器
+ *
+ * <p>
+ * 列表接口填充关联数据时，先把本页需要的键全部登记，首次取值时用一条 IN 查询一次性加载所有待加载键，
+ * 之后的取值直接命中本地结果；查询次数只与关联种类有关，与页大小无关。
+ * 实例仅在单次请求内使用（非线程安全），不做跨请求缓存。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className BatchLoader
+ * @date 2025-11-24 14:00
+ */
+public final class BatchLoader<K, V> {
+
+    private final Function<Collection<K>, Map<K, V>> batchFunction;
+    private final Set<K> pendingKeys = new LinkedHashSet<>();
+    private final Set<K> resolvedKeys = new HashSet<>();
+    private final Map<K, V> values = new HashMap<>();
+
+    private BatchLoader(Function<Collection<K>, Map<K, V>> batchFunction) {
+        this.batchFunction = batchFunction;
+    }
+
+    /**
+     * 一对一关联：批量函数返回 键 → 值 映射
+     *
+     * @param batchFunction Function<Collection<K>, Map<K, V>> 批量查询函数（入参为去重后的待加载键）
+     * @return BatchLoader<K, V> 加载器
+     */
+    public static <K, V> BatchLoader<K, V> of(Function<Collection<K>, Map<K, V>> batchFunction) {
+        return new BatchLoader<>(batchFunction);
+    }
+
+    /**
+     * 一对一关联：批量函数返回实体列表，按键提取函数建立映射（重复键保留第一个）
+     *
+     * @param batchFunction Function<Collection<K>, List<V>> 批量查询函数
+     * @param keyExtractor  Function<V, K> 实体键提取函数
+     * @return BatchLoader<K, V> 加载器
+     */
+    public static <K, V> BatchLoader<K, V> byKey(Function<Collection<K>, List<V>> batchFunction,
+            Function<V, K> keyExtractor) {
+        return new BatchLoader<>(keys -> batchFunction.apply(keys).stream()
+                .collect(Collectors.toMap(keyExtractor, Function.identity(), (existing, replacement) -> existing)));
+    }
+
+    /**
+     * 一对多关联：批量函数返回实体列表，按键分组（无关联的键取值为空列表）
+     *
+     * @param batchFunction Function<Collection<K>, List<V>> 批量查询函数
+     * @param keyExtractor  Function<V, K> 实体所属键提取函数
+     * @return BatchLoader<K, List<V>> 加载器
+     */
+    public static <K, V> BatchLoader<K, List<V>> groupingBy(Function<Collection<K>, List<V>> batchFunction,
+            Function<V, K> keyExtractor) {
+        return new BatchLoader<>(keys -> {
+            Map<K, List<V>> grouped = batchFunction.apply(keys).stream()
+                    .collect(Collectors.groupingBy(keyExtractor));
+            keys.forEach(key -> grouped.putIfAbsent(key, List.of()));
+            return grouped;
+        });
+    }
+
+    /**
+     * 登记待加载的键（null 忽略，已加载的键不重复登记）
+     *
+     * @param keys Collection<? extends K> 键集合
+     * @return BatchLoader<K, V> 当前加载器
+     */
+    public BatchLoader<K, V> prime(Collection<? extends K> keys) {
+        keys.stream()
+                .filter(Objects::nonNull)
+                .filter(key -> !resolvedKeys.contains(key))
+                .forEach(pendingKeys::add);
+        return this;
+    }
+
+    /**
+     * 从行数据中提取并登记待加载的键
+     *
+     * @param rows         Collection<T> 行数据
+     * @param keyExtractor Function<T, K> 键提取函数
+     * @return BatchLoader<K, V> 当前加载器
+     */
+    public <T> BatchLoader<K, V> prime(Collection<T> rows, Function<T, K> keyExtractor) {
+        return prime(rows.stream().map(keyExtractor).toList());
+    }
+
+    /**
+     * 取值：键未加载时连同所有已登记的键一次性加载
+     *
+     * @param key K 键
+     * @return V 值（不存在时返回 null）
+     */
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        if (!resolvedKeys.contains(key)) {
+            pendingKeys.add(key);
+            dispatch();
+        }
+        return values.get(key);
+    }
+
+    /**
+     * 取值，不存在时返回默认值
+     *
+     * @param key          K 键
+     * @param defaultValue V 默认值
+     * @return V 值
+     */
+    public V getOrDefault(K key, V defaultValue) {
+        var value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * 执行一次批量查询，并把本批所有键标记为已加载（查不到的键同样记为已加载，避免重复查询）
+     */
+    private void dispatch() {
+        if (pendingKeys.isEmpty()) {
+            return;
+        }
+        var keys = List.copyOf(pendingKeys);
+        pendingKeys.clear();
+        var loaded = batchFunction.apply(keys);
+        if (loaded != null) {
+            loaded.forEach((key, value) -> {
+                if (key != null && value != null) {
+                    values.put(key, value);
+                }
+            });
+        }
+        resolvedKeys.addAll(keys);
+    }
+}
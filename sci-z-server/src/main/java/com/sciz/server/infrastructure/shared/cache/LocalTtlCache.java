@@ -0,0 +1,128 @@
+package com.sciz.server.infrastructure.shared.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 进程内 TTL 缓存
+ *
+ * <p>
+ * 作为 Redis 前的一级缓存使用：条目写入后在 TTL 内直接命中，超过容量时先清理过期条目，仍超限则整体清空。
+ * 每次失效都会推进代数，失效前发起、失效后才完成的加载结果不会被写回，避免旧值覆盖失效。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className LocalTtlCache
+ * @date 2025-11-23 10:00
+ */
+public final class LocalTtlCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final long ttlNanos;
+    private final int maxSize;
+
+    public LocalTtlCache(Duration ttl, int maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 获取缓存值，未命中或已过期时调用加载器并写入缓存（加载结果为 null 时不缓存）
+     *
+     * @param key    K 缓存键
+     * @param loader Function<K, V> 加载器
+     * @return V 缓存值
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        var cached = getIfPresent(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        var loadGeneration = generation.get();
+        V value = loader.apply(key);
+        if (value != null && generation.get() == loadGeneration) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * 获取未过期的缓存值
+     *
+     * @param key K 缓存键
+     * @return Optional<V> 缓存值
+     */
+    public Optional<V> getIfPresent(K key) {
+        var entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expireAt() - System.nanoTime() <= 0) {
+            entries.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value());
+    }
+
+    /**
+     * 写入缓存
+     *
+     * @param key   K 缓存键
+     * @param value V 缓存值
+     */
+    public void put(K key, V value) {
+        var now = System.nanoTime();
+        if (entries.size() >= maxSize) {
+            entries.values().removeIf(entry -> entry.expireAt() - now <= 0);
+            if (entries.size() >= maxSize) {
+                entries.clear();
+            }
+        }
+        entries.put(key, new Entry<>(value, now + ttlNanos));
+    }
+
+    /**
+     * 失效单个键
+     *
+     * @param key K 缓存键
+     */
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+    }
+
+    /**
+     * 失效满足条件的键
+     *
+     * @param predicate Predicate<K> 键匹配条件
+     */
+    public void invalidateIf(Predicate<? super K> predicate) {
+        generation.incrementAndGet();
+        entries.keySet().removeIf(predicate);
+    }
+
+    /**
+     * 失效全部键
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * 当前条目数（含尚未清理的过期条目）
+     *
+     * @return int 条目数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, long expireAt) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.sciz.server.infrastructure.shared.concurrent;
+
+import com.sciz.server.infrastructure.shared.exception.BusinessException;
+import com.sciz.server.infrastructure.shared.result.ResultCode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 节点级内存字节预算
+ *
+ * <p>
+ * 所有会在内存中缓冲文件内容的路径（分片缓冲、整文件读入、图片/PDF 解码等）在分配前申请预算，
+ * 用完归还；预算不足时在超时时间内等待，超时则以 503 拒绝，使上传突发时的堆内存占用可预期。
+ * 内部以 KB 为单位映射到公平信号量，单次申请超过总预算时按总预算计（独占执行）。
+ * </p>
+ *
+ * @author JiaWen.Wu
+ * @className ByteBudget
+ * @date 2025-11-22 10:00
+ */
+@Slf4j
+@Component
+public class ByteBudget {
+
+    private static final long UNIT_BYTES = 1024L;
+
+    private final Semaphore semaphore;
+    private final int capacityUnits;
+    private final long acquireTimeoutMs;
+    private final AtomicLong inUseBytes = new AtomicLong();
+
+    public ByteBudget(@Value("${file.memory-budget.capacity-bytes:268435456}") long capacityBytes,
+            @Value("${file.memory-budget.acquire-timeout-ms:5000}") long acquireTimeoutMs,
+            MeterRegistry meterRegistry) {
+        this.capacityUnits = (int) Math.min(Integer.MAX_VALUE, Math.max(1L, capacityBytes / UNIT_BYTES));
+        this.semaphore = new Semaphore(capacityUnits, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        Gauge.builder("sciz.memory.byte-budget.in-use", inUseBytes, AtomicLong::get)
+                .description("当前已占用的文件缓冲字节预算")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("sciz.memory.byte-budget.capacity", () -> (double) capacityUnits * UNIT_BYTES)
+                .description("文件缓冲字节预算总量")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 申请字节预算（在配置的超时时间内等待）
+     *
+     * @param bytes long 需要缓冲的字节数
+     * @return Permit 预算凭证（try-with-resources 自动归还）
+     */
+    public Permit acquire(long bytes) {
+        var units = toUnits(bytes);
+        try {
+            if (!semaphore.tryAcquire(units, acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn(String.format("文件缓冲预算不足: requestBytes=%s, inUseBytes=%s", bytes, inUseBytes.get()));
+                throw new BusinessException(ResultCode.SERVICE_UNAVAILABLE, "服务器繁忙，请稍后重试");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ResultCode.SERVICE_UNAVAILABLE, "服务器繁忙，请稍后重试");
+        }
+        inUseBytes.addAndGet(units * UNIT_BYTES);
+        return new Permit(units);
+    }
+
+    /**
+     * 当前已占用字节数
+     *
+     * @return long 已占用字节数
+     */
+    public long getInUseBytes() {
+        return inUseBytes.get();
+    }
+
+    private int toUnits(long bytes) {
+        var units = (bytes + UNIT_BYTES - 1) / UNIT_BYTES;
+        return (int) Math.min(capacityUnits, Math.max(1L, units));
+    }
+
+    /**
+     * 预算凭证
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final int units;
+        private boolean released;
+
+        private Permit(int units) {
+            this.units = units;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (released) {
+                return;
+            }
+            released = true;
+            inUseBytes.addAndGet(-units * UNIT_BYTES);
+            semaphore.release(units);
+        }
+    }
+}
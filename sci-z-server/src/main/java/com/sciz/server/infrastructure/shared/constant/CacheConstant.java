@@ -101,10 +101,10 @@ public class CacheConstant {
 
     // ==================== 认证相关缓存常量 ====================
     /**
-     * 认证失败记录缓存前缀（用于记录登录失败次数）
-     * 格式：auth:fail:{username}
+     * 认证失败记录缓存前缀（有序集合，score 为失败时间毫秒，用于滑动窗口计数）
+     * 格式：auth:fail:window:{username}
      */
-    public static final String AUTH_FAIL_KEY = "auth:fail:%s";
+    public static final String AUTH_FAIL_KEY = "auth:fail:window:%s";
 
     /**
      * 账号锁定缓存前缀（用于锁定登录失败超过阈值的账号）
@@ -123,20 +123,54 @@ public class CacheConstant {
      */
     public static final Long AUTH_LOCK_DURATION = 30L * 60L;
 
+    /**
+     * 登录失败计数滑动窗口（秒）
+     * 默认：30分钟内失败次数达到阈值即锁定
+     */
+    public static final Long AUTH_FAIL_WINDOW = 30L * 60L;
+
     // ==================== 权限相关缓存常量 ====================
     /**
      * 权限缓存命名空间前缀
-     * 格式：sciz:auth:perm:{userId}:{industryType}:{type}
-     * type 可以是：roles、permissions、menus
+     * 格式：sciz:auth:perm:{userId}:roleIds
      */
     public static final String PERMISSION_CACHE_NAMESPACE = "sciz:auth:perm";
 
+    /**
+     * 菜单树缓存前缀（按角色组合共享）
+     * 格式：sciz:auth:perm:menus:{industryType}:{roleSetFingerprint}:v{indexVersion}
+     */
+    public static final String PERMISSION_MENU_CACHE_PREFIX = PERMISSION_CACHE_NAMESPACE + ":menus";
+
     /**
      * 权限缓存过期时间（秒）
      * 默认：30分钟
      */
     public static final Long PERMISSION_CACHE_EXPIRE = 30L * 60L;
 
+    /**
+     * 权限本地缓存失效广播频道
+     * 消息体：用户ID，或 * 表示全部失效
+     */
+    public static final String PERMISSION_INVALIDATE_CHANNEL = PERMISSION_CACHE_NAMESPACE + ":invalidate";
+
+    /**
+     * 角色权限索引版本号（角色/权限变更时递增，各节点据此判断是否重建本地索引）
+     */
+    public static final String PERMISSION_INDEX_VERSION_KEY = PERMISSION_CACHE_NAMESPACE + ":index:version";
+
+    /**
+     * 角色权限索引重建广播频道
+     * 消息体：新版本号
+     */
+    public static final String PERMISSION_INDEX_CHANNEL = PERMISSION_CACHE_NAMESPACE + ":index:rebuild";
+
+    /**
+     * Sa-Token 本地近缓存失效广播频道
+     * 消息体：{节点ID}|{Sa-Token 存储键}
+     */
+    public static final String SA_TOKEN_NEAR_CACHE_CHANNEL = "sciz:auth:token:invalidate";
+
     // ==================== 验证码相关缓存常量 ====================
     /**
      * 验证码缓存前缀
@@ -224,6 +258,18 @@ public class CacheConstant {
      */
     public static final Long INDUSTRY_CONFIG_CACHE_EXPIRE = 24L * 60L * 60L;
 
+    /**
+     * 行业配置版本号（刷新时递增，各节点据此判断本地快照是否过期）
+     * 格式：sciz:cfg:industry:version
+     */
+    public static final String INDUSTRY_CONFIG_VERSION_KEY = INDUSTRY_CONFIG_NAMESPACE + ":version";
+
+    /**
+     * 行业配置变更广播频道
+     * 消息体：新版本号
+     */
+    public static final String INDUSTRY_CONFIG_CHANNEL = INDUSTRY_CONFIG_NAMESPACE + ":changed";
+
     // ==================== 系统配置键常量 ====================
     /**
      * 当前行业类型配置键
@@ -249,4 +295,42 @@ public class CacheConstant {
      * 员工ID标签配置键
      */
     public static final String CONFIG_KEY_LABEL_EMP = "label.employee_id";
+
+    // ==================== 文件相关缓存常量 ====================
+    /**
+     * 直传上传凭证缓存键
+     * 格式：file:upload:ticket:{uploadId}
+     */
+    public static final String FILE_UPLOAD_TICKET_KEY = "file:upload:ticket:%s";
+
+    /**
+     * 直传完成回调处理锁
+     * 格式：lock:file:upload:{uploadId}
+     */
+    public static final String FILE_UPLOAD_COMPLETE_LOCK_KEY = LOCK_PREFIX + "file:upload:%s";
+
+    /**
+     * 直传完成回调处理锁过期时间（秒）
+     */
+    public static final Long FILE_UPLOAD_COMPLETE_LOCK_EXPIRE = 60L;
+
+    /**
+     * 存储统计对账任务锁（保证多实例下单节点执行）
+     */
+    public static final String STORAGE_STATS_RECONCILE_LOCK_KEY = LOCK_PREFIX + "file:storage-stats:reconcile";
+
+    /**
+     * 存储统计对账任务锁过期时间（秒）
+     */
+    public static final Long STORAGE_STATS_RECONCILE_LOCK_EXPIRE = 1800L;
+
+    /**
+     * 孤儿存储清理任务锁（保证多实例下单节点执行）
+     */
+    public static final String STORAGE_ORPHAN_CLEANUP_LOCK_KEY = LOCK_PREFIX + "file:orphan-cleanup";
+
+    /**
+     * 孤儿存储清理任务锁过期时间（秒）
+     */
+    public static final Long STORAGE_ORPHAN_CLEANUP_LOCK_EXPIRE = 3600L;
 }
@@ -113,6 +113,11 @@ public class SystemConstant {
          */
         public static final String DEFAULT_USER_ROLE_CODE = "user";
 
+        /**
+         * 管理员角色编码
+         */
+        public static final String ADMIN_ROLE_CODE = "admin";
+
         /**
          * 日期时间格式
          */
@@ -0,0 +1,47 @@
+package com.sciz.server.infrastructure.shared.enums;
+
+import lombok.Getter;
+
+/**
+ * 存储统计维度枚举
+ * <p>
+ * 标识 sys_storage_stats 的统计维度，scope_key 的取值随维度而定。
+ *
+ * @author JiaWen.Wu
+ * @className StorageStatsScopeStatus
+ * @date 2025-11-21 09:30
+ */
+@Getter
+public enum StorageStatsScopeStatus {
+
+    /**
+     * 按上传人统计（scope_key 为用户ID）
+     */
+    USER("user"),
+
+    /**
+     * 按附件分类统计（scope_key 为附件分类编码）
+     */
+    FILE_TYPE("file_type");
+
+    private final String code;
+
+    StorageStatsScopeStatus(String code) {
+        this.code = code;
+    }
+
+    /**
+     * 根据编码获取枚举
+     *
+     * @param code String 编码
+     * @return StorageStatsScopeStatus 枚举
+     */
+    public static StorageStatsScopeStatus fromCode(String code) {
+        for (StorageStatsScopeStatus scope : values()) {
+            if (scope.code.equalsIgnoreCase(code)) {
+                return scope;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported storage stats scope: " + code);
+    }
+}
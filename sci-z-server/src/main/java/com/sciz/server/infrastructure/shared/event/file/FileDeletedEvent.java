@@ -26,6 +26,14 @@ public class FileDeletedEvent extends DomainEvent {
     private String projectName;
     private String deleteTime;
     private String deleteReason;
+    /**
+     * 文件大小（字节），用于扣减存储统计
+     */
+    private Long fileSize;
+    /**
+     * 上传人ID（userId 为操作人，可能不同）
+     */
+    private String uploaderId;
 
     public FileDeletedEvent(String fileId, String fileName, String fileType,
             String filePath, String bucketName, String userId,
@@ -3,6 +3,7 @@ package com.sciz.server.infrastructure.shared.exception;
 import com.sciz.server.infrastructure.shared.result.Result;
 import com.sciz.server.infrastructure.shared.result.ResultCode;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -35,6 +36,22 @@ import java.util.Set;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    /**
+     * 处理请求过多异常（准入控制拒绝）
+     *
+     * @param e 请求过多异常
+     * @return 429 响应，携带 Retry-After
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Result<Void>> handleTooManyRequestsException(TooManyRequestsException e) {
+        log.warn(String.format("请求被拒绝: message=%s, retryAfterSeconds=%s", e.getMessage(), e.getRetryAfterSeconds()));
+
+        Result<Void> result = Result.fail(e.getCode(), e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(result);
+    }
+
     /**
      * 处理业务异常
      *
@@ -48,7 +65,12 @@ public class GlobalExceptionHandler {
         Result<Void> result = Result.fail(e.getCode(), e.getMessage());
         result.setData(null);
 
-        HttpStatus status = e.isClientError() ? HttpStatus.BAD_REQUEST : HttpStatus.INTERNAL_SERVER_ERROR;
+        HttpStatus status;
+        if (e.getCode() == ResultCode.SERVICE_UNAVAILABLE.getCode()) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+        } else {
+            status = e.isClientError() ? HttpStatus.BAD_REQUEST : HttpStatus.INTERNAL_SERVER_ERROR;
+        }
         return ResponseEntity.status(status).body(result);
     }
 
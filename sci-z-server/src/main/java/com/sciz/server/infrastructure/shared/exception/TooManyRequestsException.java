@@ -0,0 +1,31 @@
+package com.sciz.server.infrastructure.shared.exception;
+
+import com.sciz.server.infrastructure.shared.result.ResultCode;
+import lombok.Getter;
+
+/**
+ * 请求过多异常（准入控制拒绝时抛出，响应 HTTP 429 并携带 Retry-After）
+ *
+ * @author JiaWen.Wu
+ * @className TooManyRequestsException
+ * @date 2025-11-24 09:30
+ */
+@Getter
+public class TooManyRequestsException extends BusinessException {
+
+    /**
+     * 建议客户端重试等待秒数
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * 使用自定义消息创建异常
+     *
+     * @param message           错误消息
+     * @param retryAfterSeconds 建议重试等待秒数
+     */
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(ResultCode.TOO_MANY_REQUESTS, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
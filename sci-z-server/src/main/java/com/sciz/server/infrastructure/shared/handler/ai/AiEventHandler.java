@@ -25,7 +25,7 @@ public class AiEventHandler {
      * @param event 聊天开始事件
      */
     @EventListener
-    @Async
+    @Async("eventTaskExecutor")
     public void handleChatStarted(ChatStartedEvent event) {
         try {
             log.info("处理聊天开始事件: chatId={}, userId={}, projectId={}",
@@ -56,7 +56,7 @@ public class AiEventHandler {
      * @param event 工作流执行事件
      */
     @EventListener
-    @Async
+    @Async("eventTaskExecutor")
     public void handleWorkflowExecuted(WorkflowExecutedEvent event) {
         try {
             log.info("处理工作流执行事件: workflowId={}, executionStatus={}, userId={}",
@@ -25,7 +25,7 @@ public class DeclarationEventHandler {
      * @param event 申报创建事件
      */
     @EventListener
-    @Async
+    @Async("eventTaskExecutor")
     public void handleDeclarationCreated(DeclarationCreatedEvent event) {
         try {
             log.info("处理申报创建事件: declarationId={}, declarationName={}, applicantId={}",
@@ -56,7 +56,7 @@ public class DeclarationEventHandler {
      * @param event 申报更新事件
      */
     @EventListener
-    @Async
+    @Async("eventTaskExecutor")
     public void handleDeclarationUpdated(DeclarationUpdatedEvent event) {
         try {
             log.info("处理申报更新事件: declarationId={}, oldStatus={}, newStatus={}",
@@ -1,11 +1,15 @@
 package com.sciz.server.infrastructure.shared.handler.file;
 
+import com.sciz.server.application.service.file.FileThumbnailService;
+import com.sciz.server.application.service.file.StorageStatsService;
 import com.sciz.server.infrastructure.shared.event.file.FileDeletedEvent;
 import com.sciz.server.infrastructure.shared.event.file.FileUploadedEvent;
+import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
  * 文件事件处理器
@@ -19,13 +23,23 @@ import org.springframework.stereotype.Component;
 @Component
 public class FileEventHandler {
 
+    private final FileThumbnailService fileThumbnailService;
+    private final StorageStatsService storageStatsService;
+
+    public FileEventHandler(FileThumbnailService fileThumbnailService, StorageStatsService storageStatsService) {
+        this.fileThumbnailService = fileThumbnailService;
+        this.storageStatsService = storageStatsService;
+    }
+
     /**
      * 处理文件上传事件
+     * 上传事务提交后才处理，避免读不到尚未提交的附件或为回滚的上传生成缩略图、计入统计；
+     * 无事务发布（流式/批量上传）时直接处理
      *
      * @param event 文件上传事件
      */
-    @EventListener
-    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Async("eventTaskExecutor")
     public void handleFileUploaded(FileUploadedEvent event) {
         try {
             log.info("处理文件上传事件: fileId={}, fileName={}, fileSize={}",
@@ -55,11 +69,12 @@ public class FileEventHandler {
 
     /**
      * 处理文件删除事件
+     * 删除事务提交后才处理，回滚的删除不扣减存储统计、不清理缩略图；无事务发布时直接处理
      *
      * @param event 文件删除事件
      */
-    @EventListener
-    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Async("eventTaskExecutor")
     public void handleFileDeleted(FileDeletedEvent event) {
         try {
             log.info("处理文件删除事件: fileId={}, fileName={}, deleteReason={}",
@@ -102,9 +117,9 @@ public class FileEventHandler {
      * 生成文件缩略图
      */
     private void generateFileThumbnail(FileUploadedEvent event) {
-        log.info("生成文件缩略图: fileId={}, fileType={}",
+        log.info("提交文件缩略图任务: fileId={}, fileType={}",
                 event.getFileId(), event.getFileType());
-        // 实现生成文件缩略图的逻辑
+        fileThumbnailService.submit(Long.valueOf(event.getFileId()));
     }
 
     /**
@@ -131,7 +146,8 @@ public class FileEventHandler {
     private void updateStorageStatistics(FileUploadedEvent event) {
         log.info("更新存储统计信息: fileId={}, fileSize={}, bucketName={}",
                 event.getFileId(), event.getFileSize(), event.getBucketName());
-        // 实现更新统计信息的逻辑
+        storageStatsService.recordUpload(parseLong(event.getUserId()), event.getFileType(),
+                Optional.ofNullable(parseLong(event.getFileSize())).orElse(0L));
     }
 
     /**
@@ -167,7 +183,8 @@ public class FileEventHandler {
     private void updateStorageStatisticsAfterDeletion(FileDeletedEvent event) {
         log.info("更新删除后的存储统计信息: fileId={}, bucketName={}",
                 event.getFileId(), event.getBucketName());
-        // 实现更新统计信息的逻辑
+        storageStatsService.recordDeletion(parseLong(event.getUploaderId()), event.getFileType(),
+                Optional.ofNullable(event.getFileSize()).orElse(0L));
     }
 
     /**
@@ -176,6 +193,20 @@ public class FileEventHandler {
     private void cleanupRelatedResources(FileDeletedEvent event) {
         log.info("清理相关资源: fileId={}, projectId={}",
                 event.getFileId(), event.getProjectId());
-        // 实现清理相关资源的逻辑
+        fileThumbnailService.deleteThumbnail(event.getFilePath());
+    }
+
+    /**
+     * 解析事件中的数值字段，非法值返回 null
+     */
+    private Long parseLong(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException exception) {
+            return null;
+        }
     }
 }
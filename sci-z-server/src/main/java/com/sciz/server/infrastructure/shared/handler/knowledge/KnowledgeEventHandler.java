@@ -24,7 +24,7 @@ public class KnowledgeEventHandler {
      * @param event 知识库创建事件
      */
     @EventListener
-    @Async
+    @Async("eventTaskExecutor")
     public void handleKnowledgeCreated(KnowledgeCreatedEvent event) {
         try {
             log.info("处理知识库创建事件: knowledgeId={}, knowledgeName={}, projectId={}",
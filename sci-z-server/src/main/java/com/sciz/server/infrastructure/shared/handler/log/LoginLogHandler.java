@@ -38,7 +38,7 @@ public class LoginLogHandler {
      *
      * @param event 登录日志事件
      */
-    @Async
+    @Async("eventTaskExecutor")
     @EventListener
     public void onLoginLogged(LoginLoggedEvent event) {
         try {
@@ -24,7 +24,7 @@ public class ProjectEventHandler {
      * @param event 项目创建事件
      */
     @EventListener
-    @Async
+    @Async("eventTaskExecutor")
     public void handleProjectCreated(ProjectCreatedEvent event) {
         try {
             log.info("处理项目创建事件: projectId={}, projectName={}, creatorId={}",
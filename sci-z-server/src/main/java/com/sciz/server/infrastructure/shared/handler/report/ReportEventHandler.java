@@ -24,7 +24,7 @@ public class ReportEventHandler {
      * @param event 报告生成事件
      */
     @EventListener
-    @Async
+    @Async("eventTaskExecutor")
     public void handleReportGenerated(ReportGeneratedEvent event) {
         try {
             log.info("处理报告生成事件: reportId={}, reportName={}, projectId={}",
@@ -31,7 +31,7 @@ public class UserEventHandler {
      * @param event 用户注册事件
      */
     @EventListener
-    @Async
+    @Async("eventTaskExecutor")
     public void handleUserRegistered(UserRegisteredEvent event) {
         try {
             log.info("处理用户注册事件: userId={}, username={}",
@@ -62,7 +62,7 @@ public class UserEventHandler {
      * @param event 用户登录事件
      */
     @EventListener
-    @Async
+    @Async("eventTaskExecutor")
     public void handleUserLogin(UserLoginEvent event) {
         try {
             log.info("处理用户登录事件: userId={}, loginTime={}, loginIp={}",
@@ -93,7 +93,7 @@ public class UserEventHandler {
      * @param event 用户退出事件
      */
     @EventListener
-    @Async
+    @Async("eventTaskExecutor")
     public void handleUserLogout(UserLogoutEvent event) {
         try {
             log.info("处理用户退出事件: userId={}, logoutTime={}",
@@ -121,7 +121,7 @@ public class UserEventHandler {
      * @param event UserEmailVerificationEvent 事件
      */
     @EventListener
-    @Async
+    @Async("eventTaskExecutor")
     public void handleUserEmailVerification(UserEmailVerificationEvent event) {
         try {
             log.info(String.format("处理用户邮箱验证码事件: userId=%s, email=%s",
@@ -23,7 +23,7 @@ public class PageResult<T> implements IPage<T> {
     private List<T> records = Collections.emptyList();
 
     /**
-     * 总记录数
+     * 总记录数（游标分页携带游标翻页时为 -1，表示未统计）
      */
     private long total = 0;
 
@@ -42,6 +42,11 @@ public class PageResult<T> implements IPage<T> {
      */
     private long pages = 0;
 
+    /**
+     * 下一页游标（游标分页时返回，为 null 表示没有更多数据）
+     */
+    private String nextCursor;
+
     /**
      * 默认构造函数
      */
@@ -85,6 +90,26 @@ public class PageResult<T> implements IPage<T> {
         return new PageResult<>(page.getRecords(), page.getTotal(), page.getCurrent(), page.getSize());
     }
 
+    /**
+     * 创建游标分页结果
+     *
+     * @param records    数据列表
+     * @param total      总记录数（游标翻页时不重复统计，传 -1，此时总页数同样为 -1）
+     * @param current    当前页码
+     * @param size       每页大小
+     * @param nextCursor 下一页游标
+     * @return PageResult
+     */
+    public static <T> PageResult<T> ofCursor(List<T> records, long total, long current, long size,
+            String nextCursor) {
+        var result = new PageResult<>(records, total, current, size);
+        if (total < 0) {
+            result.setPages(-1);
+        }
+        result.setNextCursor(nextCursor);
+        return result;
+    }
+
     /**
      * 创建空的分页结果
      *
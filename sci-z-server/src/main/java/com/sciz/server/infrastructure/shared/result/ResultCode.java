@@ -46,6 +46,11 @@ public enum ResultCode {
      */
     REQUEST_TIMEOUT(408, "请求超时"),
 
+    /**
+     * 请求过多
+     */
+    TOO_MANY_REQUESTS(429, "请求过多，请稍后再试"),
+
     /**
      * 服务器内部错误
      */
@@ -354,6 +359,26 @@ public enum ResultCode {
      */
     FILE_SIZE_EXCEEDED(8005, "文件大小超出限制"),
 
+    /**
+     * 上传凭证无效或已过期
+     */
+    FILE_UPLOAD_TICKET_INVALID(8006, "上传凭证无效或已过期"),
+
+    /**
+     * 文件完整性校验失败
+     */
+    FILE_INTEGRITY_CHECK_FAILED(8007, "文件完整性校验失败"),
+
+    /**
+     * 存储空间配额不足
+     */
+    FILE_QUOTA_EXCEEDED(8008, "存储空间配额不足"),
+
+    /**
+     * 打包下载超出限制
+     */
+    FILE_ZIP_LIMIT_EXCEEDED(8009, "打包下载的文件数量或总大小超出限制"),
+
     /**
      * 文件上传成功
      */
@@ -6,12 +6,12 @@ import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.util.Base64;
 import java.util.Optional;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.IntStream;
 
 /**
  * 验证码工具类
- * 基于 Java 21 AWT 生成图形验证码
+ * 基于 Java 21 AWT 生成图形验证码（随机数取自 ThreadLocalRandom，多线程生成互不争用）
  *
  * @author JiaWen.Wu
  * @className CaptchaUtil
@@ -39,8 +39,6 @@ public final class CaptchaUtil {
      */
     private static final int DEFAULT_HEIGHT = 40;
 
-    private static final Random RANDOM = new Random();
-
     /**
      * 私有构造方法，防止实例化
      */
@@ -64,9 +62,10 @@ public final class CaptchaUtil {
      * @return String 验证码文本
      */
     public static String generateText(int length) {
+        var random = ThreadLocalRandom.current();
         return IntStream.range(0, length)
                 .mapToObj(i -> {
-                    var index = RANDOM.nextInt(CHAR_SET.length());
+                    var index = random.nextInt(CHAR_SET.length());
                     return String.valueOf(CHAR_SET.charAt(index));
                 })
                 .collect(java.util.stream.Collectors.joining());
@@ -125,12 +124,13 @@ public final class CaptchaUtil {
      */
     private static void drawInterferenceLines(Graphics2D g, int width, int height) {
         g.setColor(Color.LIGHT_GRAY);
+        var random = ThreadLocalRandom.current();
         IntStream.range(0, 5)
                 .forEach(i -> {
-                    var x1 = RANDOM.nextInt(width);
-                    var y1 = RANDOM.nextInt(height);
-                    var x2 = RANDOM.nextInt(width);
-                    var y2 = RANDOM.nextInt(height);
+                    var x1 = random.nextInt(width);
+                    var y1 = random.nextInt(height);
+                    var x2 = random.nextInt(width);
+                    var y2 = random.nextInt(height);
                     g.drawLine(x1, y1, x2, y2);
                 });
     }
@@ -140,15 +140,16 @@ public final class CaptchaUtil {
      */
     private static void drawText(Graphics2D g, String text, int width, int height) {
         g.setFont(new Font("Arial", Font.BOLD, 28));
+        var random = ThreadLocalRandom.current();
         var charWidth = width / text.length();
 
         IntStream.range(0, text.length())
                 .forEach(index -> {
                     // 随机颜色
-                    g.setColor(new Color(RANDOM.nextInt(100), RANDOM.nextInt(100), RANDOM.nextInt(100)));
+                    g.setColor(new Color(random.nextInt(100), random.nextInt(100), random.nextInt(100)));
 
                     // 随机旋转角度（-15° ~ 15°）
-                    var angle = (RANDOM.nextDouble() - 0.5) * 30;
+                    var angle = (random.nextDouble() - 0.5) * 30;
                     g.rotate(Math.toRadians(angle), charWidth * index + charWidth / 2, height / 2);
 
                     // 绘制字符
@@ -6,6 +6,8 @@ import com.sciz.server.infrastructure.shared.constant.SystemConstant;
 import com.sciz.server.infrastructure.shared.exception.BusinessException;
 import com.sciz.server.infrastructure.shared.result.ResultCode;
 import java.util.Optional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 /**
  * 登录用户工具类
@@ -20,6 +22,8 @@ import java.util.Optional;
  * <li>Session 数据会自动持久化到 Redis（配置了 sa-token-redis 后）</li>
  * <li>服务重启后，Session 数据会自动从 Redis 恢复</li>
  * <li>Session 的过期时间与 Token 的过期时间一致</li>
+ * <li>同一请求内首次读取后结果记忆在请求属性中，后续读取不再访问 Session；本类写入/清理时同步更新记忆</li>
+ * <li>异步线程池通过 {@link #propagate(Runnable)} 作为 TaskDecorator 传递提交时的用户上下文</li>
  * </ul>
  * </p>
  *
@@ -29,6 +33,9 @@ import java.util.Optional;
  */
 public final class LoginUserUtil {
 
+    private static final String MEMO_ATTRIBUTE = LoginUserUtil.class.getName() + ".CONTEXT";
+    private static final ThreadLocal<LoginUserContext> PROPAGATED_CONTEXT = new ThreadLocal<>();
+
     private LoginUserUtil() {
     }
 
@@ -44,6 +51,7 @@ public final class LoginUserUtil {
         }
         // 使用 Sa-Token Session 存储用户上下文（自动持久化到 Redis）
         StpUtil.getSession().set(SystemConstant.LOGIN_USER_SESSION_KEY, context);
+        memoize(Optional.of(context));
     }
 
     /**
@@ -56,24 +64,55 @@ public final class LoginUserUtil {
         }
         // 从 Sa-Token Session 中删除用户上下文（同时从 Redis 删除）
         StpUtil.getSession().delete(SystemConstant.LOGIN_USER_SESSION_KEY);
+        memoize(Optional.empty());
     }
 
     /**
      * 获取当前登录用户信息
-     * 从 Sa-Token Session 中读取（如果配置了 Redis，会从 Redis 中读取）
+     * 异步线程优先取提交时传递的上下文；请求线程优先取本次请求的记忆，未命中时从 Sa-Token Session 中读取一次
      *
      * @return Optional<LoginUserContext> 登录用户上下文
      */
+    @SuppressWarnings("unchecked")
     public static Optional<LoginUserContext> getCurrentUser() {
-        if (!StpUtil.isLogin()) {
-            return Optional.empty();
+        var propagated = PROPAGATED_CONTEXT.get();
+        if (propagated != null) {
+            return Optional.of(propagated);
         }
-        // 从 Sa-Token Session 中获取用户上下文（如果配置了 Redis，会自动从 Redis 读取）
-        Object value = StpUtil.getSession().get(SystemConstant.LOGIN_USER_SESSION_KEY);
-        if (value instanceof LoginUserContext context) {
-            return Optional.of(context);
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Optional<?> memo) {
+            return (Optional<LoginUserContext>) memo;
         }
-        return Optional.empty();
+        var context = loadFromSession();
+        memoize(context);
+        return context;
+    }
+
+    /**
+     * 包装异步任务，将提交线程的登录用户上下文传递到执行线程（用作线程池 TaskDecorator）
+     *
+     * @param task Runnable 原任务
+     * @return Runnable 包装后的任务
+     */
+    public static Runnable propagate(Runnable task) {
+        var context = currentUserIfResolvable();
+        if (context == null) {
+            return task;
+        }
+        return () -> {
+            var previous = PROPAGATED_CONTEXT.get();
+            PROPAGATED_CONTEXT.set(context);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    PROPAGATED_CONTEXT.remove();
+                } else {
+                    PROPAGATED_CONTEXT.set(previous);
+                }
+            }
+        };
     }
 
     /**
@@ -104,4 +143,42 @@ public final class LoginUserUtil {
         return getCurrentUserId()
                 .orElseThrow(() -> new BusinessException(ResultCode.UNAUTHORIZED, "用户未登录或会话已失效"));
     }
+
+    /**
+     * 从 Sa-Token Session 中读取用户上下文（如果配置了 Redis，会自动从 Redis 读取）
+     */
+    private static Optional<LoginUserContext> loadFromSession() {
+        if (!StpUtil.isLogin()) {
+            return Optional.empty();
+        }
+        Object value = StpUtil.getSession().get(SystemConstant.LOGIN_USER_SESSION_KEY);
+        if (value instanceof LoginUserContext context) {
+            return Optional.of(context);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 记忆本次请求的用户上下文（非请求线程忽略）
+     */
+    private static void memoize(Optional<LoginUserContext> context) {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(MEMO_ATTRIBUTE, context, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * 提交异步任务时解析当前用户（既无传递上下文也不在请求线程时返回 null，不触碰 Sa-Token）
+     */
+    private static LoginUserContext currentUserIfResolvable() {
+        if (PROPAGATED_CONTEXT.get() == null && RequestContextHolder.getRequestAttributes() == null) {
+            return null;
+        }
+        try {
+            return getCurrentUser().orElse(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
 }
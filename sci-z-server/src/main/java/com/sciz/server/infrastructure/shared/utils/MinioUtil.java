@@ -1,18 +1,35 @@
 package com.sciz.server.infrastructure.shared.utils;
 
+import com.sciz.server.infrastructure.config.storage.ParallelMinioClient;
 import io.minio.BucketExistsArgs;
 import io.minio.GetObjectArgs;
 import io.minio.GetObjectResponse;
 import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.ListObjectsArgs;
 import io.minio.MakeBucketArgs;
 import io.minio.MinioClient;
+import io.minio.PostPolicy;
 import io.minio.PutObjectArgs;
 import io.minio.RemoveObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
 import io.minio.StatObjectArgs;
 import io.minio.StatObjectResponse;
+import io.minio.UploadPartResponse;
 import io.minio.http.Method;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Item;
+import io.minio.messages.Part;
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import org.springframework.util.Assert;
@@ -32,6 +49,7 @@ import org.springframework.util.StringUtils;
 public final class MinioUtil {
 
     private static final ConcurrentMap<String, Boolean> BUCKET_CACHE = new ConcurrentHashMap<>();
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024;
 
     private MinioUtil() {
     }
@@ -81,6 +99,81 @@ public final class MinioUtil {
         client.putObject(args);
     }
 
+    /**
+     * 并发分片上传对象
+     *
+     * <p>
+     * 按分片顺序读取输入流，最多同时有 parallelism 个分片在途；不足一个分片时退化为单次 putObject。
+     * 内存占用上限为 (parallelism + 1) * partSize，任一分片失败时中止分片上传以释放服务端分片。
+     * </p>
+     *
+     * @param client          ParallelMinioClient 异步客户端
+     * @param bucket          String 桶名
+     * @param objectName      String 对象名
+     * @param stream          InputStream 输入流（大小可未知）
+     * @param partSize        int 分片大小（不小于 5MB）
+     * @param parallelism     int 在途分片上限
+     * @param contentType     String 内容类型
+     * @param contentEncoding String 内容编码（压缩存储时为 gzip，否则为空）
+     */
+    public static void uploadMultipart(ParallelMinioClient client, String bucket, String objectName,
+            InputStream stream, int partSize, int parallelism, String contentType, String contentEncoding)
+            throws Exception {
+        Assert.notNull(client, "MinioClient 不能为空");
+        validateBucket(bucket);
+        validateObjectName(objectName);
+        Objects.requireNonNull(stream, "文件流不能为空");
+        if (partSize < MIN_PART_SIZE) {
+            throw new IllegalArgumentException("分片大小不能小于 5MB");
+        }
+
+        var buffer = stream.readNBytes(partSize);
+        if (buffer.length < partSize) {
+            client.putObject(PutObjectArgs.builder()
+                    .bucket(bucket)
+                    .object(objectName)
+                    .stream(new ByteArrayInputStream(buffer), buffer.length, -1)
+                    .contentType(contentType)
+                    .headers(contentEncoding == null ? Map.of() : Map.of("Content-Encoding", contentEncoding))
+                    .build()).get();
+            return;
+        }
+
+        var uploadId = client.createMultipartUpload(bucket, objectName, contentType, contentEncoding)
+                .get().result().uploadId();
+        var inFlight = new ArrayDeque<CompletableFuture<UploadPartResponse>>();
+        var parts = new ArrayList<Part>();
+        try {
+            var partNumber = 1;
+            while (buffer.length > 0) {
+                if (inFlight.size() >= Math.max(parallelism, 1)) {
+                    parts.add(toPart(inFlight.poll().get()));
+                }
+                inFlight.add(client.uploadPart(bucket, objectName, buffer, buffer.length, uploadId, partNumber++));
+                if (buffer.length < partSize) {
+                    break;
+                }
+                buffer = stream.readNBytes(partSize);
+            }
+            while (!inFlight.isEmpty()) {
+                parts.add(toPart(inFlight.poll().get()));
+            }
+            client.completeMultipartUpload(bucket, objectName, uploadId, parts.toArray(Part[]::new)).get();
+        } catch (Exception exception) {
+            inFlight.forEach(future -> future.cancel(true));
+            try {
+                client.abortMultipartUpload(bucket, objectName, uploadId);
+            } catch (Exception abortException) {
+                exception.addSuppressed(abortException);
+            }
+            throw exception;
+        }
+    }
+
+    private static Part toPart(UploadPartResponse response) {
+        return new Part(response.partNumber(), response.etag());
+    }
+
     /**
      * 生成预签名下载地址
      *
@@ -104,6 +197,35 @@ public final class MinioUtil {
         return client.getPresignedObjectUrl(args);
     }
 
+    /**
+     * 生成预签名 POST 表单（限定对象名、内容类型与大小）
+     *
+     * @param client        MinioClient 客户端
+     * @param bucket        String 桶名
+     * @param objectName    String 对象名
+     * @param contentType   String 内容类型
+     * @param exactSize     long 对象大小（上传大小必须与之一致）
+     * @param expirySeconds int 过期秒数
+     * @return Map<String, String> 表单字段（已包含 key 与 Content-Type）
+     */
+    public static Map<String, String> presignedPostFormData(MinioClient client, String bucket, String objectName,
+            String contentType, long exactSize, int expirySeconds) throws Exception {
+        validateClient(client);
+        validateBucket(bucket);
+        validateObjectName(objectName);
+        if (exactSize <= 0) {
+            throw new IllegalArgumentException("文件大小必须大于 0");
+        }
+        PostPolicy policy = new PostPolicy(bucket, ZonedDateTime.now().plusSeconds(expirySeconds));
+        policy.addEqualsCondition("key", objectName);
+        policy.addEqualsCondition("Content-Type", contentType);
+        policy.addContentLengthRangeCondition(exactSize, exactSize);
+        Map<String, String> formData = new HashMap<>(client.getPresignedPostFormData(policy));
+        formData.put("key", objectName);
+        formData.put("Content-Type", contentType);
+        return formData;
+    }
+
     /**
      * 判断桶是否存在
      *
@@ -154,6 +276,25 @@ public final class MinioUtil {
                 .build());
     }
 
+    /**
+     * 异步获取对象内容（请求在 MinIO 客户端连接池上并发发出，需调用方负责关闭流）
+     *
+     * @param client     ParallelMinioClient 异步客户端
+     * @param bucket     String 桶名
+     * @param objectName String 对象名
+     * @return CompletableFuture<GetObjectResponse> 对象流
+     */
+    public static CompletableFuture<GetObjectResponse> downloadAsync(ParallelMinioClient client, String bucket,
+            String objectName) throws Exception {
+        Assert.notNull(client, "MinioClient 不能为空");
+        validateBucket(bucket);
+        validateObjectName(objectName);
+        return client.getObject(GetObjectArgs.builder()
+                .bucket(bucket)
+                .object(objectName)
+                .build());
+    }
+
     /**
      * 删除对象
      *
@@ -189,4 +330,51 @@ public final class MinioUtil {
                 .object(objectName)
                 .build());
     }
+
+    /**
+     * 递归列举对象（按页惰性拉取，遍历时才发起请求）
+     *
+     * @param client MinioClient 客户端
+     * @param bucket String 桶名
+     * @param prefix String 对象名前缀（为空时列举整个桶）
+     * @return Iterable<Result<Item>> 对象列表
+     */
+    public static Iterable<Result<Item>> listObjects(MinioClient client, String bucket, String prefix) {
+        validateClient(client);
+        validateBucket(bucket);
+        var builder = ListObjectsArgs.builder()
+                .bucket(bucket)
+                .recursive(true);
+        if (StringUtils.hasText(prefix)) {
+            builder.prefix(prefix);
+        }
+        return client.listObjects(builder.build());
+    }
+
+    /**
+     * 批量删除对象
+     *
+     * @param client      MinioClient 客户端
+     * @param bucket      String 桶名
+     * @param objectNames List<String> 对象名列表（单次不超过 1000 个）
+     * @return List<String> 删除失败的对象名
+     */
+    public static List<String> deleteObjects(MinioClient client, String bucket, List<String> objectNames)
+            throws Exception {
+        validateClient(client);
+        validateBucket(bucket);
+        if (objectNames == null || objectNames.isEmpty()) {
+            return List.of();
+        }
+        var results = client.removeObjects(RemoveObjectsArgs.builder()
+                .bucket(bucket)
+                .objects(objectNames.stream().map(DeleteObject::new).toList())
+                .build());
+        // removeObjects 为惰性执行，必须遍历结果才会真正发起删除
+        var failedNames = new ArrayList<String>();
+        for (var result : results) {
+            failedNames.add(result.get().objectName());
+        }
+        return failedNames;
+    }
 }
@@ -1,8 +1,10 @@
 package com.sciz.server.infrastructure.shared.utils;
 
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -104,4 +106,22 @@ public final class RedisUtil {
     public static Object hget(StringRedisTemplate template, String key, String hashKey) {
         return template.opsForHash().get(key, hashKey);
     }
+
+    /**
+     * 执行 Lua 脚本（原子执行，单次往返）
+     *
+     * @param template StringRedisTemplate Redis模板
+     * @param script   RedisScript<T> 脚本
+     * @param keys     List<String> 键列表
+     * @param args     Object... 参数（按字符串传递）
+     * @return T 脚本返回值
+     */
+    public static <T> T execute(StringRedisTemplate template, RedisScript<T> script, List<String> keys,
+            Object... args) {
+        var stringArgs = new Object[args.length];
+        for (var i = 0; i < args.length; i++) {
+            stringArgs[i] = String.valueOf(args[i]);
+        }
+        return template.execute(script, keys, stringArgs);
+    }
 }
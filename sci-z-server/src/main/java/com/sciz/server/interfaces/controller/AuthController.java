@@ -16,6 +16,7 @@ import com.sciz.server.domain.pojo.dto.response.user.CheckRoleResp;
 import com.sciz.server.domain.pojo.dto.response.user.CheckPermResp;
 import com.sciz.server.domain.pojo.dto.response.user.RefreshTokenResp;
 import com.sciz.server.domain.pojo.dto.response.user.RegisterResp;
+import com.sciz.server.infrastructure.common.annotation.RateLimit;
 import com.sciz.server.infrastructure.config.cache.IndustryConfigCache;
 import com.sciz.server.infrastructure.shared.result.Result;
 import com.sciz.server.infrastructure.shared.result.ResultCode;
@@ -50,6 +51,7 @@ public class AuthController {
     }
 
     @Operation(summary = "用户登录", description = "使用 Sa-Token 完成登录，返回 Token 信息。登录失败 >= 3 次时需要验证码")
+    @RateLimit("auth-login")
     @PostMapping("/login")
     public Result<LoginResp> login(@RequestBody @Valid LoginReq req, HttpServletRequest request) {
         LoginResp resp = authService.login(req, request);
@@ -57,6 +59,7 @@ public class AuthController {
     }
 
     @Operation(summary = "获取验证码", description = "生成图形验证码，返回 Base64 图片和唯一标识。前端在登录失败 >= 3 次时调用")
+    @RateLimit("auth-captcha")
     @GetMapping("/captcha")
     public Result<CaptchaResp> getCaptcha() {
         CaptchaResp resp = authService.getCaptcha();
@@ -64,6 +67,7 @@ public class AuthController {
     }
 
     @Operation(summary = "发送邮箱验证码", description = "校验图形验证码并向目标邮箱发送验证码")
+    @RateLimit("auth-verification-code")
     @PostMapping("/email-code")
     public Result<Void> sendEmailVerificationCode(@RequestBody @Valid EmailCodeSendReq request) {
         authService.sendEmailVerificationCode(request);
@@ -71,6 +75,7 @@ public class AuthController {
     }
 
     @Operation(summary = "发送短信验证码", description = "校验图形验证码并向目标手机发送验证码")
+    @RateLimit("auth-verification-code")
     @PostMapping("/sms-code")
     public Result<Void> sendSmsVerificationCode(@RequestBody @Valid PhoneCodeSendReq request) {
         authService.sendSmsVerificationCode(request);
@@ -9,6 +9,7 @@ import com.sciz.server.application.service.knowledge.KnowledgeService;
 import com.sciz.server.domain.pojo.entity.knowledge.SysKnowledgeBase;
 import com.sciz.server.domain.pojo.repository.knowledge.SysKnowledgeBaseRepo;
 import com.sciz.server.domain.pojo.dto.request.knowledge.KnowledgeChatbotStreamReq;
+import com.sciz.server.infrastructure.common.annotation.RateLimit;
 import com.sciz.server.infrastructure.external.dify.config.DifyConfig;
 import com.sciz.server.infrastructure.external.dify.dto.DifyChatbotMessageRequest;
 import com.sciz.server.infrastructure.external.dify.dto.DifyChatbotModelConfigRequest;
@@ -91,6 +92,7 @@ public class ChatController {
      */
     @Operation(summary = "执行 Dify 工作流或直接调用 Chatbot 流式对话", 
                description = "支持两种模式：1. 不传文件时直接调用 chatbot 流式接口；2. 传文件时执行工作流后再调用 chatbot。支持多个知识库ID，用逗号分隔或传数组")
+    @RateLimit(value = "chat-stream", key = RateLimit.KeyType.USER)
     @PostMapping(value = "/workflow/run", produces = "text/event-stream")
     public SseEmitter runWorkflow(
             @RequestParam("query") String query,
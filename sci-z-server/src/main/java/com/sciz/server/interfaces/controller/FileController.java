@@ -1,13 +1,21 @@
 package com.sciz.server.interfaces.controller;
 
 import com.sciz.server.application.service.file.FileService;
+import com.sciz.server.application.service.file.StorageStatsService;
 import com.sciz.server.domain.pojo.dto.request.file.FileBatchUploadReq;
 import com.sciz.server.domain.pojo.dto.request.file.FileCheckDuplicateReq;
 import com.sciz.server.domain.pojo.dto.request.file.FileListQueryReq;
+import com.sciz.server.domain.pojo.dto.request.file.FilePresignedUploadReq;
+import com.sciz.server.domain.pojo.dto.request.file.FileUploadCompleteReq;
 import com.sciz.server.domain.pojo.dto.request.file.FileUploadReq;
+import com.sciz.server.domain.pojo.dto.request.file.FileZipDownloadReq;
 import com.sciz.server.domain.pojo.dto.response.file.FileDuplicateCheckResp;
 import com.sciz.server.domain.pojo.dto.response.file.FileInfoResp;
+import com.sciz.server.domain.pojo.dto.response.file.FilePresignedUploadResp;
 import com.sciz.server.domain.pojo.dto.response.file.FileDownloadContext;
+import com.sciz.server.domain.pojo.dto.response.file.FileZipDownloadPlan;
+import com.sciz.server.domain.pojo.dto.response.file.StorageStatsResp;
+import com.sciz.server.infrastructure.common.annotation.RateLimit;
 import com.sciz.server.infrastructure.shared.result.PageResult;
 import com.sciz.server.infrastructure.shared.result.Result;
 import com.sciz.server.infrastructure.shared.result.ResultCode;
@@ -17,19 +25,25 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
+import java.io.InputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -49,8 +63,10 @@ import org.springframework.web.bind.annotation.RestController;
 public class FileController {
 
     private final FileService fileService;
+    private final StorageStatsService storageStatsService;
 
     @Operation(summary = "文件上传", description = "单文件上传")
+    @RateLimit(value = "file-upload", key = RateLimit.KeyType.USER)
     @PostMapping("/upload")
     public Result<FileInfoResp> upload(@Valid @ModelAttribute FileUploadReq req) {
         FileInfoResp resp = fileService.upload(req);
@@ -58,13 +74,29 @@ public class FileController {
     }
 
     @Operation(summary = "批量文件上传", description = "多文件上传")
+    @RateLimit(value = "file-upload", key = RateLimit.KeyType.USER)
     @PostMapping("/batch-upload")
     public Result<List<FileInfoResp>> batchUpload(@Valid @ModelAttribute FileBatchUploadReq req) {
         List<FileInfoResp> respList = fileService.uploadBatch(req);
         return Result.success(respList, ResultCode.FILE_UPLOAD_SUCCESS.getMessage());
     }
 
-    @Operation(summary = "文件列表", description = "分页查询文件列表")
+    @Operation(summary = "申请直传凭证", description = "获取直传 MinIO 的预签名 POST 策略（限定大小与内容类型）")
+    @PostMapping("/presigned-upload")
+    public Result<FilePresignedUploadResp> presignUpload(@Valid @RequestBody FilePresignedUploadReq req) {
+        FilePresignedUploadResp resp = fileService.presignUpload(req);
+        return Result.success(resp);
+    }
+
+    @Operation(summary = "直传完成回调", description = "校验已直传对象的大小与哈希并登记附件")
+    @PostMapping("/presigned-upload/complete")
+    public Result<FileInfoResp> completeUpload(@Valid @RequestBody FileUploadCompleteReq req) {
+        FileInfoResp resp = fileService.completeUpload(req);
+        return Result.success(resp, ResultCode.FILE_UPLOAD_SUCCESS.getMessage());
+    }
+
+    @Operation(summary = "文件列表", description = "分页查询文件列表；指定 relationType 与 relationId 时为游标分页："
+            + "翻页传入上一页返回的 nextCursor（为空表示没有更多），携带游标的请求不统计总数，total 与 pages 返回 -1")
     @GetMapping("/list")
     public Result<PageResult<FileInfoResp>> list(@ModelAttribute FileListQueryReq req) {
         PageResult<FileInfoResp> pageResult = fileService.page(req);
@@ -73,17 +105,31 @@ public class FileController {
 
     @Operation(summary = "文件下载", description = "根据ID下载文件")
     @GetMapping("/download/{id}")
-    public void download(@PathVariable Long id, HttpServletResponse response) {
+    public void download(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) {
         try (FileDownloadContext context = fileService.download(id);
                 var inputStream = context.inputStream()) {
             response.setContentType(context.contentType());
-            if (context.contentLength() != null) {
-                response.setContentLengthLong(context.contentLength());
+            // 压缩存储的文件：客户端支持时原样透传，否则服务端解压
+            InputStream body = inputStream;
+            Long contentLength = context.contentLength();
+            if (context.isEncoded()) {
+                response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                if (acceptsEncoding(acceptEncoding, context.contentEncoding())) {
+                    response.setHeader(HttpHeaders.CONTENT_ENCODING, context.contentEncoding());
+                    contentLength = context.storedSize();
+                } else {
+                    body = new GZIPInputStream(inputStream);
+                }
+            }
+            if (contentLength != null) {
+                response.setContentLengthLong(contentLength);
             }
             String encodedName = URLEncoder.encode(context.originalName(), StandardCharsets.UTF_8);
             response.setHeader("Content-Disposition",
                     String.format("attachment; filename=%s; filename*=UTF-8''%s", encodedName, encodedName));
-            StreamUtils.copy(inputStream, response.getOutputStream());
+            StreamUtils.copy(body, response.getOutputStream());
             response.flushBuffer();
         } catch (Exception e) {
             log.error(String.format("文件下载失败: attachmentId=%s", id), e);
@@ -91,6 +137,27 @@ public class FileController {
         }
     }
 
+    @Operation(summary = "打包下载", description = "将多个附件或业务对象下的全部附件流式打包为 ZIP 下载")
+    @PostMapping("/download-zip")
+    public void downloadZip(@RequestBody FileZipDownloadReq req, HttpServletResponse response) {
+        // 计划阶段的校验异常在写出响应前抛出，仍按统一格式返回
+        FileZipDownloadPlan plan = fileService.prepareZipDownload(req);
+        try {
+            response.setContentType("application/zip");
+            String encodedName = URLEncoder.encode(plan.zipName(), StandardCharsets.UTF_8);
+            response.setHeader("Content-Disposition",
+                    String.format("attachment; filename=%s; filename*=UTF-8''%s", encodedName, encodedName));
+            fileService.writeZip(plan, response.getOutputStream());
+            response.flushBuffer();
+        } catch (Exception e) {
+            log.error(String.format("打包下载失败: entryCount=%s", plan.entries().size()), e);
+            if (!response.isCommitted()) {
+                response.reset();
+            }
+            throw new BusinessException(ResultCode.FILE_DOWNLOAD_FAILED, "打包下载失败");
+        }
+    }
+
     @Operation(summary = "文件预览", description = "根据ID获取预览签名链接")
     @GetMapping("/preview/{id}")
     public Result<String> preview(@PathVariable Long id, @RequestParam(required = false) Integer expireSeconds) {
@@ -112,9 +179,33 @@ public class FileController {
         return Result.success(resp);
     }
 
+    @Operation(summary = "存储用量统计", description = "按上传人或附件分类查询存储用量，默认查询当前用户；查询他人或其他维度需管理员角色")
+    @GetMapping("/storage-stats")
+    public Result<StorageStatsResp> storageStats(@RequestParam(required = false) String scopeType,
+            @RequestParam(required = false) String scopeKey) {
+        StorageStatsResp resp = storageStatsService.getStats(scopeType, scopeKey);
+        return Result.success(resp);
+    }
+
     @Operation(summary = "同步到Dify", description = "文件同步到Dify知识库")
     @PostMapping("/sync-dify")
     public Result<Object> syncDify(@RequestBody Object request) {
         return Result.success(null);
     }
+
+    /**
+     * 判断客户端是否接受指定内容编码（q=0 视为拒绝）
+     */
+    private boolean acceptsEncoding(String acceptEncoding, String encoding) {
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return false;
+        }
+        return Arrays.stream(acceptEncoding.split(","))
+                .map(token -> token.trim().split(";"))
+                .anyMatch(parts -> {
+                    var name = parts[0].trim();
+                    var rejected = parts.length > 1 && parts[1].trim().matches("q=0(\\.0*)?");
+                    return !rejected && (name.equalsIgnoreCase(encoding) || "*".equals(name));
+                });
+    }
 }
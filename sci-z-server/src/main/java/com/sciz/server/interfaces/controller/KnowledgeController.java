@@ -3,6 +3,7 @@ import com.sciz.server.application.service.knowledge.KnowledgeService;
 import com.sciz.server.domain.pojo.dto.request.knowledge.KnowledgeChatbotStreamReq;
 import com.sciz.server.domain.pojo.dto.request.knowledge.KnowledgeCreateReq;
 import com.sciz.server.domain.pojo.dto.response.knowledge.KnowledgeResp;
+import com.sciz.server.infrastructure.common.annotation.RateLimit;
 import com.sciz.server.infrastructure.shared.result.PageResult;
 import com.sciz.server.infrastructure.shared.result.Result;
 import io.swagger.v3.oas.annotations.Operation;
@@ -85,6 +86,7 @@ public class KnowledgeController {
      * @return 流式响应（SSE格式）
      */
     @Operation(summary = "知识库Chatbot流式对话", description = "基于知识库的Chatbot流式问答，如果用户未创建Chatbot则返回提示")
+    @RateLimit(value = "chat-stream", key = RateLimit.KeyType.USER)
     @PostMapping(value = "/chatbot/stream", produces = "text/event-stream")
     public SseEmitter chatbotStream(@Valid @RequestBody KnowledgeChatbotStreamReq req) {
         return knowledgeService.chatbotStream(req);
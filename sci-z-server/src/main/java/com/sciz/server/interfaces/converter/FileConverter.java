@@ -28,5 +28,6 @@ public interface FileConverter {
      */
     @Mapping(target = "bucketName", ignore = true)
     @Mapping(target = "previewUrl", ignore = true)
+    @Mapping(target = "thumbnailUrl", ignore = true)
     FileInfoResp toInfoResp(SysAttachment entity);
 }
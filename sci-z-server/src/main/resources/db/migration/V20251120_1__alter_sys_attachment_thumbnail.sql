@@ -0,0 +1,9 @@
+-- =============================================
+-- 添加 sys_attachment 表字段：缩略图存储路径
+-- @date 2025-11-20
+-- =============================================
+
+ALTER TABLE sys_attachment
+    ADD COLUMN IF NOT EXISTS thumbnail_path VARCHAR(500);
+
+COMMENT ON COLUMN sys_attachment.thumbnail_path IS '缩略图/首页预览存储路径（派生对象，异步生成）';
@@ -0,0 +1,35 @@
+-- =============================================
+-- 创建存储用量统计表 sys_storage_stats
+-- 上传/删除事件增量维护，定时任务按 sys_attachment 对账校正
+-- @date 2025-11-21
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS sys_storage_stats (
+    id BIGSERIAL PRIMARY KEY,
+    scope_type VARCHAR(32) NOT NULL,
+    scope_key VARCHAR(64) NOT NULL,
+    file_count BIGINT NOT NULL DEFAULT 0,
+    total_bytes BIGINT NOT NULL DEFAULT 0,
+    reconciled_time TIMESTAMP,
+    is_deleted SMALLINT NOT NULL DEFAULT 0,
+    created_by BIGINT,
+    updated_by BIGINT,
+    created_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_sys_storage_stats_scope
+    ON sys_storage_stats (scope_type, scope_key);
+
+COMMENT ON TABLE sys_storage_stats IS '存储用量统计表';
+COMMENT ON COLUMN sys_storage_stats.id IS '主键ID';
+COMMENT ON COLUMN sys_storage_stats.scope_type IS '统计维度（user=上传人，file_type=附件分类）';
+COMMENT ON COLUMN sys_storage_stats.scope_key IS '维度取值（用户ID或附件分类编码）';
+COMMENT ON COLUMN sys_storage_stats.file_count IS '文件数量';
+COMMENT ON COLUMN sys_storage_stats.total_bytes IS '占用字节数';
+COMMENT ON COLUMN sys_storage_stats.reconciled_time IS '最近一次对账时间';
+COMMENT ON COLUMN sys_storage_stats.is_deleted IS '逻辑删除标识：0=未删除，1=已删除';
+COMMENT ON COLUMN sys_storage_stats.created_by IS '创建人ID';
+COMMENT ON COLUMN sys_storage_stats.updated_by IS '更新人ID';
+COMMENT ON COLUMN sys_storage_stats.created_time IS '创建时间';
+COMMENT ON COLUMN sys_storage_stats.updated_time IS '更新时间';
@@ -0,0 +1,15 @@
+-- =============================================
+-- 业务范围附件列表游标分页索引
+-- 关联表按 (关联类型, 关联对象, 关联时间, 关联记录ID) 有序，任意深度翻页均为一次索引定位 + 顺序读取
+-- @date 2025-11-21
+-- =============================================
+
+-- 1. 新增：业务对象 + 关联时间 + 关联记录ID（游标分页，关联记录ID唯一作为次序兜底，覆盖升序/降序扫描）
+CREATE INDEX IF NOT EXISTS idx_sys_attachment_relation_keyset
+ON sys_attachment_relation(relation_type, relation_id, created_time DESC, id DESC)
+WHERE is_deleted = 0;
+
+-- 2. 新增：上传人 + 上传时间（非业务范围列表的默认排序）
+CREATE INDEX IF NOT EXISTS idx_sys_attachment_uploader_time
+ON sys_attachment(uploader_id, upload_time DESC)
+WHERE is_deleted = 0;
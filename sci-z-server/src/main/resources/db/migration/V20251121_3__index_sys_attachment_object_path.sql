@@ -0,0 +1,14 @@
+-- =============================================
+-- 孤儿对象清理按对象名批量反查附件
+-- @date 2025-11-21
+-- =============================================
+
+-- 1. 新增：存储路径（原文件对象名）
+CREATE INDEX IF NOT EXISTS idx_sys_attachment_file_path
+ON sys_attachment(file_path)
+WHERE is_deleted = 0;
+
+-- 2. 新增：缩略图存储路径
+CREATE INDEX IF NOT EXISTS idx_sys_attachment_thumbnail_path
+ON sys_attachment(thumbnail_path)
+WHERE is_deleted = 0 AND thumbnail_path IS NOT NULL;
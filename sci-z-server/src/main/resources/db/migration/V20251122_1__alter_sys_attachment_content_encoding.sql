@@ -0,0 +1,11 @@
+-- =============================================
+-- 添加 sys_attachment 表字段：存储编码与存储大小
+-- @date 2025-11-22
+-- =============================================
+
+ALTER TABLE sys_attachment
+    ADD COLUMN IF NOT EXISTS content_encoding VARCHAR(20),
+    ADD COLUMN IF NOT EXISTS stored_size BIGINT;
+
+COMMENT ON COLUMN sys_attachment.content_encoding IS '对象存储内容编码（gzip 表示压缩存储，为空表示原样存储）';
+COMMENT ON COLUMN sys_attachment.stored_size IS '对象存储中的实际大小（字节，压缩存储时小于 file_size）';
@@ -0,0 +1,24 @@
+-- 登录失败滑动窗口计数（计数、锁定判定、过期一次完成）
+-- KEYS[1] 失败记录有序集合（score 为失败时间毫秒）
+-- KEYS[2] 账号锁定键
+-- ARGV[1] 当前时间（毫秒）
+-- ARGV[2] 窗口长度（毫秒）
+-- ARGV[3] 锁定阈值
+-- ARGV[4] 锁定时长（秒）
+-- ARGV[5] 本次失败的唯一成员
+-- 返回：窗口内失败次数
+local now = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local maxFailures = tonumber(ARGV[3])
+
+redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+redis.call('ZADD', KEYS[1], now, ARGV[5])
+-- 只保留最近 maxFailures 条，暴力尝试下集合不会无限增长
+redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(maxFailures + 1))
+redis.call('PEXPIRE', KEYS[1], window)
+
+local count = redis.call('ZCARD', KEYS[1])
+if count >= maxFailures then
+    redis.call('SET', KEYS[2], '1', 'EX', tonumber(ARGV[4]))
+end
+return count
@@ -0,0 +1,33 @@
+-- 令牌桶限流（读取、补充、扣减、过期一次完成）
+-- KEYS[1] 令牌桶哈希（tokens 剩余令牌，ts 上次补充时间毫秒）
+-- ARGV[1] 桶容量
+-- ARGV[2] 每秒补充令牌数
+-- 返回：{是否放行(1/0), 建议重试等待毫秒}
+local capacity = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+-- 使用 Redis 服务端时间，避免各节点时钟偏差
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(bucket[1])
+local ts = tonumber(bucket[2])
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+end
+
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+local allowed = 0
+local retryAfterMs = 0
+if tokens >= 1 then
+    tokens = tokens - 1
+    allowed = 1
+else
+    retryAfterMs = math.ceil((1 - tokens) * 1000 / rate)
+end
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+-- 桶补满所需时间后自动过期，空闲键不常驻
+redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * 1000 / rate) + 1000)
+return {allowed, retryAfterMs}